@@ -1,21 +1,26 @@
 package com.photospots;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.photospots.config.AppProperties;
 import com.photospots.service.AreaConfig;
 import com.photospots.service.FlickrSeedService;
 import com.photospots.service.FlickrSeedService.SeedResult;
+import com.photospots.service.SeedCatalog;
+import com.photospots.service.SeedRunService;
+import com.photospots.service.SeedRunService.SeedRun;
+import com.photospots.service.SeedWatermarkService;
 import com.photospots.service.TargetLocation;
 
 /**
@@ -28,19 +33,40 @@ import com.photospots.service.TargetLocation;
  * 2. For each location, search Flickr by relevance and interestingness
  * 3. Merge results, remove duplicates, filter for quality
  * 4. Insert into database
+ *
+ * Locations are seeded concurrently (--seed-concurrency=N, default app.seed.location-concurrency);
+ * all Flickr calls share one rate limiter, so concurrency never raises the request rate.
+ *
+ * Progress is checkpointed in seed_runs/seed_run_items: rerunning after a crash resumes the interrupted
+ * run (finished locations/tiles are skipped). Pass --seed-new-run to start over instead.
+ *
+ * --seed-incremental only asks Flickr for photos uploaded after the newest one seen by an earlier run
+ * (per location/tile and search strategy, from seed_watermarks); strategies without history search as usual.
+ *
+ * The same seeding can also run inside a live server as admin jobs (/v1/admin/seed/jobs, see SeedJobService).
  */
 @Component
 public class SeedPhotosRunner implements ApplicationRunner {
 
     private final FlickrSeedService flickrSeedService;
     private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final SeedRunService seedRunService;
+    private final SeedWatermarkService seedWatermarkService;
+    private final SeedCatalog seedCatalog;
 
     @Value("${spring.datasource.url}")
     private String datasourceUrl;
 
-    public SeedPhotosRunner(FlickrSeedService flickrSeedService, JdbcTemplate jdbcTemplate) {
+    public SeedPhotosRunner(FlickrSeedService flickrSeedService, JdbcTemplate jdbcTemplate, AppProperties appProperties,
+                            SeedRunService seedRunService, SeedWatermarkService seedWatermarkService,
+                            SeedCatalog seedCatalog) {
         this.flickrSeedService = flickrSeedService;
         this.jdbcTemplate = jdbcTemplate;
+        this.appProperties = appProperties;
+        this.seedRunService = seedRunService;
+        this.seedWatermarkService = seedWatermarkService;
+        this.seedCatalog = seedCatalog;
     }
 
     @Override
@@ -90,6 +116,10 @@ public class SeedPhotosRunner implements ApplicationRunner {
             System.out.println("   🗑️  Truncating spots and photos...");
             resetSeedData();
         }
+        boolean newRun = resetMode || args.containsOption("seed-new-run");
+        boolean incremental = args.containsOption("seed-incremental") && !resetMode;
+        // Incremental passes checkpoint separately so they never resume (or get resumed by) a full run
+        String runScopeSuffix = incremental ? ":incremental" : "";
 
         boolean visionEnabled = true;
         if (args.containsOption("vision-filter")) {
@@ -105,7 +135,19 @@ public class SeedPhotosRunner implements ApplicationRunner {
         System.out.println("║   Following seedscript.md strategy for photo spot population     ║");
         System.out.println("╚══════════════════════════════════════════════════════════════════╝");
         System.out.println();
+        int concurrency = appProperties.getSeed().getLocationConcurrency();
+        if (args.containsOption("seed-concurrency")) {
+            List<String> values = args.getOptionValues("seed-concurrency");
+            if (values != null && !values.isEmpty()) {
+                concurrency = Integer.parseInt(values.get(0));
+            }
+        }
+        concurrency = Math.max(1, concurrency);
+
         System.out.println("   • Vision filter: " + (visionEnabled ? "enabled" : "disabled"));
+        System.out.println("   • Mode: " + (incremental ? "incremental (new uploads only)" : "full"));
+        System.out.println("   • Concurrent locations: " + concurrency + " (Flickr limit " + appProperties.getSeed().getFlickrQps() + " req/s)");
+        System.out.println("   • Cached place lookups: " + flickrSeedService.preloadPlaceCache());
         System.out.println();
 
         if (areaMode) {
@@ -115,18 +157,24 @@ public class SeedPhotosRunner implements ApplicationRunner {
                 return;
             }
             String areaKey = areaValues.get(0);
-            List<AreaConfig> areas = loadAreas();
-            AreaConfig targetArea = areas.stream()
-                    .filter(a -> a.getKey().equalsIgnoreCase(areaKey))
-                    .findFirst()
-                    .orElse(null);
+            AreaConfig targetArea = seedCatalog.findArea(areaKey);
             if (targetArea == null) {
                 System.out.println("⚠️  Area key not found: " + areaKey);
                 return;
             }
 
             System.out.println("📋 Area Target: " + targetArea.getName() + " (" + targetArea.getKey() + ")");
-            SeedResult areaResult = flickrSeedService.seedArea(targetArea, visionEnabled);
+            SeedRun run = seedRunService.startOrResume(SeedRunService.MODE_AREA, targetArea.getKey() + runScopeSuffix, visionEnabled, newRun);
+            printRunBanner(run);
+            SeedResult areaResult;
+            try {
+                areaResult = flickrSeedService.seedArea(targetArea, visionEnabled, run, incremental);
+            } catch (Exception e) {
+                seedRunService.fail(run, SeedRunService.AREA_FINALIZE_ITEM, e.getMessage());
+                throw e;
+            }
+            seedRunService.complete(run, SeedRunService.AREA_FINALIZE_ITEM, areaResult, null);
+            seedRunService.finish(run);
 
             System.out.println();
             System.out.println("╔══════════════════════════════════════════════════════════════════╗");
@@ -145,7 +193,7 @@ public class SeedPhotosRunner implements ApplicationRunner {
         }
 
         // Load target locations from JSON (configurable)
-        List<TargetLocation> targetLocations = loadTargetLocations();
+        List<TargetLocation> targetLocations = seedCatalog.loadTargetLocations();
 
         System.out.println("📋 Target Locations: " + targetLocations.size());
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -154,54 +202,99 @@ public class SeedPhotosRunner implements ApplicationRunner {
         }
         System.out.println();
 
-        // Process each location
-        int successCount = 0;
-        int failCount = 0;
-        int totalPhotosInserted = 0;
-        int totalPhotosAttempted = 0;
-        int totalLandmarks = 0;
-        int totalHotspots = 0;
-        int totalMissingGeo = 0;
-        int totalMissingUrl = 0;
-        int totalDuplicates = 0;
-        int totalFailedInsert = 0;
-        int totalConflictSkipped = 0;
-        List<SeedResult> results = new ArrayList<>();
+        SeedRun run = seedRunService.startOrResume(SeedRunService.MODE_LANDMARKS, SeedCatalog.LANDMARK_SCOPE + runScopeSuffix, visionEnabled, newRun);
+        printRunBanner(run);
 
-        for (int i = 0; i < targetLocations.size(); i++) {
-            TargetLocation location = targetLocations.get(i);
-            System.out.println();
-            System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-            System.out.println("📍 [" + (i + 1) + "/" + targetLocations.size() + "] Processing: " + location.getName());
-            System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        // Process locations concurrently; the shared Flickr limiter keeps the combined request rate in check
+        LongAdder successCount = new LongAdder();
+        LongAdder failCount = new LongAdder();
+        LongAdder totalPhotosInserted = new LongAdder();
+        LongAdder totalPhotosAttempted = new LongAdder();
+        LongAdder totalLandmarks = new LongAdder();
+        LongAdder totalHotspots = new LongAdder();
+        LongAdder totalMissingGeo = new LongAdder();
+        LongAdder totalMissingUrl = new LongAdder();
+        LongAdder totalDuplicates = new LongAdder();
+        LongAdder totalFailedInsert = new LongAdder();
+        LongAdder totalConflictSkipped = new LongAdder();
+        // Indexed by input position so the report keeps the locations.json order
+        SeedResult[] resultSlots = new SeedResult[targetLocations.size()];
 
-            try {
-                SeedResult result = flickrSeedService.seedLocation(location, visionEnabled);
-                results.add(result);
-                totalLandmarks += result.getLandmarkUpserts();
-                totalHotspots += result.getHotspotUpserts();
-                totalMissingGeo += result.getMissingGeo();
-                totalMissingUrl += result.getMissingUrl();
-                totalDuplicates += result.getDuplicateCount();
-                totalConflictSkipped += result.getConflictSkipped();
-                totalFailedInsert += result.getFailedInsert();
-                totalPhotosAttempted += result.getPhotosAttempted();
-                
-                if (result.getInsertedPhotos() > 0) {
-                    successCount++;
-                    totalPhotosInserted += result.getInsertedPhotos();
-                    System.out.println("   ✅ Success: " + result.getInsertedPhotos() + " photos inserted");
-                } else {
-                    failCount++;
-                    System.out.println("   ⚠️ No photos inserted (may already exist or none found)");
+        Semaphore permits = new Semaphore(concurrency);
+        boolean visionForLocations = visionEnabled;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < targetLocations.size(); i++) {
+                TargetLocation location = targetLocations.get(i);
+                int index = i;
+                if (run.isCompleted(location.getName())) {
+                    SeedResult saved = run.getResult(location.getName());
+                    resultSlots[index] = saved;
+                    totalLandmarks.add(saved.getLandmarkUpserts());
+                    totalHotspots.add(saved.getHotspotUpserts());
+                    totalMissingGeo.add(saved.getMissingGeo());
+                    totalMissingUrl.add(saved.getMissingUrl());
+                    totalDuplicates.add(saved.getDuplicateCount());
+                    totalConflictSkipped.add(saved.getConflictSkipped());
+                    totalFailedInsert.add(saved.getFailedInsert());
+                    totalPhotosAttempted.add(saved.getPhotosAttempted());
+                    totalPhotosInserted.add(saved.getInsertedPhotos());
+                    if (saved.getInsertedPhotos() > 0) {
+                        successCount.increment();
+                    } else {
+                        failCount.increment();
+                    }
+                    System.out.println("⏭️  [" + (index + 1) + "/" + targetLocations.size() + "] " + location.getName() + " already completed in this run");
+                    continue;
                 }
-            } catch (Exception e) {
-                failCount++;
-                System.err.println("   ❌ Error: " + e.getMessage());
-                e.printStackTrace();
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        seedRunService.markRunning(run, location.getName());
+                        System.out.println();
+                        System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+                        System.out.println("📍 [" + (index + 1) + "/" + targetLocations.size() + "] Processing: " + location.getName());
+                        System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
+                        SeedResult result = flickrSeedService.seedLocation(location, visionForLocations, incremental);
+                        seedRunService.complete(run, location.getName(), result, null);
+                        resultSlots[index] = result;
+                        totalLandmarks.add(result.getLandmarkUpserts());
+                        totalHotspots.add(result.getHotspotUpserts());
+                        totalMissingGeo.add(result.getMissingGeo());
+                        totalMissingUrl.add(result.getMissingUrl());
+                        totalDuplicates.add(result.getDuplicateCount());
+                        totalConflictSkipped.add(result.getConflictSkipped());
+                        totalFailedInsert.add(result.getFailedInsert());
+                        totalPhotosAttempted.add(result.getPhotosAttempted());
+
+                        if (result.getInsertedPhotos() > 0) {
+                            successCount.increment();
+                            totalPhotosInserted.add(result.getInsertedPhotos());
+                            System.out.println("   ✅ " + location.getName() + ": " + result.getInsertedPhotos() + " photos inserted");
+                        } else {
+                            failCount.increment();
+                            System.out.println("   ⚠️ " + location.getName() + ": no photos inserted (may already exist or none found)");
+                        }
+                    } catch (Exception e) {
+                        failCount.increment();
+                        seedRunService.fail(run, location.getName(), String.valueOf(e.getMessage()));
+                        System.err.println("   ❌ Error (" + location.getName() + "): " + e.getMessage());
+                        e.printStackTrace();
+                    } finally {
+                        permits.release();
+                    }
+                });
             }
         }
 
+        List<SeedResult> results = new ArrayList<>();
+        for (SeedResult result : resultSlots) {
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        seedRunService.finish(run);
+
         // Print summary
         System.out.println();
         System.out.println("╔══════════════════════════════════════════════════════════════════╗");
@@ -210,17 +303,17 @@ public class SeedPhotosRunner implements ApplicationRunner {
         System.out.println();
         System.out.println("📊 Summary:");
         System.out.println("   • Locations processed: " + targetLocations.size());
-        System.out.println("   • Successful: " + successCount);
-        System.out.println("   • Failed/Empty: " + failCount);
-        System.out.println("   • Total photos attempted: " + totalPhotosAttempted);
-        System.out.println("   • Total photos inserted: " + totalPhotosInserted);
-        System.out.println("   • Conflict-skipped (existing): " + totalConflictSkipped);
-        System.out.println("   • Failed inserts (exceptions): " + totalFailedInsert);
-        System.out.println("   • Landmark spots upserted: " + totalLandmarks);
-        System.out.println("   • Hotspot spots upserted: " + totalHotspots);
-        System.out.println("   • Skipped (missing geo): " + totalMissingGeo);
-        System.out.println("   • Skipped (missing url/quality): " + totalMissingUrl);
-        System.out.println("   • Skipped (duplicates): " + totalDuplicates);
+        System.out.println("   • Successful: " + successCount.sum());
+        System.out.println("   • Failed/Empty: " + failCount.sum());
+        System.out.println("   • Total photos attempted: " + totalPhotosAttempted.sum());
+        System.out.println("   • Total photos inserted: " + totalPhotosInserted.sum());
+        System.out.println("   • Conflict-skipped (existing): " + totalConflictSkipped.sum());
+        System.out.println("   • Failed inserts (exceptions): " + totalFailedInsert.sum());
+        System.out.println("   • Landmark spots upserted: " + totalLandmarks.sum());
+        System.out.println("   • Hotspot spots upserted: " + totalHotspots.sum());
+        System.out.println("   • Skipped (missing geo): " + totalMissingGeo.sum());
+        System.out.println("   • Skipped (missing url/quality): " + totalMissingUrl.sum());
+        System.out.println("   • Skipped (duplicates): " + totalDuplicates.sum());
         System.out.println();
         System.out.println("📍 Results by location:");
         for (SeedResult result : results) {
@@ -233,28 +326,20 @@ public class SeedPhotosRunner implements ApplicationRunner {
         System.out.println("✨ Seed finished, press Ctrl+C to exit.");
     }
 
-    private List<TargetLocation> loadTargetLocations() {
-        try (InputStream is = new ClassPathResource("seed/locations.json").getInputStream()) {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(is, new TypeReference<List<TargetLocation>>() {});
-        } catch (Exception ex) {
-            System.err.println("⚠️  Failed to load locations.json, falling back to empty list: " + ex.getMessage());
-            return new ArrayList<>();
-        }
-    }
-
-    private List<AreaConfig> loadAreas() {
-        try (InputStream is = new ClassPathResource("seed/areas.json").getInputStream()) {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(is, new TypeReference<List<AreaConfig>>() {});
-        } catch (Exception ex) {
-            System.err.println("⚠️  Failed to load areas.json, falling back to empty list: " + ex.getMessage());
-            return new ArrayList<>();
+    private void printRunBanner(SeedRun run) {
+        if (run.isResumed()) {
+            System.out.println("🔁 Resuming seed run " + run.getId() + " (" + run.getCompletedCount() + " items already done; --seed-new-run to start over)");
+        } else {
+            System.out.println("🆕 Seed run " + run.getId());
         }
+        System.out.println();
     }
 
     private void resetSeedData() {
         jdbcTemplate.execute("TRUNCATE photos RESTART IDENTITY;");
         jdbcTemplate.execute("TRUNCATE spots RESTART IDENTITY CASCADE;");
+        // Checkpoints describe data that no longer exists
+        seedRunService.abandonRunning();
+        seedWatermarkService.clear();
     }
 }
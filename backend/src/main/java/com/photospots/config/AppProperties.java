@@ -1,5 +1,7 @@
 package com.photospots.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,6 +11,8 @@ public class AppProperties {
 
     private final Cache cache = new Cache();
     private final RateLimit rateLimit = new RateLimit();
+    private final Seed seed = new Seed();
+    private final Flickr flickr = new Flickr();
 
     public Cache getCache() {
         return cache;
@@ -18,6 +22,14 @@ public class AppProperties {
         return rateLimit;
     }
 
+    public Seed getSeed() {
+        return seed;
+    }
+
+    public Flickr getFlickr() {
+        return flickr;
+    }
+
     public static class Cache {
         private int nearbySeconds = 300;
         private int spotSeconds = 600;
@@ -69,6 +81,13 @@ public class AppProperties {
     public static class RateLimit {
         private long windowMs = 900_000; // 15 minutes
         private int maxRequests = 100;
+        private String mode = "local"; // local | redis
+        private int redisBatchSize = 10; // tokens leased per Redis round trip by busy clients
+        private long redisLeaseMs = 1_000; // unused leased tokens go back to the shared bucket after this
+        private long redisRetryMs = 5_000; // stay on the local limiter this long after a Redis failure
+        private int defaultCost = 1;
+        private long dbMsPerToken = 0; // extra token charged per this many ms of DB time; 0 disables
+        private List<RouteCost> routeCosts = new ArrayList<>();
 
         public long getWindowMs() {
             return windowMs;
@@ -85,5 +104,383 @@ public class AppProperties {
         public void setMaxRequests(int maxRequests) {
             this.maxRequests = maxRequests;
         }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public int getRedisBatchSize() {
+            return redisBatchSize;
+        }
+
+        public void setRedisBatchSize(int redisBatchSize) {
+            this.redisBatchSize = redisBatchSize;
+        }
+
+        public long getRedisLeaseMs() {
+            return redisLeaseMs;
+        }
+
+        public void setRedisLeaseMs(long redisLeaseMs) {
+            this.redisLeaseMs = redisLeaseMs;
+        }
+
+        public long getRedisRetryMs() {
+            return redisRetryMs;
+        }
+
+        public void setRedisRetryMs(long redisRetryMs) {
+            this.redisRetryMs = redisRetryMs;
+        }
+
+        public int getDefaultCost() {
+            return defaultCost;
+        }
+
+        public void setDefaultCost(int defaultCost) {
+            this.defaultCost = defaultCost;
+        }
+
+        public long getDbMsPerToken() {
+            return dbMsPerToken;
+        }
+
+        public void setDbMsPerToken(long dbMsPerToken) {
+            this.dbMsPerToken = dbMsPerToken;
+        }
+
+        public List<RouteCost> getRouteCosts() {
+            return routeCosts;
+        }
+
+        public void setRouteCosts(List<RouteCost> routeCosts) {
+            this.routeCosts = routeCosts;
+        }
+    }
+
+    /**
+     * Tokens charged for requests matching an Ant-style path (and optional HTTP method). First match wins.
+     */
+    public static class RouteCost {
+        private String method;
+        private String path;
+        private int cost = 1;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+
+        public void setCost(int cost) {
+            this.cost = cost;
+        }
+    }
+
+    public static class Seed {
+        private double flickrQps = 2.0; // The old 500 ms pacing; Flickr allows 3600 calls/hour per key
+        private int flickrBurst = 3;
+        private int locationConcurrency = 4;
+        private int tileConcurrency = 8;
+        private int maxPagesPerSearch = 3;
+        private long placeCacheTtlHours = 720;
+        private long placeCacheNegativeTtlHours = 24;
+        private int visionWorkers = 0; // 0 = a quarter of the cores (at least 1), leaving the rest to requests
+        private int blurThreads = 0; // in-process blur scoring; 0 = a quarter of the cores (at least 1)
+        private long visionItemTimeoutMs = 20_000;
+        private int imageHostConcurrency = 8;
+        private int imagePrefetchBudgetMb = 64;
+        private String clusterStrategy = "grid"; // grid | dbscan
+        private double clusterEpsMeters = 25.0;
+        private int phashMaxDistance = 6; // Hamming bits; negative disables near-duplicate suppression
+        private int pipelineQueueCapacity = 4; // items buffered between seed pipeline stages; also sizes the in-order window
+        private int dedupeConcurrency = 2;
+        private int visionConcurrency = 2;
+        private int dbPoolSize = 4; // seeding's own connection pool, separate from request traffic
+        private int jobConcurrency = 1; // admin seed jobs running at once
+        private int jobQueueCapacity = 4; // queued jobs beyond which submissions are refused
+        private int jobLocationConcurrency = 2;
+        private List<String> adminSubjects = new ArrayList<>(); // JWT subjects allowed to use /v1/admin/seed
+
+        public double getFlickrQps() {
+            return flickrQps;
+        }
+
+        public void setFlickrQps(double flickrQps) {
+            this.flickrQps = flickrQps;
+        }
+
+        public int getFlickrBurst() {
+            return flickrBurst;
+        }
+
+        public void setFlickrBurst(int flickrBurst) {
+            this.flickrBurst = flickrBurst;
+        }
+
+        public int getLocationConcurrency() {
+            return locationConcurrency;
+        }
+
+        public void setLocationConcurrency(int locationConcurrency) {
+            this.locationConcurrency = locationConcurrency;
+        }
+
+        public int getTileConcurrency() {
+            return tileConcurrency;
+        }
+
+        public void setTileConcurrency(int tileConcurrency) {
+            this.tileConcurrency = tileConcurrency;
+        }
+
+        public int getMaxPagesPerSearch() {
+            return maxPagesPerSearch;
+        }
+
+        public void setMaxPagesPerSearch(int maxPagesPerSearch) {
+            this.maxPagesPerSearch = maxPagesPerSearch;
+        }
+
+        public long getPlaceCacheTtlHours() {
+            return placeCacheTtlHours;
+        }
+
+        public void setPlaceCacheTtlHours(long placeCacheTtlHours) {
+            this.placeCacheTtlHours = placeCacheTtlHours;
+        }
+
+        public long getPlaceCacheNegativeTtlHours() {
+            return placeCacheNegativeTtlHours;
+        }
+
+        public void setPlaceCacheNegativeTtlHours(long placeCacheNegativeTtlHours) {
+            this.placeCacheNegativeTtlHours = placeCacheNegativeTtlHours;
+        }
+
+        public int getVisionWorkers() {
+            return visionWorkers;
+        }
+
+        public void setVisionWorkers(int visionWorkers) {
+            this.visionWorkers = visionWorkers;
+        }
+
+        public int getBlurThreads() {
+            return blurThreads;
+        }
+
+        public void setBlurThreads(int blurThreads) {
+            this.blurThreads = blurThreads;
+        }
+
+        /** vision-workers, or the default share of the cores when it is 0. */
+        public int visionWorkerCount() {
+            return visionWorkers > 0 ? visionWorkers : defaultCpuShare();
+        }
+
+        /** blur-threads, or the default share of the cores when it is 0. */
+        public int blurThreadCount() {
+            return blurThreads > 0 ? blurThreads : defaultCpuShare();
+        }
+
+        private static int defaultCpuShare() {
+            return Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        }
+
+        public long getVisionItemTimeoutMs() {
+            return visionItemTimeoutMs;
+        }
+
+        public void setVisionItemTimeoutMs(long visionItemTimeoutMs) {
+            this.visionItemTimeoutMs = visionItemTimeoutMs;
+        }
+
+        public int getImageHostConcurrency() {
+            return imageHostConcurrency;
+        }
+
+        public void setImageHostConcurrency(int imageHostConcurrency) {
+            this.imageHostConcurrency = imageHostConcurrency;
+        }
+
+        public int getImagePrefetchBudgetMb() {
+            return imagePrefetchBudgetMb;
+        }
+
+        public void setImagePrefetchBudgetMb(int imagePrefetchBudgetMb) {
+            this.imagePrefetchBudgetMb = imagePrefetchBudgetMb;
+        }
+
+        public String getClusterStrategy() {
+            return clusterStrategy;
+        }
+
+        public void setClusterStrategy(String clusterStrategy) {
+            this.clusterStrategy = clusterStrategy;
+        }
+
+        public double getClusterEpsMeters() {
+            return clusterEpsMeters;
+        }
+
+        public void setClusterEpsMeters(double clusterEpsMeters) {
+            this.clusterEpsMeters = clusterEpsMeters;
+        }
+
+        public int getPhashMaxDistance() {
+            return phashMaxDistance;
+        }
+
+        public void setPhashMaxDistance(int phashMaxDistance) {
+            this.phashMaxDistance = phashMaxDistance;
+        }
+
+        public int getPipelineQueueCapacity() {
+            return pipelineQueueCapacity;
+        }
+
+        public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+            this.pipelineQueueCapacity = pipelineQueueCapacity;
+        }
+
+        public int getDedupeConcurrency() {
+            return dedupeConcurrency;
+        }
+
+        public void setDedupeConcurrency(int dedupeConcurrency) {
+            this.dedupeConcurrency = dedupeConcurrency;
+        }
+
+        public int getVisionConcurrency() {
+            return visionConcurrency;
+        }
+
+        public void setVisionConcurrency(int visionConcurrency) {
+            this.visionConcurrency = visionConcurrency;
+        }
+
+        public int getDbPoolSize() {
+            return dbPoolSize;
+        }
+
+        public void setDbPoolSize(int dbPoolSize) {
+            this.dbPoolSize = dbPoolSize;
+        }
+
+        public int getJobConcurrency() {
+            return jobConcurrency;
+        }
+
+        public void setJobConcurrency(int jobConcurrency) {
+            this.jobConcurrency = jobConcurrency;
+        }
+
+        public int getJobQueueCapacity() {
+            return jobQueueCapacity;
+        }
+
+        public void setJobQueueCapacity(int jobQueueCapacity) {
+            this.jobQueueCapacity = jobQueueCapacity;
+        }
+
+        public int getJobLocationConcurrency() {
+            return jobLocationConcurrency;
+        }
+
+        public void setJobLocationConcurrency(int jobLocationConcurrency) {
+            this.jobLocationConcurrency = jobLocationConcurrency;
+        }
+
+        public List<String> getAdminSubjects() {
+            return adminSubjects;
+        }
+
+        public void setAdminSubjects(List<String> adminSubjects) {
+            this.adminSubjects = adminSubjects;
+        }
+    }
+
+    public static class Flickr {
+        private String baseUrl = "https://api.flickr.com/services/rest/";
+        private long connectTimeoutMs = 5000;
+        private long readTimeoutMs = 20000;
+        private final ResponseCache cache = new ResponseCache();
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public long getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(long connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public long getReadTimeoutMs() {
+            return readTimeoutMs;
+        }
+
+        public void setReadTimeoutMs(long readTimeoutMs) {
+            this.readTimeoutMs = readTimeoutMs;
+        }
+
+        public ResponseCache getCache() {
+            return cache;
+        }
+
+        public static class ResponseCache {
+            private String mode = "off"; // off | read-write | replay
+            private String dir = "var/flickr-cache";
+            private long ttlHours = 168;
+
+            public String getMode() {
+                return mode;
+            }
+
+            public void setMode(String mode) {
+                this.mode = mode;
+            }
+
+            public String getDir() {
+                return dir;
+            }
+
+            public void setDir(String dir) {
+                this.dir = dir;
+            }
+
+            public long getTtlHours() {
+                return ttlHours;
+            }
+
+            public void setTtlHours(long ttlHours) {
+                this.ttlHours = ttlHours;
+            }
+        }
     }
 }
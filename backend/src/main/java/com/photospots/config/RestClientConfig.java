@@ -1,14 +1,26 @@
 package com.photospots.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestClientConfig {
 
+    /**
+     * Shared client for the Flickr API: pooled keep-alive connections, HTTP/2 when the server offers it
+     * (HTTP/1.1 otherwise), and virtual threads for async completions.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient flickrHttpClient(AppProperties appProperties) {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(appProperties.getFlickr().getConnectTimeoutMs()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
     }
 }
@@ -3,6 +3,8 @@ package com.photospots.config;
 import com.photospots.filter.RateLimitFilter;
 import com.photospots.security.JwtAuthenticationFilter;
 import com.photospots.security.JwtTokenProvider;
+import com.photospots.security.TokenRevocationService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,10 +19,14 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
 
+    private final TokenRevocationService tokenRevocationService;
+
     private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, RateLimitFilter rateLimitFilter) {
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, TokenRevocationService tokenRevocationService,
+                          RateLimitFilter rateLimitFilter) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
         this.rateLimitFilter = rateLimitFilter;
     }
 
@@ -30,14 +36,17 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (seed job event streams) were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                .requestMatchers("/v1/admin/**").authenticated()
                 .requestMatchers("/v1/auth/**", "/v1/spots/nearby", "/v1/spots/search", "/v1/spots/**").permitAll()
                 .requestMatchers("POST", "/v1/spots").authenticated()
                 .requestMatchers("/v1/auth/me").authenticated()
                 .anyRequest().permitAll()
             )
             .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, tokenRevocationService), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -3,10 +3,15 @@ package com.photospots.controller;
 import com.photospots.dto.ApiResponse;
 import com.photospots.dto.UserDto;
 import com.photospots.security.JwtTokenProvider;
+import com.photospots.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,9 +20,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthController(JwtTokenProvider jwtTokenProvider) {
+    public AuthController(JwtTokenProvider jwtTokenProvider, TokenRevocationService tokenRevocationService) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @GetMapping("/me")
@@ -39,8 +46,20 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        // Stateless JWT logout - client removes token
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // Revoke the presented token so it cannot be replayed until it expires; client still removes it
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            try {
+                Claims claims = jwtTokenProvider.extractClaims(token);
+                tokenRevocationService.revoke(token, claims);
+            } catch (JwtException ignored) {
+                // Invalid or expired token - nothing to revoke
+            } catch (DataAccessException e) {
+                // Redis unavailable: logout still succeeds; the token is short-lived and the client discards it
+                System.err.println("⚠️  Token revocation failed on logout: " + e.getMessage());
+            }
+        }
         return ResponseEntity.ok().body(ApiResponse.ok(null));
     }
 }
@@ -0,0 +1,119 @@
+package com.photospots.controller;
+
+import com.photospots.dto.ApiResponse;
+import com.photospots.dto.SeedJobDto;
+import com.photospots.dto.SeedJobRequest;
+import com.photospots.service.SeedJobService;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Admin API for running seeding inside the server. Callers must be authenticated with a subject listed in
+ * app.seed.admin-subjects; progress can be polled (GET /{id}) or streamed as server-sent events (/{id}/events).
+ */
+@RestController
+@RequestMapping("/v1/admin/seed/jobs")
+public class SeedJobController {
+
+    private final SeedJobService seedJobService;
+
+    public SeedJobController(SeedJobService seedJobService) {
+        this.seedJobService = seedJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody SeedJobRequest request) {
+        ResponseEntity<?> denied = checkAdmin();
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            SeedJobDto job = seedJobService.submit(request, currentSubject());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok(job));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Seed job already active", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Seed job queue is full", "Try again once a queued job has started"));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> list() {
+        ResponseEntity<?> denied = checkAdmin();
+        if (denied != null) {
+            return denied;
+        }
+        List<SeedJobDto> jobs = seedJobService.list();
+        return ResponseEntity.ok(ApiResponse.ok(jobs, jobs.size()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable("id") UUID id) {
+        ResponseEntity<?> denied = checkAdmin();
+        if (denied != null) {
+            return denied;
+        }
+        return found(seedJobService.get(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancel(@PathVariable("id") UUID id) {
+        ResponseEntity<?> denied = checkAdmin();
+        if (denied != null) {
+            return denied;
+        }
+        return found(seedJobService.cancel(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable("id") UUID id) {
+        // Bodyless errors: this endpoint only speaks text/event-stream
+        if (checkAdmin() != null) {
+            return ResponseEntity.status(currentSubject() == null ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN).build();
+        }
+        return seedJobService.subscribe(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    private ResponseEntity<?> found(Optional<SeedJobDto> job) {
+        return job.<ResponseEntity<?>>map(j -> ResponseEntity.ok(ApiResponse.ok(j)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Seed job not found", null)));
+    }
+
+    private ResponseEntity<?> checkAdmin() {
+        String subject = currentSubject();
+        if (subject == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Unauthorized", "No authentication token"));
+        }
+        if (!seedJobService.isAdmin(subject)) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Forbidden", "Seed jobs are limited to admins"));
+        }
+        return null;
+    }
+
+    private String currentSubject() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        // Anonymous requests carry a non-subject principal ("anonymousUser") and are treated as unauthenticated
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof String subject)
+            || "anonymousUser".equals(subject)) {
+            return null;
+        }
+        return subject;
+    }
+}
@@ -0,0 +1,160 @@
+package com.photospots.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class SeedJobDto {
+    private UUID id;
+    private String kind;
+    private String scope;
+    private String status;
+    private boolean vision;
+    private boolean incremental;
+    private String submittedBy;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private UUID runId;
+    private int itemsTotal;
+    private int itemsCompleted;
+    private int itemsFailed;
+    private int photosAttempted;
+    private int photosInserted;
+    private String error;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public boolean isVision() {
+        return vision;
+    }
+
+    public void setVision(boolean vision) {
+        this.vision = vision;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public void setSubmittedBy(String submittedBy) {
+        this.submittedBy = submittedBy;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public UUID getRunId() {
+        return runId;
+    }
+
+    public void setRunId(UUID runId) {
+        this.runId = runId;
+    }
+
+    public int getItemsTotal() {
+        return itemsTotal;
+    }
+
+    public void setItemsTotal(int itemsTotal) {
+        this.itemsTotal = itemsTotal;
+    }
+
+    public int getItemsCompleted() {
+        return itemsCompleted;
+    }
+
+    public void setItemsCompleted(int itemsCompleted) {
+        this.itemsCompleted = itemsCompleted;
+    }
+
+    public int getItemsFailed() {
+        return itemsFailed;
+    }
+
+    public void setItemsFailed(int itemsFailed) {
+        this.itemsFailed = itemsFailed;
+    }
+
+    public int getPhotosAttempted() {
+        return photosAttempted;
+    }
+
+    public void setPhotosAttempted(int photosAttempted) {
+        this.photosAttempted = photosAttempted;
+    }
+
+    public int getPhotosInserted() {
+        return photosInserted;
+    }
+
+    public void setPhotosInserted(int photosInserted) {
+        this.photosInserted = photosInserted;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.photospots.dto;
+
+import java.util.List;
+
+public class SeedJobRequest {
+    private List<String> locations;
+    private String areaKey;
+    private Boolean vision;
+    private Boolean incremental;
+
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    public void setLocations(List<String> locations) {
+        this.locations = locations;
+    }
+
+    public String getAreaKey() {
+        return areaKey;
+    }
+
+    public void setAreaKey(String areaKey) {
+        this.areaKey = areaKey;
+    }
+
+    public Boolean getVision() {
+        return vision;
+    }
+
+    public void setVision(Boolean vision) {
+        this.vision = vision;
+    }
+
+    public Boolean getIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(Boolean incremental) {
+        this.incremental = incremental;
+    }
+}
@@ -0,0 +1,55 @@
+package com.photospots.filter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-window counter kept in this JVM only. With several nodes the effective limit is
+ * {@code maxRequests x nodes}; use {@link RedisRateLimiter} to share one budget.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private static class Counter {
+        long windowStartMs;
+        int count;
+    }
+
+    private final Map<String, Counter> buckets = new ConcurrentHashMap<>();
+    private final long windowMs;
+    private final int maxRequests;
+
+    public LocalRateLimiter(long windowMs, int maxRequests) {
+        this.windowMs = windowMs;
+        this.maxRequests = maxRequests;
+    }
+
+    @Override
+    public boolean tryAcquire(String clientKey, int permits) {
+        long now = Instant.now().toEpochMilli();
+
+        Counter c = buckets.compute(clientKey, (k, existing) -> {
+            if (existing == null) {
+                Counter created = new Counter();
+                created.windowStartMs = now;
+                created.count = permits;
+                return created;
+            }
+            long elapsed = now - existing.windowStartMs;
+            if (elapsed > windowMs) {
+                existing.windowStartMs = now;
+                existing.count = permits;
+                return existing;
+            }
+            existing.count += permits;
+            return existing;
+        });
+
+        return c.count <= maxRequests;
+    }
+
+    @Override
+    public void charge(String clientKey, int permits) {
+        tryAcquire(clientKey, permits);
+    }
+}
@@ -1,33 +1,42 @@
 package com.photospots.filter;
 
 import com.photospots.config.AppProperties;
+import com.photospots.util.RequestDbTimer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private static class Counter {
-        long windowStartMs;
-        int count;
-    }
-
-    private final Map<String, Counter> buckets = new ConcurrentHashMap<>();
-    private final long windowMs;
-    private final int maxRequests;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<AppProperties.RouteCost> routeCosts;
+    private final int defaultCost;
+    private final long dbMsPerToken;
 
-    public RateLimitFilter(AppProperties appProperties) {
-        this.windowMs = appProperties.getRateLimit().getWindowMs();
-        this.maxRequests = appProperties.getRateLimit().getMaxRequests();
+    public RateLimitFilter(AppProperties appProperties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        AppProperties.RateLimit config = appProperties.getRateLimit();
+        RateLimiter local = new LocalRateLimiter(config.getWindowMs(), config.getMaxRequests());
+        if ("redis".equalsIgnoreCase(config.getMode())) {
+            this.rateLimiter = new RedisRateLimiter(redisTemplate.getObject(), local,
+                config.getWindowMs(), config.getMaxRequests(),
+                config.getRedisBatchSize(), config.getRedisLeaseMs(), config.getRedisRetryMs());
+        } else {
+            this.rateLimiter = local;
+        }
+        this.routeCosts = List.copyOf(config.getRouteCosts());
+        this.defaultCost = config.getDefaultCost();
+        this.dbMsPerToken = config.getDbMsPerToken();
     }
 
     @Override
@@ -35,32 +44,36 @@ public class RateLimitFilter extends OncePerRequestFilter {
         throws ServletException, IOException {
 
         String ip = request.getRemoteAddr();
-        long now = Instant.now().toEpochMilli();
 
-        Counter c = buckets.compute(ip, (k, existing) -> {
-            if (existing == null) {
-                Counter created = new Counter();
-                created.windowStartMs = now;
-                created.count = 1;
-                return created;
-            }
-            long elapsed = now - existing.windowStartMs;
-            if (elapsed > windowMs) {
-                existing.windowStartMs = now;
-                existing.count = 1;
-                return existing;
-            }
-            existing.count += 1;
-            return existing;
-        });
-
-        if (c.count > maxRequests) {
+        if (!rateLimiter.tryAcquire(ip, routeCost(request))) {
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Too many requests\"}");
             return;
         }
 
-        filterChain.doFilter(request, response);
+        RequestDbTimer.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long dbMs = RequestDbTimer.drainMillis();
+            if (dbMsPerToken > 0 && dbMs >= dbMsPerToken) {
+                // Expensive queries pay for their measured DB time on top of the route cost
+                rateLimiter.charge(ip, (int) Math.min(dbMs / dbMsPerToken, Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    private int routeCost(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (AppProperties.RouteCost route : routeCosts) {
+            if (route.getMethod() != null && !route.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (route.getPath() != null && pathMatcher.match(route.getPath(), path)) {
+                return route.getCost();
+            }
+        }
+        return defaultCost;
     }
 }
@@ -0,0 +1,15 @@
+package com.photospots.filter;
+
+/**
+ * Decides whether a client may spend request tokens right now.
+ */
+public interface RateLimiter {
+
+    boolean tryAcquire(String clientKey, int permits);
+
+    /**
+     * Spends tokens after the fact (e.g. for measured DB time). Never rejects; the balance may go into
+     * debt so the client's next requests are throttled sooner.
+     */
+    void charge(String clientKey, int permits);
+}
@@ -0,0 +1,231 @@
+package com.photospots.filter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Token bucket shared by every node through Redis.
+ *
+ * Each node leases tokens in batches so most requests are answered from the local lease without a
+ * Redis round trip. Leases expire after {@code leaseMs}, which bounds how far any node can run ahead of
+ * the shared bucket; tokens an expired lease did not use go back to the bucket. A client only gets whole
+ * batches once a live lease has run short, so sparse clients lease exactly what they use and keep their
+ * full quota. If Redis is unreachable the limiter fails open to the per-node fixed window and retries
+ * Redis after {@code retryMs}.
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Refills lazily from Redis server time so node clocks never disagree about the bucket.
+    // ARGV: capacity, refill tokens per ms, tokens wanted, minimum tokens to grant anything,
+    // debt flag (1 = always take the tokens, letting the balance go negative down to -capacity),
+    // tokens handed back from an expired lease (added before anything is taken).
+    private static final String TOKEN_BUCKET_LUA = """
+        local capacity = tonumber(ARGV[1])
+        local refill_per_ms = tonumber(ARGV[2])
+        local wanted = tonumber(ARGV[3])
+        local minimum = tonumber(ARGV[4])
+        local debt = ARGV[5] == '1'
+        local returned = tonumber(ARGV[6])
+        local t = redis.call('TIME')
+        local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+        local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+        local tokens = tonumber(state[1])
+        local ts = tonumber(state[2])
+        if tokens == nil or ts == nil then
+            tokens = capacity
+            ts = now
+        end
+        tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms + returned)
+        local granted = 0
+        if debt then
+            granted = wanted
+            tokens = math.max(-capacity, tokens - wanted)
+        else
+            if tokens >= minimum then
+                granted = math.min(wanted, math.floor(tokens))
+            end
+            tokens = tokens - granted
+        end
+        redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+        redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / refill_per_ms) + 1000)
+        return granted
+        """;
+
+    static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>(TOKEN_BUCKET_LUA, Long.class);
+
+    private static class Lease {
+        int remaining;
+        long expiresAtMs;
+        // A live lease ran short, so the client is busy enough to be worth a whole batch
+        boolean busy;
+        // Dropped from the map by the sweep; holders must look the client up again
+        boolean evicted;
+    }
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+    private final int capacity;
+    private final double refillPerMs;
+    private final int batchSize;
+    private final long leaseMs;
+    private final long retryMs;
+
+    private final long sweepIntervalMs;
+    private final AtomicLong nextSweepAtMs = new AtomicLong();
+
+    private volatile long redisRetryAtMs = 0;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback, long windowMs, int maxRequests,
+                            int batchSize, long leaseMs, long retryMs) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+        this.capacity = maxRequests;
+        this.refillPerMs = (double) maxRequests / Math.max(windowMs, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.leaseMs = leaseMs;
+        this.retryMs = retryMs;
+        this.sweepIntervalMs = Math.max(leaseMs, 1) * 10;
+    }
+
+    @Override
+    public boolean tryAcquire(String clientKey, int permits) {
+        long now = Instant.now().toEpochMilli();
+        if (now < redisRetryAtMs) {
+            return fallback.tryAcquire(clientKey, permits);
+        }
+
+        evictExpired(now);
+        while (true) {
+            Lease lease = leases.computeIfAbsent(clientKey, k -> new Lease());
+            synchronized (lease) {
+                if (lease.evicted) {
+                    continue;
+                }
+                boolean live = lease.expiresAtMs > now;
+                if (live && lease.remaining >= permits) {
+                    lease.remaining -= permits;
+                    return true;
+                }
+
+                // Tokens still held from an unexpired lease count towards this request; an expired
+                // lease's leftovers are returned to the bucket in the same call
+                int carried = live ? lease.remaining : 0;
+                int unused = live ? 0 : lease.remaining;
+                if (live) {
+                    lease.busy = true;
+                } else if (unused > 0) {
+                    lease.busy = false;
+                }
+                int needed = permits - carried;
+                long granted;
+                try {
+                    granted = leaseFromRedis(clientKey, needed, lease.busy ? batchSize : needed, unused);
+                } catch (RuntimeException e) {
+                    // Fail open: keep serving with per-node counters until Redis is retried. The lease keeps
+                    // its tokens; they were taken from the shared bucket and are spent or returned later
+                    redisRetryAtMs = now + retryMs;
+                    return fallback.tryAcquire(clientKey, permits);
+                }
+
+                if (granted < needed) {
+                    lease.remaining = carried;
+                    return false;
+                }
+                lease.remaining = (int) (carried + granted - permits);
+                lease.expiresAtMs = now + leaseMs;
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void charge(String clientKey, int permits) {
+        long now = Instant.now().toEpochMilli();
+        if (now < redisRetryAtMs) {
+            fallback.charge(clientKey, permits);
+            return;
+        }
+
+        while (true) {
+            Lease lease = leases.computeIfAbsent(clientKey, k -> new Lease());
+            synchronized (lease) {
+                if (lease.evicted) {
+                    continue;
+                }
+                int fromLease = lease.expiresAtMs > now ? Math.min(lease.remaining, permits) : 0;
+                lease.remaining -= fromLease;
+                int owed = permits - fromLease;
+                if (owed <= 0) {
+                    return;
+                }
+                try {
+                    redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + clientKey),
+                        String.valueOf(capacity), String.valueOf(refillPerMs), String.valueOf(owed), "0", "1", "0");
+                } catch (RuntimeException e) {
+                    redisRetryAtMs = now + retryMs;
+                    fallback.charge(clientKey, permits);
+                }
+                return;
+            }
+        }
+    }
+
+    /** Number of clients currently holding a lease on this node. */
+    int leaseCount() {
+        return leases.size();
+    }
+
+    private long leaseFromRedis(String clientKey, int needed, int batch, int returned) {
+        int wanted = Math.min(Math.max(batch, needed), Math.max(capacity, needed));
+        Long granted = redisTemplate.execute(TOKEN_BUCKET,
+            List.of(KEY_PREFIX + clientKey),
+            String.valueOf(capacity),
+            String.valueOf(refillPerMs),
+            String.valueOf(wanted),
+            String.valueOf(needed),
+            "0",
+            String.valueOf(returned));
+        return granted != null ? granted : 0;
+    }
+
+    /**
+     * Drops leases that have expired, at most once per sweep interval, handing their unused tokens back so
+     * the map only holds recently active clients.
+     */
+    private void evictExpired(long now) {
+        long due = nextSweepAtMs.get();
+        if (now < due || !nextSweepAtMs.compareAndSet(due, now + sweepIntervalMs)) {
+            return;
+        }
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            Lease lease = entry.getValue();
+            int unused;
+            synchronized (lease) {
+                if (lease.expiresAtMs > now) {
+                    continue;
+                }
+                lease.evicted = true;
+                leases.remove(entry.getKey(), lease);
+                unused = lease.remaining;
+            }
+            if (unused > 0 && now >= redisRetryAtMs) {
+                try {
+                    redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + entry.getKey()),
+                        String.valueOf(capacity), String.valueOf(refillPerMs), "0", "0", "0", String.valueOf(unused));
+                } catch (RuntimeException e) {
+                    // The tokens refill on their own; nothing else to do
+                }
+            }
+        }
+    }
+}
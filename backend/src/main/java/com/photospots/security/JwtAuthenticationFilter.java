@@ -1,5 +1,6 @@
 package com.photospots.security;
 
+import io.jsonwebtoken.Claims;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,38 +12,42 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, TokenRevocationService tokenRevocationService) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
-    protected void doFilterInternal(jakarta.servlet.http.HttpServletRequest request, 
-                                   jakarta.servlet.http.HttpServletResponse response, 
+    protected void doFilterInternal(jakarta.servlet.http.HttpServletRequest request,
+                                   jakarta.servlet.http.HttpServletResponse response,
                                    jakarta.servlet.FilterChain filterChain)
             throws jakarta.servlet.ServletException, IOException {
-        
+
         String authHeader = request.getHeader("Authorization");
-        
+
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                if (jwtTokenProvider.isValid(token)) {
-                    String subject = jwtTokenProvider.extractSubject(token);
-                    String email = jwtTokenProvider.extractEmail(token);
-                    Map<String, Object> details = new HashMap<>();
-                    details.put("email", email);
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        subject, null, Collections.emptyList()
-                    );
-                    auth.setDetails(details);
-                    SecurityContextHolder.getContext().setAuthentication(auth);
+                // Single (cached) verification per request; subject and email come from the same claims
+                Claims claims = jwtTokenProvider.extractClaims(token);
+                if (tokenRevocationService.isRevoked(token, claims)) {
+                    filterChain.doFilter(request, response);
+                    return;
                 }
+                Map<String, Object> details = new HashMap<>();
+                details.put("email", claims.get("email", String.class));
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                    claims.getSubject(), null, Collections.emptyList()
+                );
+                auth.setDetails(details);
+                SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (Exception ignored) {
                 // Invalid token - continue as unauthenticated
             }
         }
-        
+
         filterChain.doFilter(request, response);
     }
 }
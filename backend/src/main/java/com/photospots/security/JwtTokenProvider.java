@@ -1,23 +1,70 @@
 package com.photospots.security;
 
+import com.photospots.util.LruCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtTokenProvider {
 
+    private record VerifiedClaims(Claims claims, long expiresAtMs) {
+    }
+
     @Value("${app.jwt.secret:}")
     private String secretKey;
 
-    public Claims extractClaims(String token) throws JwtException {
-        return Jwts.parserBuilder()
+    @Value("${app.jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
+
+    @Value("${app.jwt.claims-cache-seconds:300}")
+    private long claimsCacheSeconds;
+
+    // JwtParser is immutable and thread-safe once built, so one instance serves every request
+    private JwtParser parser;
+
+    private LruCache<String, VerifiedClaims> verifiedClaims;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder()
             .setSigningKey(secretKey.getBytes())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+            .build();
+        verifiedClaims = new LruCache<>(claimsCacheSize);
+    }
+
+    /**
+     * Verifies the token once and caches its claims, keyed by a hash of the token, until the earlier of
+     * its {@code exp} and the cache TTL.
+     */
+    public Claims extractClaims(String token) throws JwtException {
+        String cacheKey = hashToken(token);
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = verifiedClaims.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAtMs() > now) {
+                return cached.claims();
+            }
+            verifiedClaims.remove(cacheKey);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        long expiresAtMs = now + claimsCacheSeconds * 1000;
+        Date exp = claims.getExpiration();
+        if (exp != null) {
+            expiresAtMs = Math.min(expiresAtMs, exp.getTime());
+        }
+        verifiedClaims.put(cacheKey, new VerifiedClaims(claims, expiresAtMs));
+        return claims;
     }
 
     public String extractSubject(String token) throws JwtException {
@@ -36,4 +83,13 @@ public class JwtTokenProvider {
     public String extractEmail(String token) throws JwtException {
         return (String) extractClaims(token).get("email");
     }
+
+    static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
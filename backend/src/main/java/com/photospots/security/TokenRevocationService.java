@@ -0,0 +1,96 @@
+package com.photospots.security;
+
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revokes access tokens by {@code jti} until they would have expired anyway.
+ *
+ * Revocations live in Redis ({@code auth:revoked:<jti>} with a TTL equal to the token's remaining life,
+ * plus a sorted index scored by expiry). Every node mirrors the index into an in-memory Bloom filter, so
+ * the common not-revoked case is answered without a network round trip; only Bloom hits are confirmed
+ * against Redis.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String KEY_PREFIX = "auth:revoked:";
+    private static final String INDEX_KEY = "auth:revoked-index";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_REVOCATIONS = 1024;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.jwt.access-token-seconds:3600}")
+    private long accessTokenSeconds;
+
+    private volatile BloomFilter revoked = BloomFilter.create(MIN_EXPECTED_REVOCATIONS, FALSE_POSITIVE_RATE);
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void revoke(String token, Claims claims) {
+        String id = revocationId(token, claims);
+        long now = System.currentTimeMillis();
+        Date exp = claims.getExpiration();
+        long expiresAtMs = exp != null ? exp.getTime() : now + accessTokenSeconds * 1000;
+        long ttlMs = expiresAtMs - now;
+        if (ttlMs <= 0) {
+            return; // already expired, nothing to revoke
+        }
+
+        redisTemplate.opsForValue().set(KEY_PREFIX + id, "1", Duration.ofMillis(ttlMs));
+        redisTemplate.opsForZSet().add(INDEX_KEY, id, expiresAtMs);
+        // Locked against sync() so the id cannot land in a filter that is about to be replaced
+        synchronized (this) {
+            revoked.put(id);
+        }
+    }
+
+    public boolean isRevoked(String token, Claims claims) {
+        String id = revocationId(token, claims);
+        if (!revoked.mightContain(id)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + id));
+        } catch (RuntimeException e) {
+            // A Bloom hit we cannot confirm is treated as revoked
+            return true;
+        }
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the Redis index so revocations made on other nodes are picked up,
+     * and drops index entries whose tokens have expired. The first run happens right after startup.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-ms:30000}")
+    public synchronized void sync() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<String> ids = redisTemplate.opsForZSet().range(INDEX_KEY, 0, -1);
+            int count = ids != null ? ids.size() : 0;
+            BloomFilter rebuilt = BloomFilter.create(Math.max(count * 2, MIN_EXPECTED_REVOCATIONS), FALSE_POSITIVE_RATE);
+            if (ids != null) {
+                ids.forEach(rebuilt::put);
+            }
+            revoked = rebuilt;
+        } catch (RuntimeException e) {
+            // Redis unavailable: keep the previous filter and retry on the next tick
+        }
+    }
+
+    private String revocationId(String token, Claims claims) {
+        String jti = claims.getId();
+        // Tokens without a jti are revoked by their hash instead
+        return jti != null && !jti.isBlank() ? jti : "sha256:" + JwtTokenProvider.hashToken(token);
+    }
+}
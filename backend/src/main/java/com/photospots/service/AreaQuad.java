@@ -0,0 +1,107 @@
+package com.photospots.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One cell of the adaptive area quadtree: a lat/lng box searched with Flickr's {@code bbox=} parameter.
+ * It is a {@link TargetLocation} (box centre plus the area's tile radius) so the per-tile filters and
+ * logging apply unchanged; quads never overlap, so every photo belongs to exactly one of them.
+ */
+public class AreaQuad extends TargetLocation {
+
+    private static final double METERS_PER_DEG_LAT = 111320.0;
+
+    private final String areaName;
+    private final String path;
+    private final double minLat;
+    private final double minLng;
+    private final double maxLat;
+    private final double maxLng;
+
+    private AreaQuad(String areaName, String path, double minLat, double minLng, double maxLat, double maxLng, double radiusKm) {
+        super(areaName + " quad " + path, (minLat + maxLat) / 2, (minLng + maxLng) / 2, radiusKm);
+        this.areaName = areaName;
+        this.path = path;
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.maxLat = maxLat;
+        this.maxLng = maxLng;
+    }
+
+    /** The square bounding the area's search circle. */
+    public static AreaQuad root(AreaConfig area) {
+        double dLat = area.getRadiusKm() * 1000.0 / METERS_PER_DEG_LAT;
+        double dLng = area.getRadiusKm() * 1000.0 / (METERS_PER_DEG_LAT * Math.cos(Math.toRadians(area.getLat())));
+        return new AreaQuad(area.getName(), "r", area.getLat() - dLat, area.getLng() - dLng,
+                area.getLat() + dLat, area.getLng() + dLng, area.getTileRadiusKm());
+    }
+
+    /** The quad with {@code path} in the area's tree, as returned by {@link #getPath}. */
+    public static AreaQuad at(AreaConfig area, String path) {
+        if (path == null || !path.startsWith("r")) {
+            throw new IllegalArgumentException("Not a quad path: " + path);
+        }
+        AreaQuad quad = root(area);
+        for (int i = 1; i < path.length(); i++) {
+            int child = path.charAt(i) - '0';
+            if (child < 0 || child > 3) {
+                throw new IllegalArgumentException("Not a quad path: " + path);
+            }
+            quad = quad.children().get(child);
+        }
+        return quad;
+    }
+
+    /** Stable id: "r" for the root, then one digit per level (0 SW, 1 SE, 2 NW, 3 NE). */
+    public String getPath() {
+        return path;
+    }
+
+    public int getDepth() {
+        return path.length() - 1;
+    }
+
+    public List<AreaQuad> children() {
+        double midLat = (minLat + maxLat) / 2;
+        double midLng = (minLng + maxLng) / 2;
+        List<AreaQuad> children = new ArrayList<>(4);
+        children.add(new AreaQuad(areaName, path + "0", minLat, minLng, midLat, midLng, getRadiusKm()));
+        children.add(new AreaQuad(areaName, path + "1", minLat, midLng, midLat, maxLng, getRadiusKm()));
+        children.add(new AreaQuad(areaName, path + "2", midLat, minLng, maxLat, midLng, getRadiusKm()));
+        children.add(new AreaQuad(areaName, path + "3", midLat, midLng, maxLat, maxLng, getRadiusKm()));
+        return children;
+    }
+
+    /** Half-open on the north/east edges so siblings never share a photo. */
+    public boolean contains(double lat, double lng) {
+        return lat >= minLat && lat < maxLat && lng >= minLng && lng < maxLng;
+    }
+
+    public double sideMeters() {
+        double height = (maxLat - minLat) * METERS_PER_DEG_LAT;
+        double width = (maxLng - minLng) * METERS_PER_DEG_LAT * Math.cos(Math.toRadians(getLatitude()));
+        return Math.min(height, width);
+    }
+
+    public double halfDiagonalMeters() {
+        double height = (maxLat - minLat) * METERS_PER_DEG_LAT;
+        double width = (maxLng - minLng) * METERS_PER_DEG_LAT * Math.cos(Math.toRadians(getLatitude()));
+        return Math.sqrt(height * height + width * width) / 2;
+    }
+
+    /** True when some part of the box lies within {@code radiusMeters} of the point. */
+    public boolean intersectsCircle(double lat, double lng, double radiusMeters) {
+        double nearestLat = Math.max(minLat, Math.min(lat, maxLat));
+        double nearestLng = Math.max(minLng, Math.min(lng, maxLng));
+        double dy = (nearestLat - lat) * METERS_PER_DEG_LAT;
+        double dx = (nearestLng - lng) * METERS_PER_DEG_LAT * Math.cos(Math.toRadians(lat));
+        return dx * dx + dy * dy <= radiusMeters * radiusMeters;
+    }
+
+    /** Flickr's bbox order: min_lon,min_lat,max_lon,max_lat. */
+    public String toBboxParam() {
+        return String.format(Locale.ROOT, "%.6f,%.6f,%.6f,%.6f", minLng, minLat, maxLng, maxLat);
+    }
+}
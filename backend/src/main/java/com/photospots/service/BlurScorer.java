@@ -0,0 +1,108 @@
+package com.photospots.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.stereotype.Component;
+
+import com.photospots.config.AppProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process sharpness score: variance of the 3x3 Laplacian of the grayscale image, the same measure
+ * (and the same border handling) as {@code cv2.Laplacian(gray, CV_64F).var()} in filter_photos.py.
+ *
+ * Laplacian variance depends on resolution, so the score is only comparable with Python's (and with its
+ * blur threshold) when both look at the same pixels: callers pass the rendition filter_photos.py is given
+ * (FlickrSeedService.chooseVisionUrl), decoded at full size. Decoding and scoring run on a dedicated
+ * ForkJoin pool of {@code app.seed.blur-threads} threads (a quarter of the cores by default, since seed jobs
+ * share the CPU with request handling), and need neither Python nor OpenCV.
+ */
+@Component
+public class BlurScorer {
+
+    private final ForkJoinPool pool;
+
+    public BlurScorer(AppProperties appProperties) {
+        this.pool = new ForkJoinPool(appProperties.getSeed().blurThreadCount());
+    }
+
+    /** Scores an encoded image, or returns null if it cannot be decoded. Blocks until scored. */
+    public Double score(byte[] encoded) {
+        return pool.submit(() -> scoreBytes(encoded)).join();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /** Laplacian variance of an encoded image, or null if it cannot be decoded. */
+    static Double scoreBytes(byte[] encoded) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+            return image == null ? null : laplacianVariance(image);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static double laplacianVariance(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width < 2 || height < 2) {
+            return 0.0;
+        }
+        return laplacianVariance(toGray(image), width, height);
+    }
+
+    /**
+     * Variance of the 4-neighbour Laplacian over {@code gray} (row-major, 0..255), with OpenCV's default
+     * BORDER_REFLECT_101 at the edges.
+     */
+    static double laplacianVariance(int[] gray, int width, int height) {
+        long sum = 0;
+        long sumSquares = 0;
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int up = (y == 0 ? 1 : y - 1) * width;
+            int down = (y == height - 1 ? height - 2 : y + 1) * width;
+            for (int x = 0; x < width; x++) {
+                int left = x == 0 ? 1 : x - 1;
+                int right = x == width - 1 ? width - 2 : x + 1;
+                int value = gray[up + x] + gray[down + x] + gray[row + left] + gray[row + right] - 4 * gray[row + x];
+                sum += value;
+                sumSquares += (long) value * value;
+            }
+        }
+        double n = (double) width * height;
+        double mean = sum / n;
+        return sumSquares / n - mean * mean;
+    }
+
+    /** 8-bit luma with OpenCV's BGR2GRAY fixed-point weights, read straight from the raster where possible. */
+    private static int[] toGray(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        Raster raster = image.getRaster();
+        if (raster.getNumBands() == 1 && raster.getSampleModel().getSampleSize(0) == 8) {
+            return raster.getSamples(0, 0, width, height, 0, (int[]) null);
+        }
+        int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+        int[] gray = new int[rgb.length];
+        for (int i = 0; i < rgb.length; i++) {
+            int p = rgb[i];
+            int r = (p >> 16) & 0xFF;
+            int g = (p >> 8) & 0xFF;
+            int b = p & 0xFF;
+            gray[i] = (r * 4899 + g * 9617 + b * 1868 + 8192) >> 14;
+        }
+        return gray;
+    }
+}
@@ -0,0 +1,198 @@
+package com.photospots.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.photospots.config.AppProperties;
+
+/**
+ * HTTP client for Flickr REST calls. Requests are answered from the {@link FlickrResponseCache} when
+ * possible; otherwise they take a permit from the shared {@link FlickrRateLimiter} and go out over the
+ * pooled {@link HttpClient} with gzip and a read timeout.
+ *
+ * Every call belongs to the thread that issued it, or, for work started through {@link #supplyAsync}, to
+ * the thread that started that work. Once that thread is interrupted (a cancelled seed job), calls not yet
+ * sent fail with a CancellationException instead of spending quota, and waiting for a call is interruptible.
+ */
+@Component
+public class FlickrClient {
+
+    private final HttpClient httpClient;
+    private final FlickrRateLimiter rateLimiter;
+    private final FlickrResponseCache responseCache;
+    private final Duration readTimeout;
+    private final Executor executor;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    // The thread a supplyAsync task runs on behalf of
+    private static final ThreadLocal<Thread> ORIGIN = new ThreadLocal<>();
+
+    public FlickrClient(HttpClient flickrHttpClient, FlickrRateLimiter rateLimiter,
+                        FlickrResponseCache responseCache, AppProperties appProperties) {
+        this.httpClient = flickrHttpClient;
+        this.rateLimiter = rateLimiter;
+        this.responseCache = responseCache;
+        this.readTimeout = Duration.ofMillis(appProperties.getFlickr().getReadTimeoutMs());
+        this.executor = flickrHttpClient.executor().orElse(ForkJoinPool.commonPool());
+    }
+
+    /** True when every response comes from recorded data, so no API key is needed. */
+    public boolean isOffline() {
+        return responseCache.isReplay();
+    }
+
+    /**
+     * Unix seconds that relative upload windows are measured from; pinned by the response cache when it is
+     * on, so windowed search URLs repeat across runs and replay.
+     */
+    public long windowClockSeconds() {
+        return responseCache.windowClockSeconds(System.currentTimeMillis() / 1000L);
+    }
+
+    public CompletableFuture<String> getAsync(String url) {
+        if (responseCache.isEnabled()) {
+            String cached = responseCache.get(url);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            if (responseCache.isReplay()) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                    "No recorded Flickr response (replay mode): " + FlickrResponseCache.normalize(url)));
+            }
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(readTimeout)
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+        // Waiting for a permit happens on the client's executor, never on the caller's thread
+        Thread origin = origin();
+        return CompletableFuture.runAsync(() -> {
+                checkNotCancelled(origin);
+                rateLimiter.acquire();
+                checkNotCancelled(origin);
+            }, executor)
+            .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+            .thenApply(FlickrClient::decodeBody)
+            .thenApply(body -> {
+                // Only successful payloads are recorded; Flickr reports API errors as stat=fail with HTTP 200
+                if (responseCache.isEnabled() && body.contains("\"stat\":\"ok\"")) {
+                    responseCache.put(url, body);
+                }
+                return body;
+            });
+    }
+
+    public <T> CompletableFuture<T> getAsync(String url, Class<T> type) {
+        return getAsync(url).thenApply(body -> parse(body, type));
+    }
+
+    public String get(String url) {
+        return join(getAsync(url));
+    }
+
+    public <T> T get(String url, Class<T> type) {
+        return join(getAsync(url, type));
+    }
+
+    /**
+     * Runs a blocking task on the client's executor, e.g. a search helper issued alongside others. The
+     * task's Flickr calls are cancelled along with the calling thread.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        Thread origin = origin();
+        return CompletableFuture.supplyAsync(() -> {
+            checkNotCancelled(origin);
+            Thread previous = ORIGIN.get();
+            ORIGIN.set(origin);
+            try {
+                return task.get();
+            } finally {
+                ORIGIN.set(previous);
+            }
+        }, executor);
+    }
+
+    /** Waits for {@code future} like {@link CompletableFuture#join}, but gives up when this thread is interrupted. */
+    public <T> T await(CompletableFuture<T> future) {
+        return join(future);
+    }
+
+    private static Thread origin() {
+        Thread origin = ORIGIN.get();
+        return origin != null ? origin : Thread.currentThread();
+    }
+
+    private static void checkNotCancelled(Thread origin) {
+        if (origin.isInterrupted()) {
+            throw new CancellationException("Seeding cancelled; Flickr call skipped");
+        }
+    }
+
+    private <T> T parse(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable Flickr response", e);
+        }
+    }
+
+    private static String decodeBody(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Flickr HTTP " + response.statusCode());
+        }
+        byte[] body = response.body();
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+            .map(enc -> enc.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        if (!gzipped) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt gzip body from Flickr", e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // Keep the flag so the caller's own checks, and calls made on its behalf, see the cancellation
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new CancellationException("Interrupted waiting for Flickr");
+        } catch (ExecutionException e) {
+            // Surface the real failure so callers' "Error searching ..." logs stay meaningful
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException(io.getMessage(), io);
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+}
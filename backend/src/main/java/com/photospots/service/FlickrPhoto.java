@@ -1,5 +1,6 @@
 package com.photospots.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -58,6 +59,16 @@ public class FlickrPhoto {
     @JsonProperty("height_o")
     private int heightO;
 
+    // 64-bit dHash of the thumbnail, computed during seeding (see PerceptualHasher)
+    @JsonIgnore
+    private Long perceptualHash;
+
+    // Keyword classes of title/tags, cached by the KeywordMatcher that computed them
+    @JsonIgnore
+    private Long keywordMask;
+    @JsonIgnore
+    private int keywordMatcherId;
+
     public String getId() {
         return id;
     }
@@ -249,6 +260,27 @@ public class FlickrPhoto {
     public void setHeightO(int heightO) {
         this.heightO = heightO;
     }
+
+    public Long getPerceptualHash() {
+        return perceptualHash;
+    }
+
+    public void setPerceptualHash(Long perceptualHash) {
+        this.perceptualHash = perceptualHash;
+    }
+
+    public Long getKeywordMask() {
+        return keywordMask;
+    }
+
+    public int getKeywordMatcherId() {
+        return keywordMatcherId;
+    }
+
+    public void setKeywordMask(long keywordMask, int keywordMatcherId) {
+        this.keywordMask = keywordMask;
+        this.keywordMatcherId = keywordMatcherId;
+    }
     
     /**
      * Get the best available photo URL (prefer larger sizes)
@@ -0,0 +1,68 @@
+package com.photospots.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lazily pages through a flickr.photos.search result set. Pages are requested one at a time and only
+ * while the caller still needs candidates; each page is handed to the caller's filter and then dropped,
+ * so only kept photos stay in memory.
+ */
+public class FlickrPhotoStream {
+
+    @FunctionalInterface
+    public interface PageFetcher {
+        /** Returns the requested 1-based page, or null if the call failed. */
+        FlickrResponse.Photos fetch(int page);
+    }
+
+    private final PageFetcher fetcher;
+    private final int maxPages;
+
+    private int nextPage = 1;
+    private int totalPages = Integer.MAX_VALUE; // unknown until the first page arrives
+    private boolean exhausted;
+
+    public FlickrPhotoStream(PageFetcher fetcher, int maxPages) {
+        this.fetcher = fetcher;
+        this.maxPages = Math.max(1, maxPages);
+    }
+
+    public boolean hasNext() {
+        return !exhausted && nextPage <= Math.min(totalPages, maxPages);
+    }
+
+    /** Fetches the next page; returns an empty list (and ends the stream) on errors or an empty page. */
+    public List<FlickrPhoto> nextPage() {
+        if (!hasNext()) {
+            return List.of();
+        }
+        FlickrResponse.Photos photos = fetcher.fetch(nextPage++);
+        if (photos == null || photos.getPhoto() == null || photos.getPhoto().isEmpty()) {
+            exhausted = true;
+            return List.of();
+        }
+        totalPages = photos.getPages() > 0 ? photos.getPages() : nextPage - 1;
+        return photos.getPhoto();
+    }
+
+    public int pagesFetched() {
+        return nextPage - 1;
+    }
+
+    /**
+     * Pulls pages through {@code pageFilter} until at least {@code target} photos are kept, the result
+     * set runs out, or the page cap is hit.
+     */
+    public List<FlickrPhoto> collect(Function<List<FlickrPhoto>, List<FlickrPhoto>> pageFilter, int target) {
+        List<FlickrPhoto> kept = new ArrayList<>();
+        while (kept.size() < target && hasNext()) {
+            List<FlickrPhoto> page = nextPage();
+            if (!page.isEmpty()) {
+                kept.addAll(pageFilter.apply(page));
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,104 @@
+package com.photospots.service;
+
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.photospots.config.AppProperties;
+
+/**
+ * Persistent cache of Flickr place lookups in {@code flickr_place_cache}, keyed by lat/lng rounded to
+ * 2 decimals. Resolved places and "no place here" answers expire separately
+ * ({@code app.seed.place-cache-ttl-hours} / {@code place-cache-negative-ttl-hours}); transient API
+ * errors are never cached. {@link #preload()} pulls every live row into memory at the start of a run,
+ * and memory misses fall through to the table so cells resolved by another node are picked up too.
+ */
+@Component
+public class FlickrPlaceCache {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(String placeId, long expiresAtMs) {
+    }
+
+    public FlickrPlaceCache(SeedDatabase seedDatabase, AppProperties appProperties) {
+        this.jdbcTemplate = seedDatabase.getJdbcTemplate();
+        this.ttlMs = appProperties.getSeed().getPlaceCacheTtlHours() * 3_600_000L;
+        this.negativeTtlMs = appProperties.getSeed().getPlaceCacheNegativeTtlHours() * 3_600_000L;
+    }
+
+    public static String cellFor(double lat, double lng) {
+        return String.format(Locale.ROOT, "%.2f,%.2f", lat, lng);
+    }
+
+    /** Drops expired rows and loads the rest into memory; returns the number of cells loaded. */
+    public int preload() {
+        jdbcTemplate.update(
+            "DELETE FROM flickr_place_cache WHERE resolved_at < now() - (CASE WHEN place_id IS NULL THEN ? ELSE ? END) * interval '1 millisecond'",
+            negativeTtlMs, ttlMs);
+        jdbcTemplate.query("SELECT cell, place_id, resolved_at FROM flickr_place_cache",
+            rs -> {
+                remember(rs.getString("cell"), rs.getString("place_id"), rs.getTimestamp("resolved_at"));
+            });
+        return entries.size();
+    }
+
+    /** Whether a cell is cached with a place, cached as having none, or has to be looked up. */
+    public enum Status {
+        HIT, NEGATIVE, MISS
+    }
+
+    /** A cache answer; {@code placeId} is only set for {@link Status#HIT}. */
+    public record Lookup(Status status, String placeId) {
+
+        static final Lookup MISS = new Lookup(Status.MISS, null);
+
+        public boolean isCached() {
+            return status != Status.MISS;
+        }
+    }
+
+    /**
+     * Returns the cached answer for {@code cell}. A cell missing or expired in memory is read from the
+     * table, which another node may have refreshed.
+     */
+    public Lookup get(String cell) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(cell);
+        if (entry == null || entry.expiresAtMs() < now) {
+            entry = jdbcTemplate.query("SELECT place_id, resolved_at FROM flickr_place_cache WHERE cell = ?",
+                rs -> rs.next() ? remember(cell, rs.getString("place_id"), rs.getTimestamp("resolved_at")) : null,
+                cell);
+        }
+        if (entry == null) {
+            entries.remove(cell);
+            return Lookup.MISS;
+        }
+        if (entry.expiresAtMs() < now) {
+            return Lookup.MISS;
+        }
+        return entry.placeId() != null ? new Lookup(Status.HIT, entry.placeId()) : new Lookup(Status.NEGATIVE, null);
+    }
+
+    /** Records a definitive answer; {@code placeId} null caches "no usable place" with the negative TTL. */
+    public void put(String cell, String placeId) {
+        jdbcTemplate.update(
+            "INSERT INTO flickr_place_cache (cell, place_id) VALUES (?, ?) " +
+            "ON CONFLICT (cell) DO UPDATE SET place_id = EXCLUDED.place_id, resolved_at = now()",
+            cell, placeId);
+        entries.put(cell, new Entry(placeId, System.currentTimeMillis() + (placeId != null ? ttlMs : negativeTtlMs)));
+    }
+
+    private Entry remember(String cell, String placeId, Timestamp resolvedAt) {
+        Entry entry = new Entry(placeId, resolvedAt.getTime() + (placeId != null ? ttlMs : negativeTtlMs));
+        entries.put(cell, entry);
+        return entry;
+    }
+}
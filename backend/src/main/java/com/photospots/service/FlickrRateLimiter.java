@@ -0,0 +1,57 @@
+package com.photospots.service;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import org.springframework.stereotype.Component;
+
+import com.photospots.config.AppProperties;
+
+/**
+ * Process-wide token bucket for Flickr API calls. Every seeding thread acquires a permit before each
+ * request, so concurrent locations and tiles together never exceed the configured QPS.
+ */
+@Component
+public class FlickrRateLimiter {
+
+    private final double nanosPerPermit;
+    private final double maxPermits;
+
+    private double storedPermits;
+    private long lastRefillNanos;
+
+    public FlickrRateLimiter(AppProperties appProperties) {
+        double qps = Math.max(appProperties.getSeed().getFlickrQps(), 0.01);
+        this.nanosPerPermit = 1_000_000_000.0 / qps;
+        this.maxPermits = Math.max(appProperties.getSeed().getFlickrBurst(), 1);
+        this.storedPermits = maxPermits;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Blocks until a permit is available. Callers reserve their slot up front, so waiters are served in
+     * arrival order and the bucket may briefly go negative. An interrupted wait gives the slot back and
+     * throws CancellationException, so the call it was pacing is never made.
+     */
+    public void acquire() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            storedPermits = Math.min(maxPermits, storedPermits + (now - lastRefillNanos) / nanosPerPermit);
+            lastRefillNanos = now;
+            storedPermits -= 1;
+            waitNanos = storedPermits >= 0 ? 0 : (long) (-storedPermits * nanosPerPermit);
+        }
+        if (waitNanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(waitNanos));
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    storedPermits += 1;
+                }
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted waiting for a Flickr permit");
+            }
+        }
+    }
+}
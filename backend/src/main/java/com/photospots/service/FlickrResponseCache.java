@@ -0,0 +1,335 @@
+package com.photospots.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.stereotype.Component;
+
+import com.photospots.config.AppProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Disk cache of raw Flickr responses, keyed by the SHA-256 of the request URL with {@code api_key} removed.
+ *
+ * Entries are appended to a single log file ({@code responses.dat}); a newer entry for the same key
+ * supersedes older ones. The in-memory index (key to offset) is rebuilt on open by walking record
+ * headers, and bodies are read through a read-only memory mapping, so replaying a recorded seed does
+ * no network I/O and very little disk I/O.
+ *
+ * Record layout: {@code int magic | long writtenAtMs | 32-byte key | int bodyLength | deflated body}.
+ *
+ * Modes ({@code app.flickr.cache.mode}): {@code off}, {@code read-write} (fresh hits served from disk,
+ * misses fetched and recorded), {@code replay} (never touches the network; misses are errors, TTL ignored).
+ *
+ * Searches limited to a relative upload window ("the last two years") send an absolute
+ * {@code min_upload_date}. To keep their URLs, and so their keys, stable, the seeder measures windows from
+ * {@link #windowClockSeconds}: a timestamp recorded in the log itself, kept while fresh and reused as-is
+ * on replay.
+ */
+@Component
+public class FlickrResponseCache {
+
+    public enum Mode { OFF, READ_WRITE, REPLAY }
+
+    private static final int MAGIC = 0x464C4B52; // "FLKR"
+    private static final int KEY_BYTES = 32;
+    private static final int HEADER_BYTES = 4 + 8 + KEY_BYTES + 4;
+    private static final String DATA_FILE = "responses.dat";
+    private static final String WINDOW_CLOCK_KEY = "photospots:upload-window-clock";
+
+    private final Mode mode;
+    private final long ttlMs;
+    private final Path dataFile;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+    private long size;
+
+    private record Entry(long offset, long writtenAtMs, int bodyLength) {
+    }
+
+    public FlickrResponseCache(AppProperties appProperties) {
+        AppProperties.Flickr.ResponseCache config = appProperties.getFlickr().getCache();
+        this.mode = parseMode(config.getMode());
+        this.ttlMs = config.getTtlHours() * 3_600_000L;
+        this.dataFile = Paths.get(config.getDir()).resolve(DATA_FILE);
+        if (mode != Mode.OFF) {
+            open();
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    public boolean isReplay() {
+        return mode == Mode.REPLAY;
+    }
+
+    /** Returns the cached body for {@code url}, or null on a miss (or an expired entry outside replay). */
+    public String get(String url) {
+        if (mode == Mode.OFF) {
+            return null;
+        }
+        String body = lookup(url);
+        if (body == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return body;
+    }
+
+    /**
+     * The time, in unix seconds, that relative upload windows are measured from. Off: {@code nowSeconds}.
+     * Read-write: the recorded clock while it is within the TTL, otherwise {@code nowSeconds}, recorded.
+     * Replay: the clock of the recording (or {@code nowSeconds} for logs made before clocks were recorded).
+     */
+    public synchronized long windowClockSeconds(long nowSeconds) {
+        if (mode == Mode.OFF) {
+            return nowSeconds;
+        }
+        String recorded = lookup(WINDOW_CLOCK_KEY);
+        if (recorded != null) {
+            return Long.parseLong(recorded.trim());
+        }
+        put(WINDOW_CLOCK_KEY, Long.toString(nowSeconds));
+        return nowSeconds;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public synchronized void put(String url, String body) {
+        if (mode != Mode.READ_WRITE) {
+            return;
+        }
+        byte[] key = digest(normalize(url));
+        byte[] compressed = deflate(body.getBytes(StandardCharsets.UTF_8));
+        long now = System.currentTimeMillis();
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + compressed.length);
+        record.putInt(MAGIC).putLong(now).put(key).putInt(compressed.length).put(compressed).flip();
+        try {
+            long offset = size;
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            size += HEADER_BYTES + compressed.length;
+            index.put(encode(key), new Entry(offset, now, compressed.length));
+        } catch (IOException e) {
+            // A failed append only costs a future cache miss
+            System.err.println("         ⚠️ Flickr cache write failed: " + e.getMessage());
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (channel != null) {
+            System.out.println("🗄️  Flickr response cache closed: " + hits.sum() + " hits, " + misses.sum() + " misses");
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do on shutdown
+            }
+            channel = null;
+        }
+    }
+
+    private String lookup(String url) {
+        Entry entry = index.get(keyFor(url));
+        if (entry == null) {
+            return null;
+        }
+        if (mode != Mode.REPLAY && ttlMs > 0 && System.currentTimeMillis() - entry.writtenAtMs() > ttlMs) {
+            return null;
+        }
+        return inflate(readBody(entry));
+    }
+
+    /** Cache key source: the URL with the api_key parameter removed, so recordings are portable across keys. */
+    static String normalize(String url) {
+        return url.replaceAll("([?&])api_key=[^&]*&?", "$1").replaceAll("[?&]$", "");
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(dataFile.getParent());
+            channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            size = scan();
+            // Drop a torn trailing record left by a crash mid-append
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            System.out.println("🗄️  Flickr response cache (" + mode.name().toLowerCase().replace('_', '-') + "): "
+                    + index.size() + " entries in " + dataFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open Flickr response cache at " + dataFile, e);
+        }
+    }
+
+    private long scan() throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        byte[] key = new byte[KEY_BYTES];
+        long offset = 0;
+        while (offset + HEADER_BYTES <= fileSize) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, offset + header.position()) < 0) {
+                    return offset;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                return offset;
+            }
+            long writtenAtMs = header.getLong();
+            header.get(key);
+            int bodyLength = header.getInt();
+            if (bodyLength < 0 || offset + HEADER_BYTES + bodyLength > fileSize) {
+                return offset;
+            }
+            index.put(encode(key), new Entry(offset, writtenAtMs, bodyLength));
+            offset += HEADER_BYTES + bodyLength;
+        }
+        return offset;
+    }
+
+    private byte[] readBody(Entry entry) {
+        long start = entry.offset() + HEADER_BYTES;
+        byte[] body = new byte[entry.bodyLength()];
+        MappedByteBuffer view = mappingCovering(start + body.length);
+        if (view != null) {
+            view.slice((int) start, body.length).get(body);
+            return body;
+        }
+        // Logs beyond 2 GB cannot be mapped in one piece; fall back to positional reads
+        try {
+            ByteBuffer target = ByteBuffer.wrap(body);
+            while (target.hasRemaining()) {
+                channel.read(target, start + target.position());
+            }
+            return body;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Flickr cache read failed", e);
+        }
+    }
+
+    /** Returns a mapping that covers {@code end}, remapping once the log has grown past the current one. */
+    private MappedByteBuffer mappingCovering(long end) {
+        MappedByteBuffer current = mapped;
+        if (current != null && current.capacity() >= end) {
+            return current;
+        }
+        synchronized (this) {
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            if (mapped == null || mapped.capacity() < end) {
+                try {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Flickr cache mapping failed", e);
+                }
+            }
+            return mapped;
+        }
+    }
+
+    private static String keyFor(String url) {
+        return encode(digest(normalize(url)));
+    }
+
+    private static byte[] digest(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String encode(byte[] key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt Flickr cache entry", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Mode parseMode(String value) {
+        if (value == null || value.isBlank()) {
+            return Mode.OFF;
+        }
+        return Mode.valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -1,13 +1,11 @@
 package com.photospots.service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Statement;
+import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -15,9 +13,14 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -26,12 +29,16 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.photospots.config.AppProperties;
+import com.photospots.util.HammingBkTree;
+import com.photospots.util.LruCache;
+import com.photospots.util.TopK;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Seed Flickr photos into landmark + hotspot spots with geo-aware photos.
@@ -131,37 +138,44 @@ public class FlickrSeedService {
         private final int inserted;
         private final int conflicts;
         private final int failed;
-        private final int successNoInfo;
 
-        private InsertStats(int attempted, int inserted, int conflicts, int failed, int successNoInfo) {
+        private InsertStats(int attempted, int inserted, int conflicts, int failed) {
             this.attempted = attempted;
             this.inserted = inserted;
             this.conflicts = conflicts;
             this.failed = failed;
-            this.successNoInfo = successNoInfo;
         }
     }
 
     private static class VisionResult {
-        private final double faceMaxFrac;
-        private final int faceCount;
+        // Null when only blur was checked
+        private final Double faceMaxFrac;
+        private final Integer faceCount;
         private final double blurScore;
         private final boolean portrait;
         private final boolean blurry;
+        private final String modelVersion;
 
-        private VisionResult(double faceMaxFrac, int faceCount, double blurScore, boolean portrait, boolean blurry) {
+        private VisionResult(Double faceMaxFrac, Integer faceCount, double blurScore, boolean portrait, boolean blurry,
+                             String modelVersion) {
             this.faceMaxFrac = faceMaxFrac;
             this.faceCount = faceCount;
             this.blurScore = blurScore;
             this.portrait = portrait;
             this.blurry = blurry;
+            this.modelVersion = modelVersion;
+        }
+
+        private static VisionResult blurry(double blurScore) {
+            return new VisionResult(null, null, blurScore, false, true, BLUR_MODEL_VERSION);
         }
 
         public boolean isPortrait() { return portrait; }
         public boolean isBlurry() { return blurry; }
-        public double getFaceMaxFrac() { return faceMaxFrac; }
-        public int getFaceCount() { return faceCount; }
+        public Double getFaceMaxFrac() { return faceMaxFrac; }
+        public Integer getFaceCount() { return faceCount; }
         public double getBlurScore() { return blurScore; }
+        public String getModelVersion() { return modelVersion; }
     }
 
     private static class VisionOutcome {
@@ -212,6 +226,29 @@ public class FlickrSeedService {
             kept = 0;
         }
     }
+    private static class StrategyFetch {
+        private final String label;
+        private final List<FlickrPhoto> photos;
+        private final FetchCounters counters;
+
+        private StrategyFetch(String label, List<FlickrPhoto> photos, FetchCounters counters) {
+            this.label = label;
+            this.photos = photos;
+            this.counters = counters;
+        }
+    }
+    /** An in-flight geo-bucket search, with the counters its time ladder writes to. */
+    private static class StrategyFetchTask {
+        private final String name;
+        private final FetchCounters counters;
+        private final CompletableFuture<GeoSearchResult> result;
+
+        private StrategyFetchTask(String name, FetchCounters counters, CompletableFuture<GeoSearchResult> result) {
+            this.name = name;
+            this.counters = counters;
+            this.result = result;
+        }
+    }
     private static class ClusterCandidate {
         private final String key;
         private final List<FlickrPhoto> photos;
@@ -225,6 +262,113 @@ public class FlickrSeedService {
             this.score = score;
         }
     }
+    /** One bbox probe: the first page of a quad's results and the total Flickr reports for it. */
+    private static class QuadProbe {
+        private final AreaQuad quad;
+        private final List<FlickrPhoto> photos;
+        private final FetchCounters counters;
+        private final int total;
+        private final boolean failed;
+
+        private QuadProbe(AreaQuad quad, List<FlickrPhoto> photos, FetchCounters counters, int total, boolean failed) {
+            this.quad = quad;
+            this.photos = photos;
+            this.counters = counters;
+            this.total = total;
+            this.failed = failed;
+        }
+    }
+    /** A leaf quad with the photos assigned to it so far; saturated leaves still need the full tile searches. */
+    private static class QuadLeaf {
+        private final AreaQuad quad;
+        private final List<FlickrPhoto> photos;
+        private final FetchCounters counters;
+        private final int total;
+        private final boolean saturated;
+
+        private QuadLeaf(QuadProbe probe, List<FlickrPhoto> photos, boolean saturated) {
+            this(probe.quad, photos, probe.counters, probe.total, saturated);
+        }
+
+        private QuadLeaf(AreaQuad quad, List<FlickrPhoto> photos, FetchCounters counters, int total, boolean saturated) {
+            this.quad = quad;
+            this.photos = photos;
+            this.counters = counters;
+            this.total = total;
+            this.saturated = saturated;
+        }
+    }
+    private static class QuadPlan {
+        private final List<QuadLeaf> leaves = new ArrayList<>();
+        private int probes = 0;
+        private int splitFetched = 0;
+        private boolean restored;
+    }
+    /** Running totals updated by a pipeline's sink; only the sink thread touches them. */
+    private static class PipelineTotals {
+        int items; // sink calls so far, i.e. the input position of the current item
+        int fetched;
+        int duplicates;
+        int missingGeo;
+        int missingUrl;
+        int inserted;
+        int attempted;
+        int conflicts;
+        int failed;
+        int portraitRejected;
+        int blurryRejected;
+
+        void add(InsertStats stats) {
+            inserted += stats.inserted;
+            attempted += stats.attempted;
+            conflicts += stats.conflicts;
+            failed += stats.failed;
+        }
+
+        void add(VisionOutcome vision) {
+            portraitRejected += vision.portraitRejected;
+            blurryRejected += vision.blurryRejected;
+        }
+    }
+
+    /** One photo spot on its way through near-duplicate suppression, vision and insert. */
+    private static class ClusterWork {
+        final int index;
+        final UUID spotId;
+        final List<FlickrPhoto> candidates;
+        List<FlickrPhoto> distinct;
+        VisionOutcome vision;
+
+        private ClusterWork(int index, UUID spotId, List<FlickrPhoto> candidates) {
+            this.index = index;
+            this.spotId = spotId;
+            this.candidates = candidates;
+        }
+    }
+
+    /** Checkpoint payload for an area's quad plan: every leaf with its probe results, so resuming needs no probes. */
+    private static class QuadPlanCheckpoint {
+        public int probes;
+        public int splitFetched;
+        public List<QuadLeafCheckpoint> leaves = new ArrayList<>();
+    }
+    private static class QuadLeafCheckpoint {
+        public String path;
+        public int total;
+        public boolean saturated;
+        public int fetched;
+        public int missingGeo;
+        public int outsideGta;
+        public int outsideRadius;
+        public int kept;
+        public List<FlickrPhoto> photos = new ArrayList<>();
+    }
+
+    /** Checkpoint payload for a merged area tile: ids it claimed for dedupe, and its filtered candidates. */
+    private static class TileCheckpoint {
+        public List<String> seenIds = new ArrayList<>();
+        public List<FlickrPhoto> photos = new ArrayList<>();
+    }
     private static class GeoSearchResult {
         final List<FlickrPhoto> photos;
         final String timeWindow;
@@ -234,7 +378,6 @@ public class FlickrSeedService {
             this.timeWindow = timeWindow;
         }
     }
-    private static final String FLICKR_API_BASE = "https://api.flickr.com/services/rest/";
     private static final String EXTRAS = "url_s,url_m,url_l,url_o,geo,owner_name,views,tags,o_dims,date_upload";
     private static final int PER_PAGE = 100;
     private static final int HOTSPOT_PRECISION = 4; // ~11m
@@ -243,9 +386,11 @@ public class FlickrSeedService {
     private static final int MAX_PHOTOS_PER_HOTSPOT = 30;
     private static final int MIN_LANDMARK_PHOTOS_FOR_FALLBACK = 8;
     private static final int MAX_HOTSPOTS_PER_AREA = 60;
+    private static final int MAX_AREA_QUADS = 60;
+    private static final String QUAD_PROBE_STRATEGY = "quad-probe";
 
     private static final double MIN_HOTSPOT_SEPARATION_METERS = 80.0;
-    private static final long REQUEST_DELAY_MS = 500;
+    private static final String CLUSTER_STRATEGY_DBSCAN = "dbscan";
     private static final String TORONTO_GROUP_ID = "36521959@N00";
     // GTA hard boundaries (defense in depth)
     private static final double GTA_MIN_LAT = 43.10;
@@ -259,7 +404,6 @@ public class FlickrSeedService {
         private static final double RADIUS_MARGIN = 1.15; // 15% safety margin
         private static final String TILE_TAGS = "streetart,graffiti,mural,architecture,cityscape,skyline,bridge,waterfront,park,trail,lookout";
 
-        private static final int PHOTO_BATCH_SIZE = 500;
         // Tag buckets for geo-first discovery
         private static final String[] STREET_ART_BUCKET = {"streetart", "graffiti", "mural", "urbanart"};
         private static final String[] ARCHITECTURE_BUCKET = {"architecture", "building", "cityscape", "brutalism"};
@@ -305,23 +449,58 @@ public class FlickrSeedService {
         private static final double MAX_EVENT_DISTANCE_METERS = 200.0;
         private static final Set<String> BASE_LOCATION_TOKENS = Set.of("toronto", "ontario", "canada");
         private static final int CANDIDATES_PER_HOTSPOT = 400; // Scan enough photos while keeping speed reasonable
+        // Per-strategy yields (after GTA/radius clamp) at which paging stops; see FlickrPhotoStream
+        private static final int NAME_SEARCH_TARGET = CANDIDATES_PER_HOTSPOT / 2;
+        private static final int GEO_SEARCH_TARGET = CANDIDATES_PER_HOTSPOT / 4;
         private static final int BLUR_THRESHOLD = 60;
+        /** Stored with each photo_qa row; bump when the detector or threshold changes so old verdicts are redone. */
+        private static final String VISION_MODEL_VERSION = "haar-laplacian@" + BLUR_THRESHOLD;
+        /** Blur-only verdicts from {@link BlurScorer}; no face check ran, so their face columns are NULL. */
+        private static final String BLUR_MODEL_VERSION = "java-laplacian@" + BLUR_THRESHOLD;
+        private static final int VISION_CACHE_MAX_ENTRIES = 50_000;
         private static final int TARGET_PHOTOS_PER_SPOT = 12; // Stop early if we reach this many
-        private static final int PYTHON_TIMEOUT_SECONDS = 45;
+        /** Landmark photos go through vision and insert in batches of this size, so the two overlap. */
+        private static final int VISION_BATCH_SIZE = 50;
 
         private static final String VISION_SCRIPT = Paths.get("tools", "photo_filter", "filter_photos.py").toString();
 
         /** Tags that suggest crowd/event content; we down-rank these in diversity so photogenic shots are preferred. */
 		private static final Set<String> CROWD_EVENT_TAGS = Set.of("people", "crowd", "festival", "event", "parade");
-        // Place ID cache (rounded to 2 decimals)
-        private final Map<String, String> placeIdCache = new HashMap<>();
-        private final RestTemplate restTemplate;
+
+        // Keyword classes for title/tag checks; photos are classified once against these (see KeywordMatcher)
+        private static final long KW_SUSPECT = 1L;
+        private static final long KW_EVENT = 1L << 1;
+        private static final long KW_CROWD_EVENT = 1L << 2;
+        private static final long KW_NIGHT_VIBE = 1L << 3;
+        private static final long KW_SEASONAL = 1L << 4;
+        private static final long KW_STRONG_LOCATION = 1L << 5;
+        /** Diversity pruning order: non-crowd first, then views, resolution and recency (desc), then id. */
+        private static final Comparator<PhotoFeatures> DIVERSITY_ORDER = Comparator
+                .comparingInt((PhotoFeatures f) -> f.crowd() ? 1 : 0)
+                .thenComparing(Comparator.comparingInt(PhotoFeatures::views).reversed())
+                .thenComparing(Comparator.comparingLong(PhotoFeatures::pixels).reversed())
+                .thenComparing(Comparator.comparingLong(PhotoFeatures::dateUpload).reversed())
+                .thenComparing((PhotoFeatures f) -> f.photo().getId());
+        /** Hotspot gallery order: most viewed first, photos with a large rendition ahead on ties. */
+        private static final Comparator<PhotoFeatures> HOTSPOT_PHOTO_ORDER = Comparator
+                .comparingInt(PhotoFeatures::views).reversed()
+                .thenComparingInt((PhotoFeatures f) -> f.largeUrl() ? 0 : 1);
+        private static final KeywordMatcher KEYWORDS = KeywordMatcher.of(Map.of(
+                KW_SUSPECT, SUSPECT_TOKENS,
+                KW_EVENT, EVENT_TOKENS,
+                KW_CROWD_EVENT, CROWD_EVENT_TAGS,
+                KW_NIGHT_VIBE, List.of(NIGHT_VIBE_BUCKET),
+                KW_SEASONAL, List.of(SEASONAL_BUCKET)));
+        private final FlickrClient flickrClient;
 
     private final JdbcTemplate jdbcTemplate;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private final Map<String, VisionResult> visionCache = new HashMap<>();
+    // Shared by all concurrent locations/tiles of a run; photo_qa is the source of truth beyond the cap
+    private final LruCache<String, VisionResult> visionCache = new LruCache<>(VISION_CACHE_MAX_ENTRIES);
+    // Compiled per-location keyword matchers, so a location's photos are classified once across filters
+    private final LruCache<String, KeywordMatcher> locationKeywordCache = new LruCache<>(256);
 
     @Value("${flickr.api-key:}")
     private String flickrApiKey;
@@ -331,14 +510,68 @@ public class FlickrSeedService {
 
     private final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
 
-    public FlickrSeedService(RestTemplate restTemplate, JdbcTemplate jdbcTemplate) {
-        this.restTemplate = restTemplate;
-        this.jdbcTemplate = jdbcTemplate;
+    private final AppProperties appProperties;
+
+    private final String flickrApiBase;
+
+    private final SeedRunService seedRunService;
+
+    private final SeedWatermarkService seedWatermarkService;
+
+    private final FlickrPlaceCache placeCache;
+
+    private final BlurScorer blurScorer;
+
+    private final ImagePrefetcher imagePrefetcher;
+
+    private final PhotoCopyIngestor photoCopyIngestor;
+
+    private final PerceptualHasher perceptualHasher;
+
+    private final Object visionPoolLock = new Object();
+
+    private VisionWorkerPool visionPool;
+
+    public FlickrSeedService(FlickrClient flickrClient, SeedDatabase seedDatabase, AppProperties appProperties,
+                             SeedRunService seedRunService, SeedWatermarkService seedWatermarkService,
+                             FlickrPlaceCache placeCache, BlurScorer blurScorer, ImagePrefetcher imagePrefetcher,
+                             PhotoCopyIngestor photoCopyIngestor, PerceptualHasher perceptualHasher) {
+        this.flickrClient = flickrClient;
+        this.jdbcTemplate = seedDatabase.getJdbcTemplate();
+        this.appProperties = appProperties;
+        this.seedRunService = seedRunService;
+        this.seedWatermarkService = seedWatermarkService;
+        this.placeCache = placeCache;
+        this.blurScorer = blurScorer;
+        this.imagePrefetcher = imagePrefetcher;
+        this.photoCopyIngestor = photoCopyIngestor;
+        this.perceptualHasher = perceptualHasher;
+        this.flickrApiBase = appProperties.getFlickr().getBaseUrl();
+    }
+
+    /** Loads persisted place lookups so cells resolved by earlier runs need no Flickr call; returns the count. */
+    public int preloadPlaceCache() {
+        return placeCache.preload();
     }
 
     public SeedResult seedLocation(TargetLocation location, boolean visionEnabled) throws Exception {
+        return seedLocation(location, visionEnabled, false);
+    }
+
+    /**
+     * Seeds one landmark. With {@code incremental}, strategies that have a stored upload watermark only ask
+     * Flickr for newer photos; either way the newest upload seen per strategy is recorded on success.
+     */
+    public SeedResult seedLocation(TargetLocation location, boolean visionEnabled, boolean incremental) throws Exception {
+        SeedWatermarks watermarks = seedWatermarkService.open("location:" + location.getName(), incremental);
+        SeedResult result = seedLocation(location, visionEnabled, watermarks);
+        watermarks.flush();
+        return result;
+    }
+
+    private SeedResult seedLocation(TargetLocation location, boolean visionEnabled, SeedWatermarks watermarks) throws Exception {
         String apiKey = resolveValue(flickrApiKey, "FLICKR_API_KEY");
-        if (!StringUtils.hasText(apiKey)) {
+        if (!StringUtils.hasText(apiKey) && !flickrClient.isOffline()) {
             throw new Exception("FLICKR_API_KEY is not set in environment");
         }
 
@@ -359,6 +592,11 @@ public class FlickrSeedService {
             Math.max(r * 2, 0.6),                 // Attempt 2: 2x or at least 0.6km
             Math.min(r * 4, 2.0)                  // Attempt 3: 4x but cap at 2.0km; stop there
         };
+        if (watermarks.hasHistory()) {
+            // Incremental refresh: no new photos is the expected outcome, not a reason to widen the radius
+            radiusAttempts = new double[]{r};
+            System.out.println("      ⏱️  Incremental: only photos uploaded since the last run");
+        }
 
         Set<String> seenPhotoIds = new HashSet<>();
         List<FlickrPhoto> allPhotos = new ArrayList<>();
@@ -371,7 +609,6 @@ public class FlickrSeedService {
         String placeId = null;
         if (location.hasCoordinates()) {
             placeId = resolvePlaceIdForLatLon(apiKey, location.getLatitude(), location.getLongitude());
-            rateLimitDelay();
         }
 
         // Select tag buckets for this landmark
@@ -385,6 +622,7 @@ public class FlickrSeedService {
                     attemptRadius,
                     location.getAlternateNames());
 
+            checkCancelled();
             System.out.println("      🔁 Search attempt radiusKm=" + attemptRadius);
             allPhotos.clear();
             seenPhotoIds.clear();
@@ -392,80 +630,105 @@ public class FlickrSeedService {
             int callCount = 0;
             FetchCounters counters = new FetchCounters();
 
+            // Strategies that don't depend on each other are issued together (the shared limiter paces
+            // them); results are merged below in the fixed strategy order so dedupe stays deterministic.
+            String scopedPlaceId = placeId;
+            String scopeNote = scopedPlaceId != null ? " (place_id scoped)" : "";
+
             // ==================== NAME-FIRST ANCHORS (with place scoping) ====================
-            System.out.println("      🔍 [NAME-FIRST] Searching by relevance" + (placeId != null ? " (place_id scoped)" : "") + "...");
-            List<FlickrPhoto> relevancePhotos = clampToGtaAndRadius(attemptLocation, 
-                    searchPhotosWithPlaceScope(apiKey, attemptLocation, "relevance", placeId), counters);
+            System.out.println("      🔍 [NAME-FIRST] Searching by relevance" + scopeNote + "...");
+            FetchCounters relevanceCounters = new FetchCounters();
+            CompletableFuture<List<FlickrPhoto>> relevanceFetch = flickrClient.supplyAsync(
+                    () -> placeScopedStream(apiKey, attemptLocation, "relevance", scopedPlaceId, watermarks.since("name-relevance"))
+                            .collect(page -> observeAndClamp(attemptLocation, page, relevanceCounters, watermarks, "name-relevance"), NAME_SEARCH_TARGET));
+
+            // Cap alt-name searches to 1 when geo-first is enabled (to stay under 6 calls)
+            FetchCounters altCounters = new FetchCounters();
+            CompletableFuture<List<FlickrPhoto>> altFetch = null;
+            if (attemptLocation.getAlternateNames() != null && attemptLocation.getAlternateNames().length > 0) {
+                String altName = attemptLocation.getAlternateNames()[0];
+                System.out.println("      🔄 [NAME-FIRST] Searching alternate name: " + altName);
+                TargetLocation altLocation = new TargetLocation(altName,
+                        attemptLocation.getLatitude(), attemptLocation.getLongitude(), attemptLocation.getRadiusKm());
+                altFetch = flickrClient.supplyAsync(
+                        () -> placeScopedStream(apiKey, altLocation, "relevance", scopedPlaceId, watermarks.since("alt-name"))
+                                .collect(page -> observeAndClamp(attemptLocation, page, altCounters, watermarks, "alt-name"), NAME_SEARCH_TARGET));
+            }
+
+            // ==================== GEO-FIRST DISCOVERY (no text) ====================
+            // For dense downtown (small radius), skip raw geo-interestingness to avoid event/crowd collateral.
+            // Use only name-first + bucket (STREET_ART, NIGHT_VIBE, etc.) for these landmarks.
+            boolean skipRawGeoInteresting = location.getRadiusKm() <= 0.5;
+            FetchCounters geoCounters = new FetchCounters();
+            CompletableFuture<GeoSearchResult> geoFetch = null;
+            if (!skipRawGeoInteresting) {
+                System.out.println("      🌍 [GEO-FIRST] Interestingness search (no text, time-window ladder)...");
+                geoFetch = flickrClient.supplyAsync(
+                        () -> runGeoInterestingnessWithTimeLadder(apiKey, attemptLocation, geoCounters, watermarks));
+            } else {
+                System.out.println("      🌍 [GEO-FIRST] Skipping raw geo-interesting (dense downtown radius " + location.getRadiusKm() + "km); using buckets only.");
+            }
+
+            // Run up to MAX_BUCKETS_PER_ATTEMPT bucket searches
+            List<StrategyFetchTask> bucketFetches = new ArrayList<>();
+            for (String[] bucket : selectedBuckets) {
+                if (bucketFetches.size() >= MAX_BUCKETS_PER_ATTEMPT) {
+                    break;
+                }
+                String bucketName = bucket[0]; // use first tag as bucket name for logging
+                System.out.println("      🏷️ [GEO-FIRST] Tag bucket search: " + bucketName + " (time-window ladder)...");
+                FetchCounters bucketCounters = new FetchCounters();
+                bucketFetches.add(new StrategyFetchTask(bucketName, bucketCounters, flickrClient.supplyAsync(
+                        () -> runGeoTagBucketWithTimeLadder(apiKey, attemptLocation, bucket, bucketCounters, watermarks))));
+            }
+
+            List<FlickrPhoto> relevancePhotos = flickrClient.await(relevanceFetch);
             int relevanceCount = addUniquePhotos(relevancePhotos, allPhotos, seenPhotoIds);
             duplicateCount += Math.max(0, relevancePhotos.size() - relevanceCount);
-            logStrategy("name-relevance", counters, relevancePhotos.size(), relevanceCount, relevancePhotos.size() - relevanceCount);
-            rateLimitDelay();
+            logStrategy("name-relevance", relevanceCounters, relevancePhotos.size(), relevanceCount, relevancePhotos.size() - relevanceCount);
             callCount++;
 
-            // Skip interestingness search if we already have plenty from relevance
+            // Interestingness depends on the relevance yield: skip it if we already have plenty
             if (allPhotos.size() < CANDIDATES_PER_HOTSPOT / 2) {
-                System.out.println("      ⭐ [NAME-FIRST] Searching by interestingness" + (placeId != null ? " (place_id scoped)" : "") + "...");
-                List<FlickrPhoto> interestingPhotos = clampToGtaAndRadius(attemptLocation, 
-                        searchPhotosWithPlaceScope(apiKey, attemptLocation, "interestingness-desc", placeId), counters);
+                System.out.println("      ⭐ [NAME-FIRST] Searching by interestingness" + scopeNote + "...");
+                List<FlickrPhoto> interestingPhotos = placeScopedStream(apiKey, attemptLocation, "interestingness-desc", scopedPlaceId, watermarks.since("name-interesting"))
+                        .collect(page -> observeAndClamp(attemptLocation, page, counters, watermarks, "name-interesting"), NAME_SEARCH_TARGET - allPhotos.size());
                 int interestingCount = addUniquePhotos(interestingPhotos, allPhotos, seenPhotoIds);
                 duplicateCount += Math.max(0, interestingPhotos.size() - interestingCount);
                 logStrategy("name-interesting", counters, interestingPhotos.size(), interestingCount, interestingPhotos.size() - interestingCount);
-                rateLimitDelay();
                 callCount++;
             } else {
                 System.out.println("      ⏩ Skipping interestingness search - already have " + allPhotos.size() + " candidates");
             }
 
-            // Cap alt-name searches to 1 when geo-first is enabled (to stay under 6 calls)
-            if (attemptLocation.getAlternateNames() != null && attemptLocation.getAlternateNames().length > 0) {
-                String altName = attemptLocation.getAlternateNames()[0];
-                System.out.println("      🔄 [NAME-FIRST] Searching alternate name: " + altName);
-                TargetLocation altLocation = new TargetLocation(altName,
-                        attemptLocation.getLatitude(), attemptLocation.getLongitude(), attemptLocation.getRadiusKm());
-                List<FlickrPhoto> altPhotos = clampToGtaAndRadius(attemptLocation, 
-                        searchPhotosWithPlaceScope(apiKey, altLocation, "relevance", placeId), counters);
+            if (altFetch != null) {
+                List<FlickrPhoto> altPhotos = flickrClient.await(altFetch);
                 int altCount = addUniquePhotos(altPhotos, allPhotos, seenPhotoIds);
                 duplicateCount += Math.max(0, altPhotos.size() - altCount);
-                logStrategy("alt-name", counters, altPhotos.size(), altCount, altPhotos.size() - altCount);
-                rateLimitDelay();
+                logStrategy("alt-name", altCounters, altPhotos.size(), altCount, altPhotos.size() - altCount);
                 callCount++;
             }
 
-            // ==================== GEO-FIRST DISCOVERY (no text) ====================
-            // For dense downtown (small radius), skip raw geo-interestingness to avoid event/crowd collateral.
-            // Use only name-first + bucket (STREET_ART, NIGHT_VIBE, etc.) for these landmarks.
-            boolean skipRawGeoInteresting = location.getRadiusKm() <= 0.5;
-            if (callCount < 6 && !skipRawGeoInteresting) {
-                System.out.println("      🌍 [GEO-FIRST] Interestingness search (no text, time-window ladder)...");
-                GeoSearchResult geoInteresting = runGeoInterestingnessWithTimeLadder(apiKey, attemptLocation, counters);
+            if (geoFetch != null) {
+                GeoSearchResult geoInteresting = flickrClient.await(geoFetch);
                 int geoIntCount = addUniquePhotos(geoInteresting.photos, allPhotos, seenPhotoIds);
                 duplicateCount += Math.max(0, geoInteresting.photos.size() - geoIntCount);
-                logStrategy("geo-interesting[" + geoInteresting.timeWindow + "]", counters, geoInteresting.photos.size(), geoIntCount, geoInteresting.photos.size() - geoIntCount);
-                rateLimitDelay();
+                logStrategy("geo-interesting[" + geoInteresting.timeWindow + "]", geoCounters, geoInteresting.photos.size(), geoIntCount, geoInteresting.photos.size() - geoIntCount);
                 callCount++;
-            } else if (skipRawGeoInteresting && callCount < 6) {
-                System.out.println("      🌍 [GEO-FIRST] Skipping raw geo-interesting (dense downtown radius " + location.getRadiusKm() + "km); using buckets only.");
             }
 
-            // Run up to MAX_BUCKETS_PER_ATTEMPT bucket searches if we have room
-            int bucketsRun = 0;
-            for (String[] bucket : selectedBuckets) {
-                if (callCount >= 6 || bucketsRun >= MAX_BUCKETS_PER_ATTEMPT) {
-                    break;
-                }
-                String bucketName = bucket[0]; // use first tag as bucket name for logging
-                System.out.println("      🏷️ [GEO-FIRST] Tag bucket search: " + bucketName + " (time-window ladder)...");
-                GeoSearchResult bucketResult = runGeoTagBucketWithTimeLadder(apiKey, attemptLocation, bucket, counters);
+            for (StrategyFetchTask bucketFetch : bucketFetches) {
+                GeoSearchResult bucketResult = flickrClient.await(bucketFetch.result);
                 int bucketCount = addUniquePhotos(bucketResult.photos, allPhotos, seenPhotoIds);
                 duplicateCount += Math.max(0, bucketResult.photos.size() - bucketCount);
-                logStrategy("geo-bucket[" + bucketName + "," + bucketResult.timeWindow + "]", counters, bucketResult.photos.size(), bucketCount, bucketResult.photos.size() - bucketCount);
-                rateLimitDelay();
+                logStrategy("geo-bucket[" + bucketFetch.name + "," + bucketResult.timeWindow + "]", bucketFetch.counters, bucketResult.photos.size(), bucketCount, bucketResult.photos.size() - bucketCount);
                 callCount++;
-                bucketsRun++;
             }
 
             System.out.println("      📊 Total API calls this attempt: " + callCount);
 
+            // Strategies cut short by a cancel come back empty; never store (or widen the radius on) that
+            checkCancelled();
             totalFetched = allPhotos.size();
 
             if (totalFetched == 0) {
@@ -502,7 +765,7 @@ public class FlickrSeedService {
             System.out.println("         After diversity pruning: " + diversePhotos.size() + " photos (from " + filtered.qualityPhotos.size() + ")");
 
             System.out.println("      💾 Upserting landmark and photos...");
-            outcome = upsertLocationHierarchy(attemptLocation, diversePhotos, visionEnabled);
+            outcome = upsertLocationHierarchy(attemptLocation, diversePhotos, visionEnabled, watermarks.hasHistory());
             int failedInsert = outcome.failedPhotoInserts;
             System.out.println("      🧠 Vision rejections — portraits: " + outcome.portraitRejects + ", blurry: " + outcome.blurryRejects);
             System.out.println("      📊 Counts — filtered:" + diversePhotos.size() +
@@ -538,99 +801,143 @@ public class FlickrSeedService {
     }
 
     public SeedResult seedArea(AreaConfig area, boolean visionEnabled) throws Exception {
+        return seedArea(area, visionEnabled, null, false);
+    }
+
+    /**
+     * Seeds an area; with a {@code run}, each tile's merged candidates are checkpointed so a resumed run
+     * restores finished tiles instead of searching them again. {@code incremental} works per tile as in
+     * {@link #seedLocation(TargetLocation, boolean, boolean)}.
+     */
+    public SeedResult seedArea(AreaConfig area, boolean visionEnabled, SeedRunService.SeedRun run, boolean incremental) throws Exception {
         String apiKey = resolveValue(flickrApiKey, "FLICKR_API_KEY");
-        if (!StringUtils.hasText(apiKey)) {
+        if (!StringUtils.hasText(apiKey) && !flickrClient.isOffline()) {
             throw new Exception("FLICKR_API_KEY is not set in environment");
         }
 
         System.out.println("   🗺️  Area mode: " + area.getName() + " (key=" + area.getKey() + ")");
 
-        List<TargetLocation> tiles = buildTiles(area);
-        System.out.println("   🔲 Tiles generated: " + tiles.size());
+        List<SeedWatermarks> tileWatermarks = new ArrayList<>();
+        SeedWatermarks probeWatermarks = seedWatermarkService.open("area:" + area.getKey() + ":quadtree", incremental);
+        tileWatermarks.add(probeWatermarks);
+        // A resumed run keeps the tiling its quad checkpoints were made against, even if Flickr's counts moved
+        QuadPlan plan = restoreQuadPlan(run, area, probeWatermarks);
+        if (plan == null) {
+            plan = planAreaQuads(apiKey, area, probeWatermarks);
+            // Probes cut short by a cancel would plan the wrong tree
+            checkCancelled();
+            saveQuadPlan(run, area, plan);
+        }
+        List<QuadLeaf> tiles = plan.leaves;
+        long saturatedLeaves = tiles.stream().filter(leaf -> leaf.saturated).count();
+        System.out.println("   🔲 Quadtree tiles: " + tiles.size() + " (" + saturatedLeaves + " dense) from "
+                + plan.probes + " bbox probes" + (plan.restored ? " (restored from checkpoint)" : "") + ", max depth "
+                + tiles.stream().mapToInt(leaf -> leaf.quad.getDepth()).max().orElse(0));
 
         Set<String> seenPhotoIds = new HashSet<>();
         List<FlickrPhoto> allFiltered = new ArrayList<>();
-        int duplicateCount = 0;
-        int totalFetched = 0;
-        int totalMissingGeo = 0;
-        int totalMissingUrl = 0;
-
-        int tileIdx = 0;
-        for (TargetLocation tile : tiles) {
-            tileIdx++;
-            System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-            System.out.println("   🧭 Tile " + tileIdx + "/" + tiles.size() + " — " + tile.getName());
+        PipelineTotals totals = new PipelineTotals();
+        totals.fetched = plan.splitFetched;
+
+        List<Integer> tileIndexes = new ArrayList<>();
+        List<SeedWatermarks> leafWatermarks = new ArrayList<>();
+        for (int i = 0; i < tiles.size(); i++) {
+            QuadLeaf leaf = tiles.get(i);
+            tileIndexes.add(i);
+            SeedWatermarks watermarks = null;
+            if (leaf.saturated && (run == null || !run.isCompleted(quadItemKey(leaf.quad)))) {
+                watermarks = seedWatermarkService.open("area:" + area.getKey() + ":" + quadItemKey(leaf.quad), incremental);
+                tileWatermarks.add(watermarks);
+            }
+            leafWatermarks.add(watermarks);
+        }
+
+        // Only dense leaves need more calls. Their searches run on tile-concurrency workers (paced by the
+        // shared Flickr limiter) while earlier tiles are merged and filtered; merging happens in tile order
+        // so dedupe, filtering and logging behave exactly as a sequential run would.
+        SeedPipeline.Report tileReport = SeedPipeline.over(area.getKey() + " tiles", tileIndexes, appProperties.getSeed().getPipelineQueueCapacity())
+                .then("fetch", appProperties.getSeed().getTileConcurrency(), i -> {
+                    checkCancelled();
+                    QuadLeaf leaf = tiles.get(i);
+                    if (run != null && run.isCompleted(quadItemKey(leaf.quad))) {
+                        return null;
+                    }
+                    List<StrategyFetch> fetches = new ArrayList<>();
+                    fetches.add(new StrategyFetch("quad-probe[total=" + leaf.total + "]", leaf.photos, leaf.counters));
+                    if (leaf.saturated) {
+                        fetches.addAll(fetchTile(apiKey, leaf.quad, i + 1, leafWatermarks.get(i)));
+                    }
+                    return fetches;
+                })
+                .drain("filter", fetches -> {
+                    int i = totals.items++;
+                    TargetLocation tile = tiles.get(i).quad;
+                    String tileKey = quadItemKey(tiles.get(i).quad);
+                    System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+                    System.out.println("   🧭 Tile " + (i + 1) + "/" + tiles.size() + " — " + tile.getName());
+
+                    if (fetches == null) {
+                        SeedResult saved = run.getResult(tileKey);
+                        TileCheckpoint checkpoint = objectMapper.readValue(run.getPayload(tileKey), TileCheckpoint.class);
+                        seenPhotoIds.addAll(checkpoint.seenIds);
+                        allFiltered.addAll(checkpoint.photos);
+                        totals.fetched += saved.getTotalFetched();
+                        totals.duplicates += saved.getDuplicateCount();
+                        totals.missingGeo += saved.getMissingGeo();
+                        totals.missingUrl += saved.getMissingUrl();
+                        System.out.println("   ⏭️  Restored from checkpoint — filtered:" + checkpoint.photos.size());
+                        return true;
+                    }
 
-            FetchCounters counters = new FetchCounters();
-            List<FlickrPhoto> tilePhotos = new ArrayList<>();
-
-            int tileFetchedTotal = 0;
-            int tileRadiusKeptTotal = 0;
-            int tileUniqueAdded = 0;
-            int tileCallCount = 0;
-
-            // Query A: geo-only interestingness with time-window ladder (no text)
-            System.out.println("      🌍 [GEO-FIRST] Interestingness (time-window ladder)...");
-            GeoSearchResult geoInteresting = runGeoInterestingnessWithTimeLadder(apiKey, tile, counters);
-            tileFetchedTotal += counters.fetched;
-            tileRadiusKeptTotal += geoInteresting.photos.size();
-            int interestingAdded = addUniquePhotos(geoInteresting.photos, tilePhotos, seenPhotoIds);
-            tileUniqueAdded += interestingAdded;
-            duplicateCount += Math.max(0, geoInteresting.photos.size() - interestingAdded);
-            logStrategy("geo-interesting[" + geoInteresting.timeWindow + "]", counters, geoInteresting.photos.size(), interestingAdded, geoInteresting.photos.size() - interestingAdded);
-            rateLimitDelay();
-            tileCallCount++;
-
-            // Query B: deterministic bucket rotation based on tile index (1-2 bucket searches)
-            String[] bucket1 = selectBucketForTile(tileIdx - 1);
-            String bucket1Name = bucket1[0];
-            System.out.println("      🏷️ [GEO-FIRST] Tag bucket: " + bucket1Name + " (tile rotation)...");
-            GeoSearchResult bucketResult1 = runGeoTagBucketWithTimeLadder(apiKey, tile, bucket1, counters);
-            tileFetchedTotal += counters.fetched;
-            tileRadiusKeptTotal += bucketResult1.photos.size();
-            int bucket1Added = addUniquePhotos(bucketResult1.photos, tilePhotos, seenPhotoIds);
-            tileUniqueAdded += bucket1Added;
-            duplicateCount += Math.max(0, bucketResult1.photos.size() - bucket1Added);
-            logStrategy("geo-bucket[" + bucket1Name + "," + bucketResult1.timeWindow + "]", counters, bucketResult1.photos.size(), bucket1Added, bucketResult1.photos.size() - bucket1Added);
-            rateLimitDelay();
-            tileCallCount++;
-
-            // Optional second bucket (keep under 3 calls per tile)
-            if (tileCallCount < 3) {
-                String[] bucket2 = selectBucketForTile(tileIdx + ALL_BUCKETS.length / 2);
-                if (!bucket2[0].equals(bucket1[0])) {
-                    String bucket2Name = bucket2[0];
-                    System.out.println("      🏷️ [GEO-FIRST] Tag bucket: " + bucket2Name + " (second bucket)...");
-                    GeoSearchResult bucketResult2 = runGeoTagBucketWithTimeLadder(apiKey, tile, bucket2, counters);
-                    tileFetchedTotal += counters.fetched;
-                    tileRadiusKeptTotal += bucketResult2.photos.size();
-                    int bucket2Added = addUniquePhotos(bucketResult2.photos, tilePhotos, seenPhotoIds);
-                    tileUniqueAdded += bucket2Added;
-                    duplicateCount += Math.max(0, bucketResult2.photos.size() - bucket2Added);
-                    logStrategy("geo-bucket[" + bucket2Name + "," + bucketResult2.timeWindow + "]", counters, bucketResult2.photos.size(), bucket2Added, bucketResult2.photos.size() - bucket2Added);
-                    rateLimitDelay();
-                    tileCallCount++;
-                }
-            }
+                    // A tile whose searches were cut short must not be checkpointed as done
+                    checkCancelled();
+                    List<FlickrPhoto> tilePhotos = new ArrayList<>();
+                    int tileFetchedTotal = 0;
+                    int tileRadiusKeptTotal = 0;
+                    int tileUniqueAdded = 0;
+                    int tileDuplicates = 0;
+
+                    for (StrategyFetch fetch : fetches) {
+                        tileFetchedTotal += fetch.counters.fetched;
+                        tileRadiusKeptTotal += fetch.photos.size();
+                        int added = addUniquePhotos(fetch.photos, tilePhotos, seenPhotoIds);
+                        tileUniqueAdded += added;
+                        tileDuplicates += Math.max(0, fetch.photos.size() - added);
+                        logStrategy(fetch.label, fetch.counters, fetch.photos.size(), added, fetch.photos.size() - added);
+                    }
 
-            System.out.println("      📊 Tile API calls: " + tileCallCount);
+                    System.out.println("      📊 Tile searches: " + fetches.size());
 
-            totalFetched += tileFetchedTotal;
+                    totals.fetched += tileFetchedTotal;
+                    totals.duplicates += tileDuplicates;
 
-            FilterOutcome tileFiltered = filterForQuality(tile, tilePhotos);
-            totalMissingGeo += tileFiltered.missingGeo;
-            totalMissingUrl += tileFiltered.missingUrl;
-            allFiltered.addAll(tileFiltered.qualityPhotos);
+                    FilterOutcome tileFiltered = filterForQuality(tile, tilePhotos);
+                    totals.missingGeo += tileFiltered.missingGeo;
+                    totals.missingUrl += tileFiltered.missingUrl;
+                    allFiltered.addAll(tileFiltered.qualityPhotos);
 
-            System.out.println("   📊 Tile summary — fetched:" + tileFetchedTotal +
-                    " radius-kept:" + tileRadiusKeptTotal +
-                    " unique-added:" + tileUniqueAdded +
-                    " filtered:" + tileFiltered.qualityPhotos.size());
-        }
+                    if (run != null) {
+                        TileCheckpoint checkpoint = new TileCheckpoint();
+                        checkpoint.seenIds = tilePhotos.stream().map(FlickrPhoto::getId).collect(Collectors.toList());
+                        checkpoint.photos = tileFiltered.qualityPhotos;
+                        seedRunService.complete(run, tileKey,
+                                new SeedResult(tile.getName(), tileFetchedTotal, tileFiltered.qualityPhotos.size(), 0, 0, 0,
+                                        tileFiltered.missingGeo, tileFiltered.missingUrl, tileDuplicates, 0, 0, 0),
+                                objectMapper.writeValueAsString(checkpoint));
+                    }
 
+                    System.out.println("   📊 Tile summary — fetched:" + tileFetchedTotal +
+                            " radius-kept:" + tileRadiusKeptTotal +
+                            " unique-added:" + tileUniqueAdded +
+                            " filtered:" + tileFiltered.qualityPhotos.size());
+                    return true;
+                });
+        tileReport.print("   ");
+        checkCancelled();
         if (allFiltered.isEmpty()) {
             System.out.println("   ⚠️ Area yielded 0 filtered photos");
-            return new SeedResult(area.getName(), totalFetched, 0, 0, 0, 0, totalMissingGeo, totalMissingUrl, duplicateCount, 0, 0, 0);
+            tileWatermarks.forEach(SeedWatermarks::flush);
+            return new SeedResult(area.getName(), totals.fetched, 0, 0, 0, 0, totals.missingGeo, totals.missingUrl, totals.duplicates, 0, 0, 0);
         }
 
         // Apply diversity pruning for areas
@@ -646,66 +953,68 @@ public class FlickrSeedService {
                            (diversePhotos.size() < 150 ? 2 : MIN_PHOTOS_PER_HOTSPOT) + " photos per cluster)");
 
         int photospotUpserts = 0;
-        int totalInserted = 0;
-        int totalAttempted = 0;
-        int totalConflicts = 0;
-        int totalFailed = 0;
-        int totalPortraitRejected = 0;
-        int totalBlurryRejected = 0;
 
         if (clusters.isEmpty()) {
             System.out.println("      ⚠️  No clusters formed (photos too dispersed or insufficient per location)");
         } else {
             // Create nameless photo spots and insert photos for each cluster
-            Map<String, UUID> photospotIds = upsertPhotoSpots(area, clusters);
+            Map<String, UUID> photospotIds = upsertPhotoSpots(area, clusters, probeWatermarks.hasHistory());
             photospotUpserts = photospotIds.size();
             System.out.println("      ✅ Created " + photospotUpserts + " photo spots");
 
-            int clusterIdx = 0;
-            for (Map.Entry<String, UUID> entry : photospotIds.entrySet()) {
-                clusterIdx++;
-                String clusterKey = entry.getKey();
-                UUID photospotId = entry.getValue();
-                List<FlickrPhoto> clusterPhotos = clusters.get(clusterKey);
-
-                // Apply vision filtering to cluster photos
-                VisionOutcome clusterVision = applyVisionFilteringToList(clusterPhotos, visionEnabled);
-                InsertStats clusterStats = insertPhotosForLandmark(photospotId, clusterVision.filteredPhotos, clusterVision.qaByPhotoKey);
-
-                totalInserted += clusterStats.inserted;
-                totalAttempted += clusterStats.attempted;
-                totalConflicts += clusterStats.conflicts;
-                totalFailed += clusterStats.failed;
-                totalPortraitRejected += clusterVision.portraitRejected;
-                totalBlurryRejected += clusterVision.blurryRejected;
-
-                System.out.println("         Photo spot " + clusterIdx + "/" + photospotUpserts + ": " + 
-                                   clusterStats.inserted + " photos inserted (from " + clusterPhotos.size() + " candidates)");
-                
-                // Early exit if we've inserted enough photos
-                if (totalInserted >= TARGET_PHOTOS_PER_SPOT) {
-                    System.out.println("      ⏩ Reached target of " + TARGET_PHOTOS_PER_SPOT + " photos, stopping early");
-                    break;
-                }
-            }
+            // Near-duplicate checks and vision for later spots run while earlier ones are inserted; inserts
+            // happen in spot order, so the early stop below lands on the same spot every run
+            List<ClusterWork> work = new ArrayList<>();
+            photospotIds.forEach((clusterKey, photospotId) ->
+                    work.add(new ClusterWork(work.size() + 1, photospotId, clusters.get(clusterKey))));
+            int spotCount = photospotUpserts;
+            SeedPipeline.Report spotReport = SeedPipeline.over(area.getKey() + " spots", work, appProperties.getSeed().getPipelineQueueCapacity())
+                    .then("dedupe", appProperties.getSeed().getDedupeConcurrency(), spot -> {
+                        // Drop near-duplicate frames, then apply vision filtering to what is left
+                        spot.distinct = suppressNearDuplicates(spot.spotId, spot.candidates);
+                        return spot;
+                    })
+                    .then("vision", appProperties.getSeed().getVisionConcurrency(), spot -> {
+                        spot.vision = applyVisionFilteringToList(spot.distinct, visionEnabled);
+                        return spot;
+                    })
+                    .drain("insert", spot -> {
+                        InsertStats clusterStats = insertPhotosForLandmark(spot.spotId, spot.vision.filteredPhotos, spot.vision.qaByPhotoKey);
+                        totals.add(clusterStats);
+                        totals.add(spot.vision);
+
+                        System.out.println("         Photo spot " + spot.index + "/" + spotCount + ": " +
+                                           clusterStats.inserted + " photos inserted (from " + spot.candidates.size() + " candidates)");
+
+                        // Early exit if we've inserted enough photos
+                        if (totals.inserted >= TARGET_PHOTOS_PER_SPOT) {
+                            System.out.println("      ⏩ Reached target of " + TARGET_PHOTOS_PER_SPOT + " photos, stopping early");
+                            return false;
+                        }
+                        return true;
+                    });
+            spotReport.print("      ");
         }
 
         System.out.println("   📈 Area summary — total clusters:" + clusters.size() +
             " photo spots created:" + photospotUpserts);
-        System.out.println("   🧠 Vision rejections — portraits: " + totalPortraitRejected + ", blurry: " + totalBlurryRejected);
+        System.out.println("   🧠 Vision rejections — portraits: " + totals.portraitRejected + ", blurry: " + totals.blurryRejected);
         System.out.println("   ✅ Area complete — " +
-                " attempted:" + totalAttempted +
-                " inserted:" + totalInserted +
-                " conflict-skipped:" + totalConflicts +
-                " failed:" + totalFailed);
+                " attempted:" + totals.attempted +
+                " inserted:" + totals.inserted +
+                " conflict-skipped:" + totals.conflicts +
+                " failed:" + totals.failed);
+
+        // Only advance watermarks once the photos they cover are stored
+        tileWatermarks.forEach(SeedWatermarks::flush);
 
-        return new SeedResult(area.getName(), totalFetched, diversePhotos.size(), totalInserted, 0,
-                photospotUpserts, totalMissingGeo, totalMissingUrl, duplicateCount, totalConflicts, totalFailed, totalAttempted);
+        return new SeedResult(area.getName(), totals.fetched, diversePhotos.size(), totals.inserted, 0,
+                photospotUpserts, totals.missingGeo, totals.missingUrl, totals.duplicates, totals.conflicts, totals.failed, totals.attempted);
     }
 
     private List<FlickrPhoto> searchPhotosGeo(String apiKey, TargetLocation location, String sortOrder) {
         try {
-            StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+            StringBuilder url = new StringBuilder(flickrApiBase);
             url.append("?method=flickr.photos.search");
             url.append("&api_key=").append(apiKey);
             url.append("&sort=").append(sortOrder);
@@ -728,7 +1037,7 @@ public class FlickrSeedService {
                 url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
             }
 
-            FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+            FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
             if (response == null || !"ok".equals(response.getStat())) {
                 System.err.println("         ⚠️ Flickr API error for geo search sort=" + sortOrder);
                 return new ArrayList<>();
@@ -751,7 +1060,7 @@ public class FlickrSeedService {
 
         private List<FlickrPhoto> searchPhotosGeoWithTags(String apiKey, TargetLocation location, String sortOrder, String tags) {
 		    try {
-		        StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+		        StringBuilder url = new StringBuilder(flickrApiBase);
 		        url.append("?method=flickr.photos.search");
 		        url.append("&api_key=").append(apiKey);
 		        url.append("&sort=").append(sortOrder);
@@ -779,7 +1088,7 @@ public class FlickrSeedService {
 		            url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
 		        }
 
-		        FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+		        FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
 		        if (response == null || !"ok".equals(response.getStat())) {
 		            System.err.println("         ⚠️ Flickr API error for tagged geo search sort=" + sortOrder);
 		            return new ArrayList<>();
@@ -801,7 +1110,7 @@ public class FlickrSeedService {
 		}
     private List<FlickrPhoto> searchPhotos(String apiKey, TargetLocation location, String sortOrder) {
 	    try {
-	        StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+	        StringBuilder url = new StringBuilder(flickrApiBase);
 	        url.append("?method=flickr.photos.search");
 	        url.append("&api_key=").append(apiKey);
 	        url.append("&text=").append(URLEncoder.encode(buildLocalText(location), StandardCharsets.UTF_8));
@@ -825,7 +1134,7 @@ public class FlickrSeedService {
 	            url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
 	        }
 
-	        FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+	        FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
 	        if (response == null || !"ok".equals(response.getStat())) {
 	            System.err.println("         ⚠️ Flickr API error for " + location.getName());
 	            return new ArrayList<>();
@@ -843,7 +1152,7 @@ public class FlickrSeedService {
 
     private List<FlickrPhoto> searchGroup(String apiKey, TargetLocation location, String groupId) {
 	    try {
-	        StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+	        StringBuilder url = new StringBuilder(flickrApiBase);
 	        url.append("?method=flickr.photos.search");
 	        url.append("&api_key=").append(apiKey);
 	        url.append("&group_id=").append(groupId);
@@ -866,7 +1175,7 @@ public class FlickrSeedService {
 	            url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
 	        }
 
-	        FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+	        FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
 	        if (response == null || !"ok".equals(response.getStat())) {
 	            return new ArrayList<>();
 	        }
@@ -896,7 +1205,7 @@ public class FlickrSeedService {
         int missingUrl = 0;
         int suspectRejects = 0;
 
-        Set<String> strongLocationTokens = buildStrongLocationTokens(location);
+        KeywordMatcher keywords = locationKeywords(location);
 
         for (FlickrPhoto photo : photos) {
             if (!photo.hasValidGeo()) {
@@ -912,11 +1221,10 @@ public class FlickrSeedService {
                 missingUrl++;
                 continue;
             }
-            Set<String> photoTokens = new HashSet<>();
-            photoTokens.addAll(tokenize(photo.getTitle()));
-            photoTokens.addAll(tokenize(photo.getTags()));
+            long photoKeywords = keywords.classify(photo);
+            boolean hasStrongLocationToken = (photoKeywords & KW_STRONG_LOCATION) != 0;
 
-            if (isSuspectSubject(photoTokens, strongLocationTokens)) {
+            if (isSuspectSubject(photoKeywords)) {
                 suspectRejects++;
                 continue;
             }
@@ -925,17 +1233,19 @@ public class FlickrSeedService {
                 double distanceMeters = haversineMeters(
                     location.getLatitude(), location.getLongitude(),
                     photo.getLatitude(), photo.getLongitude());
-                if (distanceMeters > MAX_DISTANCE_METERS_NO_TOKEN) {
-                    boolean hasStrongLocationToken = photoTokens.stream().anyMatch(strongLocationTokens::contains);
+                // Anything inside an area quad is in scope; the gate only applies around a point target
+                double noTokenLimit = location instanceof AreaQuad quad
+                    ? Math.max(MAX_DISTANCE_METERS_NO_TOKEN, quad.halfDiagonalMeters())
+                    : MAX_DISTANCE_METERS_NO_TOKEN;
+                if (distanceMeters > noTokenLimit) {
                     if (!hasStrongLocationToken) {
                         suspectRejects++;
                         continue;
                     }
                 }
                 // Reject event/crowd photos unless they're very close and strongly tagged to the landmark.
-                boolean hasEventToken = photoTokens.stream().anyMatch(EVENT_TOKENS::contains);
+                boolean hasEventToken = (photoKeywords & KW_EVENT) != 0;
                 if (hasEventToken) {
-                    boolean hasStrongLocationToken = photoTokens.stream().anyMatch(strongLocationTokens::contains);
                     boolean isDenseDowntown = location.getRadiusKm() <= 0.5;
                     if (!hasStrongLocationToken || distanceMeters > MAX_EVENT_DISTANCE_METERS || isDenseDowntown) {
                         suspectRejects++;
@@ -949,35 +1259,98 @@ public class FlickrSeedService {
         return new FilterOutcome(filtered, missingGeo, missingUrl, 0, suspectRejects);
     }
 
+    /**
+     * Upserts the landmark and inserts its photos. {@code incremental} runs only see photos uploaded since
+     * the last run, so they keep an existing landmark's center, cover, score and description rather than
+     * recomputing them from that handful.
+     */
     @Transactional
-    private UpsertOutcome upsertLocationHierarchy(TargetLocation location, List<FlickrPhoto> qualityPhotos, boolean visionEnabled) {
+    private UpsertOutcome upsertLocationHierarchy(TargetLocation location, List<FlickrPhoto> qualityPhotos, boolean visionEnabled,
+                                                  boolean incremental) throws Exception {
         String placeSlug = slugify(location.getName());
         double[] center = determineCenter(location, qualityPhotos);
         FlickrPhoto coverPhoto = selectCoverPhoto(location, qualityPhotos);
         String coverUrl = chooseDisplayUrl(coverPhoto != null ? coverPhoto : qualityPhotos.get(0));
 
-        UUID landmarkId = upsertLandmark(location, placeSlug, center[0], center[1], coverUrl, qualityPhotos.size());
+        UUID landmarkId = upsertLandmark(location, placeSlug, center[0], center[1], coverUrl, qualityPhotos.size(), incremental);
         int landmarkUpserts = landmarkId != null ? 1 : 0;
 
         if (landmarkId == null) {
             return new UpsertOutcome(0, 0, 0, 0, 0, 0, 0, 0, false);
         }
 
-        // Apply vision filtering before inserting photos
-        VisionOutcome visionOutcome = applyVisionFilteringToList(qualityPhotos, visionEnabled);
-
-        InsertStats insertStats = insertPhotosForLandmark(landmarkId, visionOutcome.filteredPhotos, visionOutcome.qaByPhotoKey);
-
-        return new UpsertOutcome(insertStats.inserted, landmarkUpserts, 0, insertStats.attempted,
-            insertStats.conflicts, insertStats.failed, visionOutcome.portraitRejected, visionOutcome.blurryRejected, false);
-    }
+        // Drop near-duplicate frames, then vision-filter and insert in batches: one batch is written while
+        // the next is analysed. Which photos get analysed is decided over the whole set, as before.
+        List<FlickrPhoto> distinctPhotos = suppressNearDuplicates(landmarkId, qualityPhotos);
+        Set<String> visionCandidates = visionCandidateIds(distinctPhotos);
+        List<List<FlickrPhoto>> batches = new ArrayList<>();
+        for (int i = 0; i < distinctPhotos.size(); i += VISION_BATCH_SIZE) {
+            batches.add(distinctPhotos.subList(i, Math.min(distinctPhotos.size(), i + VISION_BATCH_SIZE)));
+        }
 
-    private UUID upsertLandmark(TargetLocation location, String placeSlug, double lat, double lng, String coverUrl, int photoCount) {
+        PipelineTotals totals = new PipelineTotals();
+        SeedPipeline.Report report = SeedPipeline.over(location.getName(), batches, appProperties.getSeed().getPipelineQueueCapacity())
+                .then("vision", appProperties.getSeed().getVisionConcurrency(),
+                        batch -> applyVisionFilteringToList(batch, visionEnabled, visionCandidates))
+                .drain("insert", vision -> {
+                    List<PhotoCopyIngestor.Row> rows = new ArrayList<>();
+                    for (FlickrPhoto photo : vision.filteredPhotos) {
+                        rows.add(toIngestRow(landmarkId, photo, vision.qaByPhotoKey));
+                    }
+                    totals.add(ingestPhotos(rows));
+                    totals.add(vision);
+                    return true;
+                });
+        backfillPhotoGeoForSpot(landmarkId);
+        report.print("      ");
+
+        return new UpsertOutcome(totals.inserted, landmarkUpserts, 0, totals.attempted,
+            totals.conflicts, totals.failed, totals.portraitRejected, totals.blurryRejected, false);
+    }
+
+    private static final String SPOT_UPSERT_ROWS =
+            "FROM unnest(?::text[], ?::float8[], ?::float8[], ?::text[], ?::uuid[], ?::text[], ?::text[]) " +
+            "AS u(name, lat, lng, source_id, parent_spot_id, description, photo_url) ";
+
+    private static final String HOTSPOT_UPSERT_SQL =
+            "INSERT INTO spots (name, lat, lng, geom, source, source_id, categories, parent_spot_id, description, photo_url) " +
+            "SELECT u.name, u.lat, u.lng, ST_SetSRID(ST_MakePoint(u.lng, u.lat), 4326), 'flickr', u.source_id, " +
+            "ARRAY['hotspot'], u.parent_spot_id, u.description, u.photo_url " +
+            SPOT_UPSERT_ROWS +
+            "ON CONFLICT (source, source_id) DO UPDATE SET " +
+            "name = EXCLUDED.name, lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
+            "categories = EXCLUDED.categories, parent_spot_id = EXCLUDED.parent_spot_id, description = EXCLUDED.description, photo_url = EXCLUDED.photo_url " +
+            "RETURNING source_id, id";
+
+    private static final String PHOTOSPOT_UPSERT_SQL =
+            "INSERT INTO spots (name, lat, lng, geom, source, source_id, categories, description, photo_url) " +
+            "SELECT NULL, u.lat, u.lng, ST_SetSRID(ST_MakePoint(u.lng, u.lat), 4326), 'flickr', u.source_id, " +
+            "ARRAY['photospot'], u.description, u.photo_url " +
+            SPOT_UPSERT_ROWS +
+            "ON CONFLICT (source, source_id) DO UPDATE SET " +
+            "lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
+            "categories = EXCLUDED.categories, description = EXCLUDED.description, photo_url = EXCLUDED.photo_url " +
+            "RETURNING source_id, id";
+
+    // Incremental runs: a cluster of new photos only creates spots; existing ones keep their stored metadata
+    private static final String PHOTOSPOT_INSERT_SQL =
+            "INSERT INTO spots (name, lat, lng, geom, source, source_id, categories, description, photo_url) " +
+            "SELECT NULL, u.lat, u.lng, ST_SetSRID(ST_MakePoint(u.lng, u.lat), 4326), 'flickr', u.source_id, " +
+            "ARRAY['photospot'], u.description, u.photo_url " +
+            SPOT_UPSERT_ROWS +
+            "ON CONFLICT (source, source_id) DO UPDATE SET source_id = spots.source_id " +
+            "RETURNING source_id, id";
+
+    private UUID upsertLandmark(TargetLocation location, String placeSlug, double lat, double lng, String coverUrl, int photoCount,
+                                boolean incremental) {
+        // An incremental run's photoCount is just the new uploads: never let it lower the score or move the landmark
+        String onConflict = incremental
+                ? "name = EXCLUDED.name, score = GREATEST(spots.score, EXCLUDED.score), categories = EXCLUDED.categories "
+                : "name = EXCLUDED.name, lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
+                  "photo_url = EXCLUDED.photo_url, score = EXCLUDED.score, categories = EXCLUDED.categories, description = EXCLUDED.description ";
         String sql = "INSERT INTO spots (name, lat, lng, geom, photo_url, source, source_id, score, categories, description) " +
                 "VALUES (?, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326), ?, 'flickr', ?, ?, ARRAY['landmark'], ?) " +
-                "ON CONFLICT (source, source_id) DO UPDATE SET " +
-                "name = EXCLUDED.name, lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
-                "photo_url = EXCLUDED.photo_url, score = EXCLUDED.score, categories = EXCLUDED.categories, description = EXCLUDED.description " +
+                "ON CONFLICT (source, source_id) DO UPDATE SET " + onConflict +
                 "RETURNING id";
 
         double score = Math.min((double) photoCount / 50.0, 1.0);
@@ -1025,144 +1398,145 @@ public class FlickrSeedService {
     }
 
     private Map<String, UUID> upsertHotspots(TargetLocation location, String placeSlug, UUID landmarkId, Map<String, List<FlickrPhoto>> clusters) {
-        Map<String, UUID> hotspotIds = new HashMap<>();
+        List<SpotUpsert> rows = new ArrayList<>();
         int index = 1;
         for (Map.Entry<String, List<FlickrPhoto>> entry : clusters.entrySet()) {
-            String key = entry.getKey();
             List<FlickrPhoto> clusterPhotos = entry.getValue();
-            double[] center = computeClusterCenter(clusterPhotos);
-            String hotspotSlug = String.format("hotspot:%s:%s", placeSlug, key);
-            String hotspotName = String.format("Hotspot: %s #%d", location.getName(), index++);
-
-            String sql = "INSERT INTO spots (name, lat, lng, geom, source, source_id, categories, parent_spot_id, description, photo_url) " +
-                    "VALUES (?, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326), 'flickr', ?, ARRAY['hotspot'], ?, ?, ?) " +
-                    "ON CONFLICT (source, source_id) DO UPDATE SET " +
-                    "name = EXCLUDED.name, lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
-                    "categories = EXCLUDED.categories, parent_spot_id = EXCLUDED.parent_spot_id, description = EXCLUDED.description, photo_url = EXCLUDED.photo_url " +
-                    "RETURNING id";
-
-            String description = "Hotspot cluster for " + location.getName() + " with " + clusterPhotos.size() + " photos";
-            String coverUrl = chooseDisplayUrl(clusterPhotos.get(0));
-
-            List<UUID> ids = jdbcTemplate.query(sql,
-                    (rs, rowNum) -> (UUID) rs.getObject("id"),
-                    hotspotName,
-                    center[0],
-                    center[1],
-                    center[1],
-                    center[0],
-                    hotspotSlug,
+            rows.add(new SpotUpsert(
+                    entry.getKey(),
+                    String.format("hotspot:%s:%s", placeSlug, entry.getKey()),
+                    String.format("Hotspot: %s #%d", location.getName(), index++),
+                    computeClusterCenter(clusterPhotos),
                     landmarkId,
-                    description,
-                    coverUrl);
-
-            if (!ids.isEmpty()) {
-                hotspotIds.put(key, ids.get(0));
-            }
+                    "Hotspot cluster for " + location.getName() + " with " + clusterPhotos.size() + " photos",
+                    chooseDisplayUrl(clusterPhotos.get(0))));
         }
-        return hotspotIds;
+        return upsertSpots(HOTSPOT_UPSERT_SQL, rows);
     }
 
     private Map<String, UUID> upsertAreaHotspots(AreaConfig area, UUID areaLandmarkId, Map<String, List<FlickrPhoto>> clusters) {
-        Map<String, UUID> hotspotIds = new HashMap<>();
+        List<SpotUpsert> rows = new ArrayList<>();
         int index = 1;
         for (Map.Entry<String, List<FlickrPhoto>> entry : clusters.entrySet()) {
-            String key = entry.getKey();
             List<FlickrPhoto> clusterPhotos = entry.getValue();
-            double[] center = computeClusterCenter(clusterPhotos);
-            String hotspotSlug = String.format("area:%s:hotspot:%s", area.getKey(), key);
-            String hotspotName = String.format("Hotspot: %s #%d", area.getName(), index++);
-
-            String sql = "INSERT INTO spots (name, lat, lng, geom, source, source_id, categories, parent_spot_id, description, photo_url) " +
-                    "VALUES (?, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326), 'flickr', ?, ARRAY['hotspot'], ?, ?, ?) " +
-                    "ON CONFLICT (source, source_id) DO UPDATE SET " +
-                    "name = EXCLUDED.name, lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
-                    "categories = EXCLUDED.categories, parent_spot_id = EXCLUDED.parent_spot_id, description = EXCLUDED.description, photo_url = EXCLUDED.photo_url " +
-                    "RETURNING id";
-
-            String description = "Area hotspot cluster for " + area.getName() + " with " + clusterPhotos.size() + " photos";
-            String coverUrl = chooseDisplayUrl(clusterPhotos.get(0));
-
-            List<UUID> ids = jdbcTemplate.query(sql,
-                    (rs, rowNum) -> (UUID) rs.getObject("id"),
-                    hotspotName,
-                    center[0],
-                    center[1],
-                    center[1],
-                    center[0],
-                    hotspotSlug,
+            rows.add(new SpotUpsert(
+                    entry.getKey(),
+                    String.format("area:%s:hotspot:%s", area.getKey(), entry.getKey()),
+                    String.format("Hotspot: %s #%d", area.getName(), index++),
+                    computeClusterCenter(clusterPhotos),
                     areaLandmarkId,
-                    description,
-                    coverUrl);
-
-            if (!ids.isEmpty()) {
-                hotspotIds.put(key, ids.get(0));
-            }
+                    "Area hotspot cluster for " + area.getName() + " with " + clusterPhotos.size() + " photos",
+                    chooseDisplayUrl(clusterPhotos.get(0))));
         }
-        return hotspotIds;
+        return upsertSpots(HOTSPOT_UPSERT_SQL, rows);
     }
 
     /**
      * Create nameless photo spots for discovered niche locations.
      * These spots have no name (null) and use category 'photospot' to differentiate
      * them from named landmarks. The photo_url serves as the marker image.
+     * When {@code incremental}, spots that already exist keep their stored center, cover and description.
      */
-    private Map<String, UUID> upsertPhotoSpots(AreaConfig area, Map<String, List<FlickrPhoto>> clusters) {
-        Map<String, UUID> photospotIds = new HashMap<>();
+    private Map<String, UUID> upsertPhotoSpots(AreaConfig area, Map<String, List<FlickrPhoto>> clusters, boolean incremental) {
+        List<SpotUpsert> rows = new ArrayList<>();
         for (Map.Entry<String, List<FlickrPhoto>> entry : clusters.entrySet()) {
-            String key = entry.getKey();
             List<FlickrPhoto> clusterPhotos = entry.getValue();
-            double[] center = computeClusterCenter(clusterPhotos);
-            String photospotSlug = String.format("photospot:%s:%s", area.getKey(), key);
-
-            // Create spot with NULL name - this is intentional for niche discoveries
-            String sql = "INSERT INTO spots (name, lat, lng, geom, source, source_id, categories, description, photo_url) " +
-                    "VALUES (NULL, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326), 'flickr', ?, ARRAY['photospot'], ?, ?) " +
-                    "ON CONFLICT (source, source_id) DO UPDATE SET " +
-                    "lat = EXCLUDED.lat, lng = EXCLUDED.lng, geom = EXCLUDED.geom, " +
-                    "categories = EXCLUDED.categories, description = EXCLUDED.description, photo_url = EXCLUDED.photo_url " +
-                    "RETURNING id";
-
-            String coverUrl = chooseDisplayUrl(clusterPhotos.get(0));
-
-            List<UUID> ids = jdbcTemplate.query(sql,
-                    (rs, rowNum) -> (UUID) rs.getObject("id"),
-                    center[0],
-                    center[1],
-                    center[1],
-                    center[0],
-                    photospotSlug,
+            // NULL name and parent - this is intentional for niche discoveries
+            rows.add(new SpotUpsert(
+                    entry.getKey(),
+                    String.format("photospot:%s:%s", area.getKey(), entry.getKey()),
+                    null,
+                    computeClusterCenter(clusterPhotos),
+                    null,
                     clusterPhotos.size() + " photos",
-                    coverUrl);
-
-            if (!ids.isEmpty()) {
-                photospotIds.put(key, ids.get(0));
-            }
+                    chooseDisplayUrl(clusterPhotos.get(0))));
         }
-        return photospotIds;
+        return upsertSpots(incremental ? PHOTOSPOT_INSERT_SQL : PHOTOSPOT_UPSERT_SQL, rows);
+    }
+
+    /** One cluster's spot row for {@link #upsertSpots}; {@code center} is {lat, lng}. */
+    private record SpotUpsert(String clusterKey, String sourceId, String name, double[] center, UUID parentId,
+                              String description, String photoUrl) {
+    }
+
+    /**
+     * Upserts every cluster's spot in one statement (parallel arrays expanded with unnest) and maps each
+     * cluster key to its spot id from the RETURNING rows.
+     */
+    private Map<String, UUID> upsertSpots(String sql, List<SpotUpsert> rows) {
+        Map<String, UUID> ids = new HashMap<>();
+        if (rows.isEmpty()) {
+            return ids;
+        }
+        int n = rows.size();
+        String[] names = new String[n];
+        Double[] lats = new Double[n];
+        Double[] lngs = new Double[n];
+        String[] sourceIds = new String[n];
+        UUID[] parentIds = new UUID[n];
+        String[] descriptions = new String[n];
+        String[] photoUrls = new String[n];
+        Map<String, String> clusterKeyBySourceId = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            SpotUpsert row = rows.get(i);
+            names[i] = row.name();
+            lats[i] = row.center()[0];
+            lngs[i] = row.center()[1];
+            sourceIds[i] = row.sourceId();
+            parentIds[i] = row.parentId();
+            descriptions[i] = row.description();
+            photoUrls[i] = row.photoUrl();
+            clusterKeyBySourceId.put(row.sourceId(), row.clusterKey());
+        }
+
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("text", names));
+                    ps.setArray(2, con.createArrayOf("float8", lats));
+                    ps.setArray(3, con.createArrayOf("float8", lngs));
+                    ps.setArray(4, con.createArrayOf("text", sourceIds));
+                    ps.setArray(5, con.createArrayOf("uuid", parentIds));
+                    ps.setArray(6, con.createArrayOf("text", descriptions));
+                    ps.setArray(7, con.createArrayOf("text", photoUrls));
+                    return ps;
+                },
+                rs -> {
+                    ids.put(clusterKeyBySourceId.get(rs.getString("source_id")), (UUID) rs.getObject("id"));
+                });
+        return ids;
     }
 
     private VisionOutcome applyVisionFilteringToList(List<FlickrPhoto> photos, boolean visionEnabled) {
+        return applyVisionFilteringToList(photos, visionEnabled, visionCandidateIds(photos));
+    }
+
+    /** The most-viewed photos, which are the ones vision analyses (CANDIDATES_PER_HOTSPOT per call). */
+    private Set<String> visionCandidateIds(List<FlickrPhoto> photos) {
+        return TopK.select(photos, CANDIDATES_PER_HOTSPOT, Comparator.comparingInt(FlickrPhoto::getViews).reversed())
+                .stream().map(FlickrPhoto::getId).collect(Collectors.toSet());
+    }
+
+    /** Vision-filters {@code photos}; only those in {@code candidateIds} are analysed, the rest pass as is. */
+    private VisionOutcome applyVisionFilteringToList(List<FlickrPhoto> photos, boolean visionEnabled, Set<String> candidateIds) {
         if (!visionEnabled) {
             return new VisionOutcome(photos, new HashMap<>(), 0, 0, true);
         }
 
         Path visionScript = resolveVisionScriptPath();
         if (visionScript == null) {
-            System.out.println("      ⚠️  Vision filter unavailable, skipping portrait/blur checks (script missing)");
-            return new VisionOutcome(photos, new HashMap<>(), 0, 0, true);
+            System.out.println("      ⚠️  Face filter unavailable (script missing), running blur checks only");
         }
 
         Map<String, VisionResult> qaByPhotoKey = new HashMap<>();
         int portraitRejected = 0;
         int blurryRejected = 0;
 
-        // Sort by views to prioritize high-quality photos for vision analysis
-        List<FlickrPhoto> sorted = new ArrayList<>(photos);
-        sorted.sort(Comparator.comparingInt(FlickrPhoto::getViews).reversed());
-
-        // Analyze top candidates
-        List<FlickrPhoto> candidates = sorted.subList(0, Math.min(sorted.size(), CANDIDATES_PER_HOTSPOT));
+        // Analyze top candidates, highest views first
+        List<FlickrPhoto> candidates = photos.stream()
+                .filter(photo -> candidateIds.contains(photo.getId()))
+                .sorted(Comparator.comparingInt(FlickrPhoto::getViews).reversed())
+                .collect(Collectors.toList());
         Map<String, VisionResult> decisions = getVisionDecisions(candidates, qaByPhotoKey, visionScript);
 
         List<FlickrPhoto> filtered = new ArrayList<>();
@@ -1193,8 +1567,7 @@ public class FlickrSeedService {
 
         Path visionScript = resolveVisionScriptPath();
         if (visionScript == null) {
-            System.out.println("      ⚠️  Vision filter unavailable, skipping portrait/blur checks (script missing)");
-            return new VisionOutcome(clusters, new HashMap<>(), 0, 0);
+            System.out.println("      ⚠️  Face filter unavailable (script missing), running blur checks only");
         }
 
         Map<String, List<FlickrPhoto>> filtered = new LinkedHashMap<>();
@@ -1239,202 +1612,180 @@ public class FlickrSeedService {
     private Map<String, VisionResult> getVisionDecisions(List<FlickrPhoto> candidates, Map<String, VisionResult> qaByPhotoKey,
                                                          Path visionScript) {
         Map<String, VisionResult> results = new HashMap<>();
-        List<FlickrPhoto> toEvaluate = new ArrayList<>();
+        List<String> uncachedKeys = new ArrayList<>();
 
         for (FlickrPhoto photo : candidates) {
             String key = "flickr:" + photo.getId();
-            VisionResult cached = getCachedVisionResult(key);
+            VisionResult cached = visionCache.get(key);
             if (cached != null) {
                 results.put(key, cached);
-                qaByPhotoKey.put(key, cached);
             } else {
+                uncachedKeys.add(key);
+            }
+        }
+
+        // One round trip for every candidate the in-memory cache does not know
+        Map<String, VisionResult> persisted = loadPersistedVision(uncachedKeys);
+        persisted.forEach(visionCache::put);
+        results.putAll(persisted);
+
+        List<FlickrPhoto> toEvaluate = new ArrayList<>();
+        for (FlickrPhoto photo : candidates) {
+            if (!results.containsKey("flickr:" + photo.getId())) {
                 toEvaluate.add(photo);
             }
         }
 
-        if (toEvaluate.isEmpty()) {
-            return results;
+        if (!toEvaluate.isEmpty()) {
+            Map<String, VisionResult> computed = evaluatePhotos(toEvaluate, visionScript);
+            persistVision(computed);
+            computed.forEach(visionCache::put);
+            results.putAll(computed);
         }
 
-        Map<String, VisionResult> computed = runVisionScript(toEvaluate, visionScript);
-        results.putAll(computed);
-        qaByPhotoKey.putAll(computed);
-        visionCache.putAll(computed);
+        qaByPhotoKey.putAll(results);
         return results;
     }
 
-    private InsertStats insertPhotosForLandmark(UUID landmarkId, List<FlickrPhoto> photos, Map<String, VisionResult> qaByPhotoKey) {
-        String sql = "INSERT INTO photos (spot_id, original_key, variants, visibility, lat, lng, geom) " +
-            "VALUES (?, ?, jsonb_build_object(" +
-            "  'small', ?, " +
-            "  'medium', ?, " +
-            "  'large', ?, " +
-            "  'original', ?, " +
-            "  'latitude', ?::double precision, " +
-            "  'longitude', ?::double precision, " +
-            "  'owner_name', ?, " +
-            "  'views', ?::integer, " +
-            "  'title', ?" +
-            ") || COALESCE(?::jsonb, '{}'::jsonb), 'public', ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326)) " +
-            "ON CONFLICT (original_key) DO NOTHING";
-
-        List<Object[]> batchArgs = new ArrayList<>();
+    /**
+     * Drops photos whose thumbnail dHash lies within {@code app.seed.phash-max-distance} bits of a photo
+     * already accepted for the spot: first those stored by earlier runs, then this batch in views order,
+     * checked through a BK-tree. Photos that cannot be hashed are kept. Runs before vision so near-duplicate
+     * frames are never analysed or stored.
+     */
+    private List<FlickrPhoto> suppressNearDuplicates(UUID spotId, List<FlickrPhoto> photos) {
+        int maxDistance = appProperties.getSeed().getPhashMaxDistance();
+        if (maxDistance < 0 || photos.isEmpty()) {
+            return photos;
+        }
+
+        Map<String, String> urlsById = new LinkedHashMap<>();
         for (FlickrPhoto photo : photos) {
-            String smallUrl = StringUtils.hasText(photo.getUrlS()) ? photo.getUrlS() : constructUrl(photo, "s");
-            String mediumUrl = StringUtils.hasText(photo.getUrlM()) ? photo.getUrlM() :
-                    (StringUtils.hasText(photo.getUrlL()) ? photo.getUrlL() : smallUrl);
-            String largeUrl = StringUtils.hasText(photo.getUrlL()) ? photo.getUrlL() : mediumUrl;
-            String originalUrl = largeUrl;
-            String qaJson = renderQaJson(qaByPhotoKey.get("flickr:" + photo.getId()));
-
-            batchArgs.add(new Object[]{
-                    landmarkId,
-                    "flickr:" + photo.getId(),
-                    smallUrl,
-                    mediumUrl,
-                    largeUrl,
-                    originalUrl,
-                photo.getLatitude(),
-                photo.getLongitude(),
-                    photo.getOwnerName() != null ? photo.getOwnerName() : "Unknown",
-                    photo.getViews(),
-                photo.getTitle() != null ? photo.getTitle() : "",
-                    qaJson
-                    ,
-                    photo.getLatitude(),
-                    photo.getLongitude(),
-                    photo.getLongitude(),
-                    photo.getLatitude()
-            });
-        }
-
-        int attempted = batchArgs.size();
-        if (batchArgs.isEmpty()) {
-            return new InsertStats(0, 0, 0, 0, 0);
-        }
-
-        int inserted = 0;
-        int conflicts = 0;
-        int failed = 0;
-        int successNoInfo = 0;
-        for (int start = 0; start < batchArgs.size(); start += PHOTO_BATCH_SIZE) {
-            int end = Math.min(start + PHOTO_BATCH_SIZE, batchArgs.size());
-            try {
-                int[] results = jdbcTemplate.batchUpdate(sql, batchArgs.subList(start, end));
-                for (int r : results) {
-                    if (r == Statement.SUCCESS_NO_INFO) {
-                        // Postgres JDBC can return SUCCESS_NO_INFO for successful batched writes.
-                        successNoInfo++;
-                        inserted++;
-                    } else if (r > 0) {
-                        inserted += r;
-                    } else if (r == Statement.EXECUTE_FAILED) {
-                        failed++;
-                    } else {
-                        conflicts++;
-                    }
+            if (photo.getPerceptualHash() == null) {
+                urlsById.put(photo.getId(), StringUtils.hasText(photo.getUrlS()) ? photo.getUrlS() : constructUrl(photo, "s"));
+            }
+        }
+        Map<String, Long> hashes = perceptualHasher.hash(urlsById);
+        for (FlickrPhoto photo : photos) {
+            Long hash = hashes.get(photo.getId());
+            if (hash != null) {
+                photo.setPerceptualHash(hash);
+            }
+        }
+
+        Set<String> batchKeys = photos.stream().map(p -> "flickr:" + p.getId()).collect(Collectors.toSet());
+        HammingBkTree accepted = new HammingBkTree();
+        jdbcTemplate.query("SELECT original_key, phash FROM photos WHERE spot_id = ? AND phash IS NOT NULL",
+            rs -> {
+                // A re-seeded photo must not count as its own duplicate; it is a plain conflict on insert
+                if (!batchKeys.contains(rs.getString("original_key"))) {
+                    accepted.add(rs.getLong("phash"));
                 }
-            } catch (DataAccessException dae) {
-                failed += (end - start);
-                System.out.println("      ⚠️  Insert batch failed: " + dae.getMessage());
+            },
+            spotId);
+
+        List<FlickrPhoto> byViews = new ArrayList<>(photos);
+        byViews.sort(Comparator.comparingInt(FlickrPhoto::getViews).reversed());
+        Set<String> rejected = new HashSet<>();
+        for (FlickrPhoto photo : byViews) {
+            Long hash = photo.getPerceptualHash();
+            if (hash == null) {
+                continue;
+            }
+            if (accepted.containsWithin(hash, maxDistance)) {
+                rejected.add(photo.getId());
+                continue;
             }
+            accepted.add(hash);
         }
-        if (successNoInfo > 0) {
-            System.out.println("      ℹ️  Insert stats: " + successNoInfo + " writes returned SUCCESS_NO_INFO (counted as inserted).");
+
+        System.out.println("      🪞 Near-duplicates: " + rejected.size() + " suppressed of " + photos.size()
+                + " (" + hashes.size() + " hashed)");
+        if (rejected.isEmpty()) {
+            return photos;
         }
+        return photos.stream().filter(p -> !rejected.contains(p.getId())).collect(Collectors.toList());
+    }
+
+    private InsertStats insertPhotosForLandmark(UUID landmarkId, List<FlickrPhoto> photos, Map<String, VisionResult> qaByPhotoKey) {
+        List<PhotoCopyIngestor.Row> rows = new ArrayList<>();
+        for (FlickrPhoto photo : photos) {
+            rows.add(toIngestRow(landmarkId, photo, qaByPhotoKey));
+        }
+        InsertStats stats = ingestPhotos(rows);
         backfillPhotoGeoForSpot(landmarkId);
-        return new InsertStats(attempted, inserted, conflicts, failed, successNoInfo);
+        return stats;
     }
 
     private InsertStats insertPhotosForHotspots(Map<String, UUID> hotspotIds, Map<String, List<FlickrPhoto>> clusters,
                                         Map<String, VisionResult> qaByPhotoKey) {
-        String sql = "INSERT INTO photos (spot_id, original_key, variants, visibility, lat, lng, geom) " +
-            "VALUES (?, ?, jsonb_build_object(" +
-            "  'small', ?, " +
-            "  'medium', ?, " +
-            "  'large', ?, " +
-            "  'original', ?, " +
-            "  'latitude', ?::double precision, " +
-            "  'longitude', ?::double precision, " +
-            "  'owner_name', ?, " +
-            "  'views', ?::integer, " +
-            "  'title', ?" +
-            ") || COALESCE(?::jsonb, '{}'::jsonb), 'public', ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326)) " +
-            "ON CONFLICT (original_key) DO NOTHING";
-
-        List<Object[]> batchArgs = new ArrayList<>();
+        List<PhotoCopyIngestor.Row> rows = new ArrayList<>();
         for (Map.Entry<String, List<FlickrPhoto>> entry : clusters.entrySet()) {
             UUID hotspotId = hotspotIds.get(entry.getKey());
             if (hotspotId == null) {
                 continue;
             }
             for (FlickrPhoto photo : entry.getValue()) {
-                String smallUrl = StringUtils.hasText(photo.getUrlS()) ? photo.getUrlS() : constructUrl(photo, "s");
-                String mediumUrl = StringUtils.hasText(photo.getUrlM()) ? photo.getUrlM() :
-                        (StringUtils.hasText(photo.getUrlL()) ? photo.getUrlL() : smallUrl);
-                String largeUrl = StringUtils.hasText(photo.getUrlL()) ? photo.getUrlL() : mediumUrl;
-                String originalUrl = largeUrl;
-                String qaJson = renderQaJson(qaByPhotoKey.get("flickr:" + photo.getId()));
-
-                batchArgs.add(new Object[]{
-                        hotspotId,
-                        "flickr:" + photo.getId(),
-                        smallUrl,
-                        mediumUrl,
-                        largeUrl,
-                        originalUrl,
-                    photo.getLatitude(),
-                    photo.getLongitude(),
-                        photo.getOwnerName() != null ? photo.getOwnerName() : "Unknown",
-                        photo.getViews(),
-                    photo.getTitle() != null ? photo.getTitle() : "",
-                        qaJson
-                        ,
-                        photo.getLatitude(),
-                        photo.getLongitude(),
-                        photo.getLongitude(),
-                        photo.getLatitude()
-                });
+                rows.add(toIngestRow(hotspotId, photo, qaByPhotoKey));
             }
         }
+        InsertStats stats = ingestPhotos(rows);
+        for (UUID hotspotId : hotspotIds.values()) {
+            backfillPhotoGeoForSpot(hotspotId);
+        }
+        return stats;
+    }
 
-        int attempted = batchArgs.size();
-        if (batchArgs.isEmpty()) {
-            return new InsertStats(0, 0, 0, 0, 0);
+    /** COPYs the rows through photos_staging (see PhotoCopyIngestor); conflicts and failures are counted exactly. */
+    private InsertStats ingestPhotos(List<PhotoCopyIngestor.Row> rows) {
+        if (rows.isEmpty()) {
+            return new InsertStats(0, 0, 0, 0);
         }
+        PhotoCopyIngestor.Outcome outcome = photoCopyIngestor.ingest(rows);
+        return new InsertStats(outcome.getAttempted(), outcome.getInserted(), outcome.getConflicts(), outcome.getFailed());
+    }
 
-        int inserted = 0;
-        int conflicts = 0;
-        int failed = 0;
-        int successNoInfo = 0;
-        for (int start = 0; start < batchArgs.size(); start += PHOTO_BATCH_SIZE) {
-            int end = Math.min(start + PHOTO_BATCH_SIZE, batchArgs.size());
-            try {
-                int[] results = jdbcTemplate.batchUpdate(sql, batchArgs.subList(start, end));
-                for (int r : results) {
-                    if (r == Statement.SUCCESS_NO_INFO) {
-                        successNoInfo++;
-                        inserted++;
-                    } else if (r > 0) {
-                        inserted += r;
-                    } else if (r == Statement.EXECUTE_FAILED) {
-                        failed++;
-                    } else {
-                        conflicts++;
-                    }
-                }
-            } catch (DataAccessException dae) {
-                failed += (end - start);
-                System.out.println("      ⚠️  Insert batch failed: " + dae.getMessage());
-            }
+    private PhotoCopyIngestor.Row toIngestRow(UUID spotId, FlickrPhoto photo, Map<String, VisionResult> qaByPhotoKey) {
+        String smallUrl = StringUtils.hasText(photo.getUrlS()) ? photo.getUrlS() : constructUrl(photo, "s");
+        String mediumUrl = StringUtils.hasText(photo.getUrlM()) ? photo.getUrlM() :
+                (StringUtils.hasText(photo.getUrlL()) ? photo.getUrlL() : smallUrl);
+        String largeUrl = StringUtils.hasText(photo.getUrlL()) ? photo.getUrlL() : mediumUrl;
+        String originalUrl = largeUrl;
+
+        // Same document the old per-row jsonb_build_object(...) || qa produced, built client-side
+        Map<String, Object> variants = new LinkedHashMap<>();
+        variants.put("small", smallUrl);
+        variants.put("medium", mediumUrl);
+        variants.put("large", largeUrl);
+        variants.put("original", originalUrl);
+        variants.put("latitude", photo.getLatitude());
+        variants.put("longitude", photo.getLongitude());
+        variants.put("owner_name", photo.getOwnerName() != null ? photo.getOwnerName() : "Unknown");
+        variants.put("views", photo.getViews());
+        variants.put("title", photo.getTitle() != null ? photo.getTitle() : "");
+        VisionResult qa = qaByPhotoKey.get("flickr:" + photo.getId());
+        if (qa != null) {
+            variants.put("qa", qaVariant(qa));
         }
-        if (successNoInfo > 0) {
-            System.out.println("      ℹ️  Insert stats: " + successNoInfo + " writes returned SUCCESS_NO_INFO (counted as inserted).");
+
+        String variantsJson;
+        try {
+            variantsJson = objectMapper.writeValueAsString(variants);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialise photo variants for " + photo.getId(), e);
         }
-        for (UUID hotspotId : hotspotIds.values()) {
-            backfillPhotoGeoForSpot(hotspotId);
+        return new PhotoCopyIngestor.Row(spotId, "flickr:" + photo.getId(), variantsJson,
+                photo.getLatitude(), photo.getLongitude(), photo.getPerceptualHash());
+    }
+
+    /**
+     * Seed jobs are cancelled by interrupting their threads. Flickr calls made after that fail fast and
+     * their strategies come back empty, so seeding checks here before acting on what it fetched.
+     */
+    private static void checkCancelled() throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Seeding cancelled");
         }
-        return new InsertStats(attempted, inserted, conflicts, failed, successNoInfo);
     }
 
     private void backfillPhotoGeoForSpot(UUID spotId) {
@@ -1455,126 +1806,149 @@ public class FlickrSeedService {
         }
     }
 
-    private VisionResult getCachedVisionResult(String originalKey) {
-        if (visionCache.containsKey(originalKey)) {
-            return visionCache.get(originalKey);
+    private Map<String, VisionResult> loadPersistedVision(List<String> originalKeys) {
+        Map<String, VisionResult> results = new HashMap<>();
+        if (originalKeys.isEmpty()) {
+            return results;
         }
-        VisionResult persisted = loadPersistedVision(originalKey);
-        if (persisted != null) {
-            visionCache.put(originalKey, persisted);
+        try {
+            jdbcTemplate.query(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(
+                                "SELECT original_key, face_max_frac, face_count, blur_score, is_portrait, is_blurry, model_version " +
+                                "FROM photo_qa WHERE original_key = ANY(?) AND model_version IN (?, ?)");
+                        ps.setArray(1, con.createArrayOf("text", originalKeys.toArray()));
+                        ps.setString(2, VISION_MODEL_VERSION);
+                        ps.setString(3, BLUR_MODEL_VERSION);
+                        return ps;
+                    },
+                    rs -> {
+                        results.put(rs.getString("original_key"), new VisionResult(
+                                rs.getObject("face_max_frac", Double.class),
+                                rs.getObject("face_count", Integer.class),
+                                rs.getDouble("blur_score"),
+                                rs.getBoolean("is_portrait"),
+                                rs.getBoolean("is_blurry"),
+                                rs.getString("model_version")));
+                    });
+        } catch (DataAccessException e) {
+            // A failed lookup only means the photos are evaluated again
+            System.out.println("      ⚠️  Vision QA lookup failed: " + e.getMessage());
         }
-        return persisted;
+        return results;
     }
 
-    private VisionResult loadPersistedVision(String originalKey) {
+    private void persistVision(Map<String, VisionResult> computed) {
+        if (computed.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(computed.size());
+        for (Map.Entry<String, VisionResult> entry : computed.entrySet()) {
+            VisionResult vr = entry.getValue();
+            rows.add(new Object[]{entry.getKey(), vr.getFaceMaxFrac(), vr.getFaceCount(), vr.getBlurScore(),
+                    vr.isPortrait(), vr.isBlurry(), vr.getModelVersion()});
+        }
         try {
-            List<String> results = jdbcTemplate.query(
-                    "SELECT variants->'qa' AS qa FROM photos WHERE original_key = ?",
-                    (rs, rowNum) -> rs.getString("qa"),
-                    originalKey);
-            if (results.isEmpty() || !StringUtils.hasText(results.get(0))) {
-                return null;
-            }
-            JsonNode node = objectMapper.readTree(results.get(0));
-            return parseVisionNode(node);
-        } catch (Exception e) {
-            return null;
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO photo_qa (original_key, face_max_frac, face_count, blur_score, is_portrait, is_blurry, model_version) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (original_key) DO UPDATE SET face_max_frac = EXCLUDED.face_max_frac, " +
+                    "face_count = EXCLUDED.face_count, blur_score = EXCLUDED.blur_score, is_portrait = EXCLUDED.is_portrait, " +
+                    "is_blurry = EXCLUDED.is_blurry, model_version = EXCLUDED.model_version, evaluated_at = now()",
+                    rows);
+        } catch (DataAccessException e) {
+            System.out.println("      ⚠️  Vision QA save failed: " + e.getMessage());
         }
     }
 
-    private Map<String, VisionResult> runVisionScript(List<FlickrPhoto> candidates, Path visionScript) {
+    /**
+     * Downloads each photo's vision rendition once (see {@link #chooseVisionUrl}) and scores its blur
+     * in-process on those bytes, the same image filter_photos.py would score, so {@code BLUR_THRESHOLD}
+     * means the same on both sides. Blurry photos are rejected there; sharp (or unscorable) ones are handed,
+     * bytes included, to the face-detection workers when {@code visionScript} is set. Photos that cannot be
+     * fetched or analysed are absent from the result and keep their metadata-only treatment.
+     */
+    private Map<String, VisionResult> evaluatePhotos(List<FlickrPhoto> candidates, Path visionScript) {
         Map<String, VisionResult> results = new HashMap<>();
-        try {
-            List<Map<String, String>> payload = new ArrayList<>();
-            for (FlickrPhoto photo : candidates) {
-                String url = chooseVisionUrl(photo);
-                if (!StringUtils.hasText(url)) {
-                    continue;
-                }
-                Map<String, String> item = new HashMap<>();
-                item.put("id", photo.getId());
-                item.put("url", url);
-                payload.add(item);
-            }
-
-            if (payload.isEmpty()) {
-                return results;
-            }
-
-            String inputJson = objectMapper.writeValueAsString(payload);
-            ProcessBuilder pb = new ProcessBuilder("python3", visionScript.toString(), "--blur-threshold", String.valueOf(BLUR_THRESHOLD));
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            process.getOutputStream().write(inputJson.getBytes(StandardCharsets.UTF_8));
-            process.getOutputStream().flush();
-            process.getOutputStream().close();
-
-            boolean completed = process.waitFor(PYTHON_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            if (!completed) {
-                process.destroyForcibly();
-                System.out.println("      ⚠️  Vision filter timed out, falling back to metadata-only");
-                return results;
+        Map<String, String> urlsById = new LinkedHashMap<>();
+        for (FlickrPhoto photo : candidates) {
+            String url = chooseVisionUrl(photo);
+            if (StringUtils.hasText(url)) {
+                urlsById.put(photo.getId(), url);
             }
+        }
+        if (urlsById.isEmpty()) {
+            return results;
+        }
 
-            String output;
-            String errorOutput;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
-                output = reader.lines().collect(Collectors.joining("\n"));
+        VisionWorkerPool pool = visionScript == null ? null : visionPool(visionScript);
+        if (pool != null && !pool.isAvailable()) {
+            System.out.println("      ⚠️  Vision workers unavailable, checking blur only");
+            pool = null;
+        }
+        VisionWorkerPool faces = pool;
+
+        // Every photo downloads concurrently (within the prefetcher's limits); network waits overlap with
+        // scoring and with analysis on whichever worker is idle
+        Map<String, Future<VisionResult>> pending = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, String> item : urlsById.entrySet()) {
+                pending.put(item.getKey(), executor.submit(() -> {
+                    try (ImagePrefetcher.Image image = imagePrefetcher.fetch(item.getValue())) {
+                        if (image == null) {
+                            return null;
+                        }
+                        Double blurScore = blurScorer.score(image.bytes());
+                        if (blurScore != null && blurScore < BLUR_THRESHOLD) {
+                            return VisionResult.blurry(blurScore);
+                        }
+                        return faces == null ? null : parseVisionNode(faces.analyze(item.getKey(), item.getValue(), image.bytes()));
+                    }
+                }));
             }
-
-            int exitCode = process.exitValue();
-            if (exitCode != 0) {
-                System.out.println("      ⚠️  Vision filter failed with exit code " + exitCode);
-                System.out.println("      Script output: " + (output.length() > 200 ? output.substring(0, 200) + "..." : output));
-                return results;
+        }
+        int blurry = 0;
+        for (Map.Entry<String, Future<VisionResult>> entry : pending.entrySet()) {
+            try {
+                VisionResult vr = entry.getValue().get();
+                if (vr != null) {
+                    results.put("flickr:" + entry.getKey(), vr);
+                    if (BLUR_MODEL_VERSION.equals(vr.getModelVersion())) {
+                        blurry++;
+                    }
+                }
+            } catch (Exception e) {
+                // A failed photo just keeps its metadata-only treatment
             }
+        }
+        System.out.println("      🔍 Blur check: " + blurry + " blurry of " + urlsById.size() + " candidates");
+        if (faces != null) {
+            System.out.println("      🐍 Vision filter: analysed " + (results.size() - blurry) + "/" + (urlsById.size() - blurry) + " photos");
+        }
+        return results;
+    }
 
-            // Log stderr to see Python warnings/errors
-            if (output.contains("Processing") || output.contains("Processed")) {
-                // Extract stderr messages (they're mixed in redirectErrorStream)
-                System.out.println("      🐍 Vision filter: " + output.split("\n")[0]);
+    /** Starts the shared worker pool on first use; sized by app.seed.vision-workers (0 = one per core). */
+    private VisionWorkerPool visionPool(Path visionScript) {
+        synchronized (visionPoolLock) {
+            if (visionPool == null) {
+                int workers = appProperties.getSeed().visionWorkerCount();
+                visionPool = new VisionWorkerPool(
+                        List.of("python3", visionScript.toString(), "--serve", "--blur-threshold", String.valueOf(BLUR_THRESHOLD)),
+                        workers, appProperties.getSeed().getVisionItemTimeoutMs());
             }
-
-            results.putAll(parseVisionResponse(output));
-            return results;
-        } catch (Exception e) {
-            System.out.println("      ⚠️  Vision filter error: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-            e.printStackTrace();
-            return results;
+            return visionPool;
         }
     }
 
-    private Map<String, VisionResult> parseVisionResponse(String output) {
-        Map<String, VisionResult> parsed = new HashMap<>();
-        try {
-            // Output may contain stderr messages followed by JSON - extract just the JSON
-            String jsonPart = output;
-            int jsonStart = output.indexOf("{");
-            if (jsonStart > 0) {
-                // Log any stderr that came before JSON
-                String stderr = output.substring(0, jsonStart).trim();
-                if (!stderr.isEmpty()) {
-                    System.out.println("      🐍 Vision stderr: " + stderr);
-                }
-                jsonPart = output.substring(jsonStart);
-            }
-            
-            JsonNode root = objectMapper.readTree(jsonPart);
-            if (root == null || !root.isObject()) {
-                System.out.println("      ⚠️  Vision filter returned invalid JSON structure");
-                return parsed;
+    @PreDestroy
+    public void shutdownVisionWorkers() {
+        synchronized (visionPoolLock) {
+            if (visionPool != null) {
+                visionPool.close();
+                visionPool = null;
             }
-            root.fields().forEachRemaining(entry -> {
-                VisionResult vr = parseVisionNode(entry.getValue());
-                if (vr != null) {
-                    parsed.put("flickr:" + entry.getKey(), vr);
-                }
-            });
-        } catch (Exception e) {
-            System.out.println("      ⚠️  Failed to parse vision response: " + e.getMessage());
-            System.out.println("      Raw output: " + (output.length() > 500 ? output.substring(0, 500) + "..." : output));
         }
-        return parsed;
     }
 
     private VisionResult parseVisionNode(JsonNode node) {
@@ -1586,7 +1960,7 @@ public class FlickrSeedService {
         double blurScore = node.path("blurScore").asDouble(0.0);
         boolean isPortrait = node.path("isPortrait").asBoolean(false);
         boolean isBlurry = node.path("isBlurry").asBoolean(false);
-        return new VisionResult(faceMaxFrac, faceCount, blurScore, isPortrait, isBlurry);
+        return new VisionResult(faceMaxFrac, faceCount, blurScore, isPortrait, isBlurry, VISION_MODEL_VERSION);
     }
 
     private String chooseVisionUrl(FlickrPhoto photo) {
@@ -1598,23 +1972,19 @@ public class FlickrSeedService {
         return constructUrl(photo, "l");
     }
 
-    private String renderQaJson(VisionResult result) {
-        if (result == null) {
-            return null;
+    private Map<String, Object> qaVariant(VisionResult result) {
+        Map<String, Object> qa = new LinkedHashMap<>();
+        // Face fields only exist when the face check ran
+        if (result.getFaceMaxFrac() != null) {
+            qa.put("faceMaxFrac", result.getFaceMaxFrac());
         }
-        try {
-            Map<String, Object> qa = new HashMap<>();
-            qa.put("qa", Map.of(
-                    "faceMaxFrac", result.getFaceMaxFrac(),
-                    "faceCount", result.getFaceCount(),
-                    "blurScore", result.getBlurScore(),
-                    "isPortrait", result.isPortrait(),
-                    "isBlurry", result.isBlurry()
-            ));
-            return objectMapper.writeValueAsString(qa);
-        } catch (Exception e) {
-            return null;
+        if (result.getFaceCount() != null) {
+            qa.put("faceCount", result.getFaceCount());
         }
+        qa.put("blurScore", result.getBlurScore());
+        qa.put("isPortrait", result.isPortrait());
+        qa.put("isBlurry", result.isBlurry());
+        return qa;
     }
 
     private Path resolveVisionScriptPath() {
@@ -1629,37 +1999,51 @@ public class FlickrSeedService {
         return null;
     }
 
-    private Map<String, List<FlickrPhoto>> clusterPhotos(List<FlickrPhoto> photos) {
-        Map<String, List<FlickrPhoto>> clusters = new HashMap<>();
-        for (FlickrPhoto photo : photos) {
-            double rLat = roundToPrecision(photo.getLatitude(), HOTSPOT_PRECISION);
-            double rLng = roundToPrecision(photo.getLongitude(), HOTSPOT_PRECISION);
-            String key = formattedKey(rLat, rLng);
-            clusters.computeIfAbsent(key, k -> new ArrayList<>()).add(photo);
+    /**
+     * Groups photos into candidate hotspots with the configured {@code app.seed.cluster-strategy}:
+     * {@code grid} buckets by rounded coordinates (~11m cells), {@code dbscan} runs density clustering
+     * (see {@link PhotoClusterer}) with {@code minPoints} as the core-point threshold. Keys are the
+     * rounded cell or, for dbscan, the rounded cluster centre.
+     */
+    private Map<String, List<FlickrPhoto>> groupPhotos(List<PhotoFeatures> photos, int minPoints) {
+        Map<String, List<FlickrPhoto>> grouped = new LinkedHashMap<>();
+        if (CLUSTER_STRATEGY_DBSCAN.equalsIgnoreCase(appProperties.getSeed().getClusterStrategy())) {
+            for (List<FlickrPhoto> cluster : PhotoClusterer.dbscan(photos, appProperties.getSeed().getClusterEpsMeters(), minPoints)) {
+                double[] center = computeClusterCenter(cluster);
+                grouped.merge(formattedKey(center[0], center[1]), cluster, (a, b) -> a.size() >= b.size() ? a : b);
+            }
+            return grouped;
+        }
+        Map<Long, List<FlickrPhoto>> cells = new LinkedHashMap<>();
+        for (PhotoFeatures photo : photos) {
+            cells.computeIfAbsent(photo.coordBin(), k -> new ArrayList<>()).add(photo.photo());
         }
+        cells.forEach((bin, cell) -> grouped.put(formattedKey(PhotoFeatures.binLat(bin), PhotoFeatures.binLng(bin)), cell));
+        return grouped;
+    }
 
-        return clusters.entrySet().stream()
-                .filter(e -> e.getValue().size() >= MIN_PHOTOS_PER_HOTSPOT)
-                .sorted((a, b) -> Integer.compare(b.getValue().size(), a.getValue().size()))
-                .limit(MAX_HOTSPOTS_PER_LANDMARK)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (a, b) -> a,
-                        LinkedHashMap::new));
+    private List<PhotoFeatures> photoFeatures(List<FlickrPhoto> photos) {
+        return PhotoFeatures.of(photos, photo -> KEYWORDS.matches(photo, KW_CROWD_EVENT));
     }
 
-    private Map<String, List<FlickrPhoto>> clusterAreaPhotos(List<FlickrPhoto> photos) {
-        Map<String, List<FlickrPhoto>> grouped = new HashMap<>();
-        for (FlickrPhoto photo : photos) {
-            double rLat = roundToPrecision(photo.getLatitude(), HOTSPOT_PRECISION);
-            double rLng = roundToPrecision(photo.getLongitude(), HOTSPOT_PRECISION);
-            String key = formattedKey(rLat, rLng);
-            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(photo);
+    private Map<String, List<FlickrPhoto>> clusterPhotos(List<FlickrPhoto> photos) {
+        Map<String, List<FlickrPhoto>> clusters = groupPhotos(photoFeatures(photos), MIN_PHOTOS_PER_HOTSPOT);
+
+        List<Map.Entry<String, List<FlickrPhoto>>> eligible = clusters.entrySet().stream()
+                .filter(e -> e.getValue().size() >= MIN_PHOTOS_PER_HOTSPOT)
+                .collect(Collectors.toList());
+        Map<String, List<FlickrPhoto>> largest = new LinkedHashMap<>();
+        for (Map.Entry<String, List<FlickrPhoto>> entry : TopK.select(eligible, MAX_HOTSPOTS_PER_LANDMARK,
+                Comparator.comparingInt((Map.Entry<String, List<FlickrPhoto>> e) -> e.getValue().size()).reversed())) {
+            largest.put(entry.getKey(), entry.getValue());
         }
+        return largest;
+    }
 
+    private Map<String, List<FlickrPhoto>> clusterAreaPhotos(List<FlickrPhoto> photos) {
         int total = photos.size();
         int minPhotos = total < 150 ? 2 : MIN_PHOTOS_PER_HOTSPOT;
+        Map<String, List<FlickrPhoto>> grouped = groupPhotos(photoFeatures(photos), minPhotos);
 
         List<ClusterCandidate> scored = new ArrayList<>();
         for (Map.Entry<String, List<FlickrPhoto>> entry : grouped.entrySet()) {
@@ -1678,29 +2062,27 @@ public class FlickrSeedService {
             scored.add(new ClusterCandidate(entry.getKey(), cluster, center, score));
         }
 
-        scored.sort(Comparator
+        Map<String, List<FlickrPhoto>> accepted = new LinkedHashMap<>();
+        if (scored.isEmpty()) {
+            return accepted;
+        }
+        // Candidates are taken best-first from a heap until the cap is reached; most are never ordered
+        PriorityQueue<ClusterCandidate> ranked = new PriorityQueue<>(scored.size(), Comparator
             .comparingDouble((ClusterCandidate c) -> c.score)
             .reversed()
-            .thenComparing((ClusterCandidate c) -> c.photos.size(), Comparator.reverseOrder()));
-
-        Map<String, List<FlickrPhoto>> accepted = new LinkedHashMap<>();
-        List<double[]> acceptedCenters = new ArrayList<>();
-        for (ClusterCandidate candidate : scored) {
-            boolean tooClose = false;
-            for (double[] center : acceptedCenters) {
-                double dist = haversineMeters(center[0], center[1], candidate.center[0], candidate.center[1]);
-                if (dist < MIN_HOTSPOT_SEPARATION_METERS) {
-                    tooClose = true;
-                    break;
-                }
-            }
-            if (tooClose) {
+            .thenComparing((ClusterCandidate c) -> c.photos.size(), Comparator.reverseOrder())
+            .thenComparing((ClusterCandidate c) -> c.key));
+        ranked.addAll(scored);
+        PhotoClusterer.SeparationGrid acceptedCenters =
+            new PhotoClusterer.SeparationGrid(MIN_HOTSPOT_SEPARATION_METERS, ranked.peek().center[0]);
+        while (!ranked.isEmpty()) {
+            ClusterCandidate candidate = ranked.poll();
+            if (!acceptedCenters.tryAccept(candidate.center)) {
                 continue;
             }
 
             String key = formattedKey(candidate.center[0], candidate.center[1]);
             accepted.put(key, candidate.photos);
-            acceptedCenters.add(candidate.center);
             if (accepted.size() >= MAX_HOTSPOTS_PER_AREA) {
                 break;
             }
@@ -1721,27 +2103,16 @@ public class FlickrSeedService {
     }
 
     private List<FlickrPhoto> selectTopPhotosForHotspot(List<FlickrPhoto> photos) {
-        List<FlickrPhoto> sorted = new ArrayList<>(photos);
-        sorted.sort(Comparator
-                .comparingInt(FlickrPhoto::getViews)
-                .reversed()
-                .thenComparing((FlickrPhoto p) -> hasLargeUrl(p) ? 0 : 1));
-
         List<FlickrPhoto> deduped = new ArrayList<>();
         Set<String> seen = new HashSet<>();
-        for (FlickrPhoto p : sorted) {
-            if (p.getId() != null && !seen.contains(p.getId())) {
-                seen.add(p.getId());
+        for (FlickrPhoto p : photos) {
+            if (p.getId() != null && seen.add(p.getId())) {
                 deduped.add(p);
             }
         }
 
-        int limit = Math.min(deduped.size(), MAX_PHOTOS_PER_HOTSPOT);
-        return deduped.subList(0, limit);
-    }
-
-    private boolean hasLargeUrl(FlickrPhoto photo) {
-        return StringUtils.hasText(photo.getUrlO()) || StringUtils.hasText(photo.getUrlL());
+        List<PhotoFeatures> top = TopK.select(photoFeatures(deduped), MAX_PHOTOS_PER_HOTSPOT, HOTSPOT_PHOTO_ORDER);
+        return top.stream().map(PhotoFeatures::photo).collect(Collectors.toList());
     }
 
     private String chooseDisplayUrl(FlickrPhoto photo) {
@@ -1769,33 +2140,123 @@ public class FlickrSeedService {
         return sb.toString().trim();
     }
 
-    private List<TargetLocation> buildTiles(AreaConfig area) {
-        double metersPerDegLat = 111320.0;
-        double metersPerDegLng = 111320.0 * Math.cos(Math.toRadians(area.getLat()));
+    /**
+     * Plans an area's tiles as an adaptive quadtree. Each quad gets one bbox probe (a single page of
+     * interestingness results) and only quads whose total exceeds PER_PAGE are split, down to the area's
+     * tile spacing and at most MAX_AREA_QUADS leaves, so sparse outskirts cost one call and dense blocks get
+     * small tiles. A split quad's photos are handed to its children locally. Leaves that are still saturated
+     * get the full per-tile searches; the rest are already complete from their probe.
+     */
+    private QuadPlan planAreaQuads(String apiKey, AreaConfig area, SeedWatermarks probeWatermarks) {
         double radiusMeters = area.getRadiusKm() * 1000.0;
-        double spacing = area.getTileSpacingMeters();
-
-        List<TargetLocation> tiles = new ArrayList<>();
-        for (double dy = -radiusMeters; dy <= radiusMeters; dy += spacing) {
-            for (double dx = -radiusMeters; dx <= radiusMeters; dx += spacing) {
-                double dist = Math.sqrt(dx * dx + dy * dy);
-                if (dist > radiusMeters) {
+        QuadPlan plan = new QuadPlan();
+        Map<String, List<FlickrPhoto>> inherited = new HashMap<>();
+        List<AreaQuad> level = List.of(AreaQuad.root(area));
+        while (!level.isEmpty()) {
+            // One level at a time, probed concurrently (paced by the shared Flickr limiter)
+            List<CompletableFuture<QuadProbe>> pending = new ArrayList<>();
+            for (AreaQuad quad : level) {
+                pending.add(flickrClient.supplyAsync(() -> probeQuad(apiKey, quad, probeWatermarks)));
+            }
+            List<QuadProbe> probes = pending.stream().map(flickrClient::await).collect(Collectors.toList());
+            plan.probes += probes.size();
+            // Densest quads get first claim on the leaf budget
+            probes.sort(Comparator.comparingInt((QuadProbe probe) -> probe.total).reversed()
+                    .thenComparing(probe -> probe.quad.getPath()));
+
+            List<AreaQuad> next = new ArrayList<>();
+            for (int i = 0; i < probes.size(); i++) {
+                QuadProbe probe = probes.get(i);
+                List<FlickrPhoto> photos = new ArrayList<>();
+                Set<String> seen = new HashSet<>();
+                addUniquePhotos(probe.photos, photos, seen);
+                addUniquePhotos(inherited.getOrDefault(probe.quad.getPath(), List.of()), photos, seen);
+                boolean saturated = probe.failed || probe.total > PER_PAGE;
+
+                List<AreaQuad> children = probe.quad.children().stream()
+                        .filter(child -> child.intersectsCircle(area.getLat(), area.getLng(), radiusMeters))
+                        .collect(Collectors.toList());
+                int leavesIfSplit = plan.leaves.size() + next.size() + (probes.size() - i - 1) + children.size();
+                boolean split = saturated && !probe.failed
+                        && probe.quad.sideMeters() / 2 >= area.getTileSpacingMeters()
+                        && leavesIfSplit <= MAX_AREA_QUADS;
+                if (!split) {
+                    plan.leaves.add(new QuadLeaf(probe, photos, saturated));
                     continue;
                 }
-                double lat = area.getLat() + (dy / metersPerDegLat);
-                double lng = area.getLng() + (dx / metersPerDegLng);
-                String name = area.getName() + " tile " + (tiles.size() + 1);
-                tiles.add(new TargetLocation(name, lat, lng, area.getTileRadiusKm()));
+                plan.splitFetched += probe.counters.fetched;
+                for (AreaQuad child : children) {
+                    inherited.put(child.getPath(), photos.stream()
+                            .filter(p -> child.contains(p.getLatitude(), p.getLongitude()))
+                            .collect(Collectors.toList()));
+                    next.add(child);
+                }
             }
+            level = next;
         }
+        plan.leaves.sort(Comparator.comparing(leaf -> leaf.quad.getPath()));
+        return plan;
+    }
 
-        if (tiles.size() > 60) {
-            tiles.sort(Comparator.comparingDouble(t -> haversineMeters(area.getLat(), area.getLng(), t.getLatitude(), t.getLongitude())));
-            tiles = new ArrayList<>(tiles.subList(0, 60));
-            System.out.println("   ⚠️  Tile count capped at 60 (consider increasing spacing)");
+    private void saveQuadPlan(SeedRunService.SeedRun run, AreaConfig area, QuadPlan plan) throws Exception {
+        if (run == null) {
+            return;
+        }
+        QuadPlanCheckpoint checkpoint = new QuadPlanCheckpoint();
+        checkpoint.probes = plan.probes;
+        checkpoint.splitFetched = plan.splitFetched;
+        for (QuadLeaf leaf : plan.leaves) {
+            QuadLeafCheckpoint saved = new QuadLeafCheckpoint();
+            saved.path = leaf.quad.getPath();
+            saved.total = leaf.total;
+            saved.saturated = leaf.saturated;
+            saved.fetched = leaf.counters.fetched;
+            saved.missingGeo = leaf.counters.missingGeo;
+            saved.outsideGta = leaf.counters.outsideGta;
+            saved.outsideRadius = leaf.counters.outsideRadius;
+            saved.kept = leaf.counters.kept;
+            saved.photos = leaf.photos;
+            checkpoint.leaves.add(saved);
+        }
+        seedRunService.complete(run, SeedRunService.AREA_PLAN_ITEM,
+                new SeedResult(area.getName() + " quad plan", 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0),
+                objectMapper.writeValueAsString(checkpoint));
+    }
+
+    /** The plan saved by an earlier attempt of {@code run}, or null if there is none. */
+    private QuadPlan restoreQuadPlan(SeedRunService.SeedRun run, AreaConfig area, SeedWatermarks probeWatermarks) throws Exception {
+        if (run == null || !run.isCompleted(SeedRunService.AREA_PLAN_ITEM)) {
+            return null;
         }
+        QuadPlanCheckpoint checkpoint = objectMapper.readValue(run.getPayload(SeedRunService.AREA_PLAN_ITEM), QuadPlanCheckpoint.class);
+        QuadPlan plan = new QuadPlan();
+        plan.probes = checkpoint.probes;
+        plan.splitFetched = checkpoint.splitFetched;
+        plan.restored = true;
+        for (QuadLeafCheckpoint saved : checkpoint.leaves) {
+            FetchCounters counters = new FetchCounters();
+            counters.fetched = saved.fetched;
+            counters.missingGeo = saved.missingGeo;
+            counters.outsideGta = saved.outsideGta;
+            counters.outsideRadius = saved.outsideRadius;
+            counters.kept = saved.kept;
+            plan.leaves.add(new QuadLeaf(AreaQuad.at(area, saved.path), saved.photos, counters, saved.total, saved.saturated));
+            // The probes' uploads still count towards the next incremental run's starting point
+            probeWatermarks.observe(QUAD_PROBE_STRATEGY, saved.photos);
+        }
+        return plan;
+    }
 
-        return tiles;
+    private QuadProbe probeQuad(String apiKey, AreaQuad quad, SeedWatermarks watermarks) {
+        FetchCounters counters = new FetchCounters();
+        FlickrResponse.Photos page = searchPhotosGeoWithTimeWindow(apiKey, quad, "interestingness-desc",
+                watermarks.since(QUAD_PROBE_STRATEGY), 1);
+        if (page == null) {
+            return new QuadProbe(quad, List.of(), counters, 0, true);
+        }
+        List<FlickrPhoto> photos = page.getPhoto() != null ? page.getPhoto() : List.of();
+        List<FlickrPhoto> kept = observeAndClamp(quad, photos, counters, watermarks, QUAD_PROBE_STRATEGY);
+        return new QuadProbe(quad, kept, counters, Math.max(page.getTotal(), photos.size()), false);
     }
 
     private Set<String> buildLocationTokens(TargetLocation location) {
@@ -1815,15 +2276,21 @@ public class FlickrSeedService {
         return tokens;
     }
 
-    private boolean isSuspectSubject(Set<String> photoTokens, Set<String> strongLocationTokens) {
-        Set<String> tokens = new HashSet<>();
-        tokens.addAll(photoTokens);
-        boolean hasSuspect = tokens.stream().anyMatch(SUSPECT_TOKENS::contains);
-        if (!hasSuspect) {
-            return false;
+    /** Suspect subject (selfie, pets, food, protest...) not redeemed by a strong location token. */
+    private boolean isSuspectSubject(long photoKeywords) {
+        return (photoKeywords & KW_SUSPECT) != 0 && (photoKeywords & KW_STRONG_LOCATION) == 0;
+    }
+
+    /** The run-wide keyword classes plus KW_STRONG_LOCATION for this location's own name tokens. */
+    private KeywordMatcher locationKeywords(TargetLocation location) {
+        Set<String> tokens = buildStrongLocationTokens(location);
+        String cacheKey = String.join(" ", new TreeSet<>(tokens));
+        KeywordMatcher matcher = locationKeywordCache.get(cacheKey);
+        if (matcher == null) {
+            matcher = KEYWORDS.withTokens(tokens, KW_STRONG_LOCATION);
+            locationKeywordCache.put(cacheKey, matcher);
         }
-        boolean hasStrongLocationToken = tokens.stream().anyMatch(strongLocationTokens::contains);
-        return !hasStrongLocationToken;
+        return matcher;
     }
 
     private Set<String> tokenize(String text) {
@@ -1840,22 +2307,9 @@ public class FlickrSeedService {
         return tokens;
     }
 
-    private boolean hasAnyTag(FlickrPhoto photo, Set<String> tagSet) {
-        Set<String> t = new HashSet<>();
-        t.addAll(tokenize(photo.getTitle()));
-        t.addAll(tokenize(photo.getTags()));
-        return t.stream().anyMatch(tagSet::contains);
-    }
-
     /** Approximate pixel count for preferred resolution ordering (larger preferred). */
     private long effectivePixelCount(FlickrPhoto photo) {
-        if (photo.getWidthO() > 0 && photo.getHeightO() > 0) {
-            return (long) photo.getWidthO() * (long) photo.getHeightO();
-        }
-        if (photo.getWidthL() > 0 && photo.getHeightL() > 0) {
-            return (long) photo.getWidthL() * (long) photo.getHeightL();
-        }
-        return 0;
+        return PhotoFeatures.pixelCount(photo);
     }
 
     /**
@@ -1870,19 +2324,16 @@ public class FlickrSeedService {
         if (photos == null || photos.isEmpty()) {
             return null;
         }
-        Set<String> strongLocationTokens = buildStrongLocationTokens(location);
+        KeywordMatcher keywords = locationKeywords(location);
 
         List<FlickrPhoto> tier1 = new ArrayList<>();
         List<FlickrPhoto> tier2 = new ArrayList<>();
         List<FlickrPhoto> tier3 = new ArrayList<>();
 
         for (FlickrPhoto photo : photos) {
-            Set<String> tokens = new HashSet<>();
-            tokens.addAll(tokenize(photo.getTitle()));
-            tokens.addAll(tokenize(photo.getTags()));
-
-            boolean hasStrongLocationToken = tokens.stream().anyMatch(strongLocationTokens::contains);
-            boolean hasEventToken = tokens.stream().anyMatch(EVENT_TOKENS::contains);
+            long photoKeywords = keywords.classify(photo);
+            boolean hasStrongLocationToken = (photoKeywords & KW_STRONG_LOCATION) != 0;
+            boolean hasEventToken = (photoKeywords & KW_EVENT) != 0;
 
             if (hasStrongLocationToken && !hasEventToken) {
                 tier1.add(photo);
@@ -1960,14 +2411,6 @@ public class FlickrSeedService {
         return lat >= 43.5 && lat <= 44.0 && lng >= -79.8 && lng <= -79.0;
     }
 
-    private void rateLimitDelay() {
-        try {
-            Thread.sleep(REQUEST_DELAY_MS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
     private String resolveValue(String propertyValue, String key) {
         if (StringUtils.hasText(propertyValue)) {
             return propertyValue;
@@ -2010,6 +2453,9 @@ public class FlickrSeedService {
     }
 
     private boolean isWithinTargetRadius(TargetLocation location, FlickrPhoto photo) {
+        if (location instanceof AreaQuad quad) {
+            return quad.contains(photo.getLatitude(), photo.getLongitude());
+        }
         if (!location.hasCoordinates()) {
             return true; // only GTA clamp applies when we lack a point target
         }
@@ -2019,6 +2465,13 @@ public class FlickrSeedService {
         return distance <= radiusMeters;
     }
 
+    /** Records the page's newest upload for the strategy's watermark, then applies the GTA/radius clamp. */
+    private List<FlickrPhoto> observeAndClamp(TargetLocation location, List<FlickrPhoto> page, FetchCounters counters,
+                                              SeedWatermarks watermarks, String strategy) {
+        watermarks.observe(strategy, page);
+        return clampToGtaAndRadius(location, page, counters);
+    }
+
     private List<FlickrPhoto> clampToGtaAndRadius(TargetLocation location, List<FlickrPhoto> photos, FetchCounters counters) {
         counters.fetched += photos.size();
         List<FlickrPhoto> gtaKept = new ArrayList<>();
@@ -2074,6 +2527,45 @@ public class FlickrSeedService {
         }
     }
 
+    private static String quadItemKey(AreaQuad quad) {
+        return "quad:" + quad.getPath();
+    }
+
+    /**
+     * Runs the geo-first searches for one area tile: interestingness plus one or two rotated tag buckets,
+     * issued concurrently. Safe to call from several threads; each strategy gets its own counters.
+     */
+    List<StrategyFetch> fetchTile(String apiKey, TargetLocation tile, int tileIdx, SeedWatermarks watermarks) {
+        // Query A: geo-only interestingness with time-window ladder (no text)
+        FetchCounters interestingCounters = new FetchCounters();
+        CompletableFuture<GeoSearchResult> interestingFetch = flickrClient.supplyAsync(
+                () -> runGeoInterestingnessWithTimeLadder(apiKey, tile, interestingCounters, watermarks));
+
+        // Query B: deterministic bucket rotation based on tile index (1-2 bucket searches)
+        List<StrategyFetchTask> bucketFetches = new ArrayList<>();
+        String[] bucket1 = selectBucketForTile(tileIdx - 1);
+        FetchCounters bucket1Counters = new FetchCounters();
+        bucketFetches.add(new StrategyFetchTask(bucket1[0], bucket1Counters, flickrClient.supplyAsync(
+                () -> runGeoTagBucketWithTimeLadder(apiKey, tile, bucket1, bucket1Counters, watermarks))));
+
+        // Optional second bucket (keep under 3 calls per tile)
+        String[] bucket2 = selectBucketForTile(tileIdx + ALL_BUCKETS.length / 2);
+        if (!bucket2[0].equals(bucket1[0])) {
+            FetchCounters bucket2Counters = new FetchCounters();
+            bucketFetches.add(new StrategyFetchTask(bucket2[0], bucket2Counters, flickrClient.supplyAsync(
+                    () -> runGeoTagBucketWithTimeLadder(apiKey, tile, bucket2, bucket2Counters, watermarks))));
+        }
+
+        List<StrategyFetch> fetches = new ArrayList<>();
+        GeoSearchResult geoInteresting = flickrClient.await(interestingFetch);
+        fetches.add(new StrategyFetch("geo-interesting[" + geoInteresting.timeWindow + "]", geoInteresting.photos, interestingCounters));
+        for (StrategyFetchTask bucketFetch : bucketFetches) {
+            GeoSearchResult bucketResult = flickrClient.await(bucketFetch.result);
+            fetches.add(new StrategyFetch("geo-bucket[" + bucketFetch.name + "," + bucketResult.timeWindow + "]", bucketResult.photos, bucketFetch.counters));
+        }
+        return fetches;
+    }
+
     private void logStrategy(String label, FetchCounters counters, int keptAfterClamp, int uniqueAdded, int dupes) {
         System.out.println(String.format("         [%s] fetched:%d geo-kept:%d gta-kept:%d radius-kept:%d kept:%d unique-added:%d dupes:%d",
                 label,
@@ -2091,14 +2583,14 @@ public class FlickrSeedService {
      * Search by geo location and interestingness with optional time window.
      * No text= parameter - purely location-based discovery.
      */
-    private List<FlickrPhoto> searchPhotosGeoWithTimeWindow(String apiKey, TargetLocation location, String sortOrder, Long minUploadDate) {
+    private FlickrResponse.Photos searchPhotosGeoWithTimeWindow(String apiKey, TargetLocation location, String sortOrder, Long minUploadDate, int page) {
         try {
-            StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+            StringBuilder url = new StringBuilder(flickrApiBase);
             url.append("?method=flickr.photos.search");
             url.append("&api_key=").append(apiKey);
             url.append("&sort=").append(sortOrder);
             url.append("&per_page=").append(PER_PAGE);
-            url.append("&page=1");
+            url.append("&page=").append(page);
             url.append("&extras=").append(EXTRAS);
             url.append("&has_geo=1");
             url.append("&safe_search=1");
@@ -2110,7 +2602,10 @@ public class FlickrSeedService {
                 url.append("&min_upload_date=").append(minUploadDate);
             }
 
-            if (location.hasCoordinates()) {
+            if (location instanceof AreaQuad quad) {
+                url.append("&bbox=").append(quad.toBboxParam());
+                url.append("&accuracy=11");
+            } else if (location.hasCoordinates()) {
                 url.append("&lat=").append(location.getLatitude());
                 url.append("&lon=").append(location.getLongitude());
                 url.append("&radius=").append(location.getRadiusKm());
@@ -2120,14 +2615,14 @@ public class FlickrSeedService {
                 url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
             }
 
-            FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+            FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
             if (response == null || !"ok".equals(response.getStat())) {
-                return new ArrayList<>();
+                return null;
             }
-            return response.getPhotos() != null ? response.getPhotos().getPhoto() : new ArrayList<>();
+            return response.getPhotos();
         } catch (Exception e) {
             System.err.println("         ❌ Error in geo time-window search: " + e.getMessage());
-            return new ArrayList<>();
+            return null;
         }
     }
 
@@ -2135,14 +2630,14 @@ public class FlickrSeedService {
      * Search by geo location and tags with optional time window.
      * No text= parameter - purely tag+location based discovery.
      */
-    private List<FlickrPhoto> searchPhotosGeoTagsWithTimeWindow(String apiKey, TargetLocation location, String sortOrder, String tags, Long minUploadDate) {
+    private FlickrResponse.Photos searchPhotosGeoTagsWithTimeWindow(String apiKey, TargetLocation location, String sortOrder, String tags, Long minUploadDate, int page) {
         try {
-            StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+            StringBuilder url = new StringBuilder(flickrApiBase);
             url.append("?method=flickr.photos.search");
             url.append("&api_key=").append(apiKey);
             url.append("&sort=").append(sortOrder);
             url.append("&per_page=").append(PER_PAGE);
-            url.append("&page=1");
+            url.append("&page=").append(page);
             url.append("&extras=").append(EXTRAS);
             url.append("&has_geo=1");
             url.append("&safe_search=1");
@@ -2159,7 +2654,10 @@ public class FlickrSeedService {
                 url.append("&min_upload_date=").append(minUploadDate);
             }
 
-            if (location.hasCoordinates()) {
+            if (location instanceof AreaQuad quad) {
+                url.append("&bbox=").append(quad.toBboxParam());
+                url.append("&accuracy=11");
+            } else if (location.hasCoordinates()) {
                 url.append("&lat=").append(location.getLatitude());
                 url.append("&lon=").append(location.getLongitude());
                 url.append("&radius=").append(location.getRadiusKm());
@@ -2169,31 +2667,39 @@ public class FlickrSeedService {
                 url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
             }
 
-            FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+            FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
             if (response == null || !"ok".equals(response.getStat())) {
-                return new ArrayList<>();
+                return null;
             }
-            return response.getPhotos() != null ? response.getPhotos().getPhoto() : new ArrayList<>();
+            return response.getPhotos();
         } catch (Exception e) {
             System.err.println("         ❌ Error in geo tags time-window search: " + e.getMessage());
-            return new ArrayList<>();
+            return null;
         }
     }
 
     // ==================== PLACE ID SCOPING ====================
 
     /**
-     * Search with text= and optional place_id scoping.
+     * Lazy page stream for a text= search with optional place_id scoping.
      */
-    private List<FlickrPhoto> searchPhotosWithPlaceScope(String apiKey, TargetLocation location, String sortOrder, String placeId) {
+    private FlickrPhotoStream placeScopedStream(String apiKey, TargetLocation location, String sortOrder, String placeId, Long minUploadDate) {
+        return new FlickrPhotoStream(page -> searchPhotosWithPlaceScope(apiKey, location, sortOrder, placeId, minUploadDate, page),
+                appProperties.getSeed().getMaxPagesPerSearch());
+    }
+
+    /**
+     * Search with text= and optional place_id scoping (one page).
+     */
+    private FlickrResponse.Photos searchPhotosWithPlaceScope(String apiKey, TargetLocation location, String sortOrder, String placeId, Long minUploadDate, int page) {
         try {
-            StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+            StringBuilder url = new StringBuilder(flickrApiBase);
             url.append("?method=flickr.photos.search");
             url.append("&api_key=").append(apiKey);
             url.append("&text=").append(URLEncoder.encode(buildLocalText(location), StandardCharsets.UTF_8));
             url.append("&sort=").append(sortOrder);
             url.append("&per_page=").append(PER_PAGE);
-            url.append("&page=1");
+            url.append("&page=").append(page);
             url.append("&extras=").append(EXTRAS);
             url.append("&has_geo=1");
             url.append("&safe_search=1");
@@ -2201,6 +2707,10 @@ public class FlickrSeedService {
             url.append("&format=json");
             url.append("&nojsoncallback=1");
 
+            if (minUploadDate != null) {
+                url.append("&min_upload_date=").append(minUploadDate);
+            }
+
             if (StringUtils.hasText(placeId) && location.hasCoordinates()) {
                 url.append("&place_id=").append(URLEncoder.encode(placeId, StandardCharsets.UTF_8));
             }
@@ -2215,15 +2725,15 @@ public class FlickrSeedService {
                 url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
             }
 
-            FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+            FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
             if (response == null || !"ok".equals(response.getStat())) {
                 System.err.println("         ⚠️ Flickr API error for " + location.getName() + " with place scope");
-                return new ArrayList<>();
+                return null;
             }
-            return response.getPhotos() != null ? response.getPhotos().getPhoto() : new ArrayList<>();
+            return response.getPhotos();
         } catch (Exception e) {
             System.err.println("         ❌ Error searching with place scope: " + e.getMessage());
-            return new ArrayList<>();
+            return null;
         }
     }
 
@@ -2234,7 +2744,7 @@ public class FlickrSeedService {
      */
     private List<FlickrPhoto> searchGroupWithPlaceScope(String apiKey, TargetLocation location, String groupId, String placeId) {
         try {
-            StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+            StringBuilder url = new StringBuilder(flickrApiBase);
             url.append("?method=flickr.photos.search");
             url.append("&api_key=").append(apiKey);
             url.append("&group_id=").append(groupId);
@@ -2262,7 +2772,7 @@ public class FlickrSeedService {
                 url.append("&bbox=").append(GTA_MIN_LNG).append(",").append(GTA_MIN_LAT).append(",").append(GTA_MAX_LNG).append(",").append(GTA_MAX_LAT);
             }
 
-            FlickrResponse response = restTemplate.getForObject(url.toString(), FlickrResponse.class);
+            FlickrResponse response = flickrClient.get(url.toString(), FlickrResponse.class);
             if (response == null || !"ok".equals(response.getStat())) {
                 return new ArrayList<>();
             }
@@ -2275,19 +2785,18 @@ public class FlickrSeedService {
 
     /**
      * Resolves Flickr place_id for given lat/lon. Returns null if outside GTA or API error.
-     * Results are cached by rounded lat/lon (2 decimal places).
+     * Answers are persisted per rounded cell (see FlickrPlaceCache); API errors are not cached.
      */
     private String resolvePlaceIdForLatLon(String apiKey, double lat, double lng) {
-        // Round to 2 decimals for cache key
-        String cacheKey = String.format("%.2f,%.2f", lat, lng);
-        if (placeIdCache.containsKey(cacheKey)) {
-            String cached = placeIdCache.get(cacheKey);
-            System.out.println("         🗺️ Place ID cache HIT: " + (cached != null ? cached : "(null)"));
-            return cached;
+        String cacheKey = FlickrPlaceCache.cellFor(lat, lng);
+        FlickrPlaceCache.Lookup cached = placeCache.get(cacheKey);
+        if (cached.isCached()) {
+            System.out.println("         🗺️ Place ID cache " + cached.status() + ": " + (cached.placeId() != null ? cached.placeId() : "(none)"));
+            return cached.placeId();
         }
 
         try {
-            StringBuilder url = new StringBuilder(FLICKR_API_BASE);
+            StringBuilder url = new StringBuilder(flickrApiBase);
             url.append("?method=flickr.places.findByLatLon");
             url.append("&api_key=").append(apiKey);
             url.append("&lat=").append(lat);
@@ -2296,21 +2805,19 @@ public class FlickrSeedService {
             url.append("&format=json");
             url.append("&nojsoncallback=1");
 
-            String responseStr = restTemplate.getForObject(url.toString(), String.class);
+            String responseStr = flickrClient.get(url.toString());
             if (responseStr == null) {
-                placeIdCache.put(cacheKey, null);
                 return null;
             }
 
             JsonNode root = objectMapper.readTree(responseStr);
             if (root == null || !"ok".equals(root.path("stat").asText())) {
-                placeIdCache.put(cacheKey, null);
                 return null;
             }
 
             JsonNode places = root.path("places").path("place");
             if (places == null || !places.isArray() || places.isEmpty()) {
-                placeIdCache.put(cacheKey, null);
+                placeCache.put(cacheKey, null);
                 System.out.println("         🗺️ Place ID cache MISS (no places found)");
                 return null;
             }
@@ -2323,26 +2830,22 @@ public class FlickrSeedService {
 
             if (!isWithinGta(placeLat, placeLng)) {
                 System.out.println("         🗺️ Place ID resolved but outside GTA bounds, ignoring");
-                placeIdCache.put(cacheKey, null);
+                placeCache.put(cacheKey, null);
                 return null;
             }
 
             System.out.println("         🗺️ Place ID cache MISS, resolved: " + placeId);
-            placeIdCache.put(cacheKey, placeId);
+            placeCache.put(cacheKey, placeId);
             return placeId;
         } catch (Exception e) {
             System.err.println("         ❌ Error resolving place ID: " + e.getMessage());
-            placeIdCache.put(cacheKey, null);
             return null;
         }
     }
 
-    private long getCurrentUnixSeconds() {
-        return System.currentTimeMillis() / 1000L;
-    }
-
     private Long getMinUploadDateForWindow(String window) {
-        long now = getCurrentUnixSeconds();
+        // Not the wall clock: a recorded seed must send the same min_upload_date to be replayed
+        long now = flickrClient.windowClockSeconds();
         switch (window) {
             case "RECENT":
                 return now - TIME_WINDOW_RECENT;
@@ -2357,13 +2860,25 @@ public class FlickrSeedService {
      * Runs geo-first interestingness search with time window ladder.
      * Starts with RECENT, widens to MID if < MIN_KEEP, then FALLBACK.
      */
-    private GeoSearchResult runGeoInterestingnessWithTimeLadder(String apiKey, TargetLocation location, FetchCounters counters) {
+    private GeoSearchResult runGeoInterestingnessWithTimeLadder(String apiKey, TargetLocation location, FetchCounters counters,
+                                                                SeedWatermarks watermarks) {
+        String strategy = "geo-interesting";
+        Long since = watermarks.since(strategy);
+        if (since != null) {
+            FlickrPhotoStream stream = new FlickrPhotoStream(
+                    page -> searchPhotosGeoWithTimeWindow(apiKey, location, "interestingness-desc", since, page),
+                    appProperties.getSeed().getMaxPagesPerSearch());
+            return new GeoSearchResult(stream.collect(page -> observeAndClamp(location, page, counters, watermarks, strategy), GEO_SEARCH_TARGET), "SINCE");
+        }
+
         String[] windows = {"RECENT", "MID", "FALLBACK"};
         
         for (String window : windows) {
             Long minUploadDate = getMinUploadDateForWindow(window);
-            List<FlickrPhoto> photos = searchPhotosGeoWithTimeWindow(apiKey, location, "interestingness-desc", minUploadDate);
-            List<FlickrPhoto> clamped = clampToGtaAndRadius(location, photos, counters);
+            FlickrPhotoStream stream = new FlickrPhotoStream(
+                    page -> searchPhotosGeoWithTimeWindow(apiKey, location, "interestingness-desc", minUploadDate, page),
+                    appProperties.getSeed().getMaxPagesPerSearch());
+            List<FlickrPhoto> clamped = stream.collect(page -> observeAndClamp(location, page, counters, watermarks, strategy), GEO_SEARCH_TARGET);
             
             if (clamped.size() >= MIN_KEEP_FOR_TIME_WIDEN || "FALLBACK".equals(window)) {
                 return new GeoSearchResult(clamped, window);
@@ -2379,14 +2894,26 @@ public class FlickrSeedService {
     /**
      * Runs geo tag bucket search with time window ladder.
      */
-    private GeoSearchResult runGeoTagBucketWithTimeLadder(String apiKey, TargetLocation location, String[] bucket, FetchCounters counters) {
+    private GeoSearchResult runGeoTagBucketWithTimeLadder(String apiKey, TargetLocation location, String[] bucket, FetchCounters counters,
+                                                          SeedWatermarks watermarks) {
         String tags = String.join(",", bucket);
+        String strategy = "geo-bucket:" + bucket[0];
+        Long since = watermarks.since(strategy);
+        if (since != null) {
+            FlickrPhotoStream stream = new FlickrPhotoStream(
+                    page -> searchPhotosGeoTagsWithTimeWindow(apiKey, location, "relevance", tags, since, page),
+                    appProperties.getSeed().getMaxPagesPerSearch());
+            return new GeoSearchResult(stream.collect(page -> observeAndClamp(location, page, counters, watermarks, strategy), GEO_SEARCH_TARGET), "SINCE");
+        }
+
         String[] windows = {"RECENT", "MID", "FALLBACK"};
         
         for (String window : windows) {
             Long minUploadDate = getMinUploadDateForWindow(window);
-            List<FlickrPhoto> photos = searchPhotosGeoTagsWithTimeWindow(apiKey, location, "relevance", tags, minUploadDate);
-            List<FlickrPhoto> clamped = clampToGtaAndRadius(location, photos, counters);
+            FlickrPhotoStream stream = new FlickrPhotoStream(
+                    page -> searchPhotosGeoTagsWithTimeWindow(apiKey, location, "relevance", tags, minUploadDate, page),
+                    appProperties.getSeed().getMaxPagesPerSearch());
+            List<FlickrPhoto> clamped = stream.collect(page -> observeAndClamp(location, page, counters, watermarks, strategy), GEO_SEARCH_TARGET);
             
             if (clamped.size() >= MIN_KEEP_FOR_TIME_WIDEN || "FALLBACK".equals(window)) {
                 return new GeoSearchResult(clamped, window);
@@ -2436,29 +2963,19 @@ public class FlickrSeedService {
         }
 
         // Sort: prefer non-crowd/event tags, then views desc, then resolution (pixels), then date, then id
-        List<FlickrPhoto> sorted = new ArrayList<>(photos);
-        sorted.sort(Comparator
-                .comparingInt((FlickrPhoto p) -> hasAnyTag(p, CROWD_EVENT_TAGS) ? 1 : 0)
-                .thenComparingInt(FlickrPhoto::getViews).reversed()
-                .thenComparingLong((FlickrPhoto p) -> effectivePixelCount(p)).reversed()
-                .thenComparingLong(FlickrPhoto::getDateUpload).reversed()
-                .thenComparing(FlickrPhoto::getId));
+        List<PhotoFeatures> sorted = photoFeatures(photos);
+        sorted.sort(DIVERSITY_ORDER);
 
         Map<String, Integer> ownerCounts = new HashMap<>();
-        Map<String, Integer> coordBinCounts = new HashMap<>();
+        Map<Long, Integer> coordBinCounts = new HashMap<>();
         List<FlickrPhoto> result = new ArrayList<>();
         int ownerCapped = 0;
         int coordCapped = 0;
 
-        for (FlickrPhoto photo : sorted) {
-            // Use owner (NSID) if available, fallback to ownerName
-            String ownerId = StringUtils.hasText(photo.getOwner()) ? photo.getOwner() : 
-                            (StringUtils.hasText(photo.getOwnerName()) ? photo.getOwnerName() : "unknown");
-            
-            // Coordinate bin key (rounded to 4 decimal places ~ 11m)
-            String coordKey = formattedKey(
-                    roundToPrecision(photo.getLatitude(), HOTSPOT_PRECISION),
-                    roundToPrecision(photo.getLongitude(), HOTSPOT_PRECISION));
+        for (PhotoFeatures features : sorted) {
+            // Owner is the NSID if available, falling back to ownerName; bins are ~11m cells
+            String ownerId = features.ownerId();
+            long coordKey = features.coordBin();
 
             int ownerCount = ownerCounts.getOrDefault(ownerId, 0);
             int coordCount = coordBinCounts.getOrDefault(coordKey, 0);
@@ -2472,7 +2989,7 @@ public class FlickrSeedService {
                 continue;
             }
 
-            result.add(photo);
+            result.add(features.photo());
             ownerCounts.put(ownerId, ownerCount + 1);
             coordBinCounts.put(coordKey, coordCount + 1);
         }
@@ -2492,20 +3009,15 @@ public class FlickrSeedService {
             return photos;
         }
 
-        Set<String> nightVibeTokens = Set.of(NIGHT_VIBE_BUCKET);
-        Set<String> seasonalTokens = Set.of(SEASONAL_BUCKET);
-
         List<FlickrPhoto> nightVibePhotos = new ArrayList<>();
         List<FlickrPhoto> seasonalPhotos = new ArrayList<>();
         List<FlickrPhoto> others = new ArrayList<>();
 
         for (FlickrPhoto photo : photos) {
-            Set<String> tokens = tokenize(photo.getTags());
-            tokens.addAll(tokenize(photo.getTitle()));
-            
-            if (tokens.stream().anyMatch(nightVibeTokens::contains)) {
+            long photoKeywords = KEYWORDS.classify(photo);
+            if ((photoKeywords & KW_NIGHT_VIBE) != 0) {
                 nightVibePhotos.add(photo);
-            } else if (tokens.stream().anyMatch(seasonalTokens::contains)) {
+            } else if ((photoKeywords & KW_SEASONAL) != 0) {
                 seasonalPhotos.add(photo);
             } else {
                 others.add(photo);
@@ -0,0 +1,160 @@
+package com.photospots.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.photospots.config.AppProperties;
+
+/**
+ * Downloads candidate images for the vision stage over the shared keep-alive {@link HttpClient}.
+ *
+ * Callers fetch from many (virtual) threads at once; two limits keep that in check. At most
+ * {@code app.seed.image-host-concurrency} downloads run against one host at a time, and the bytes held by
+ * callers stay within {@code app.seed.image-prefetch-budget-mb}. A download reserves an estimate up
+ * front and is trued up to the real size once it arrives. The reservation is returned when the caller
+ * closes the {@link Image}, so the budget can overshoot briefly but only by that estimation error.
+ */
+@Component
+public class ImagePrefetcher {
+
+    private static final long ESTIMATED_IMAGE_BYTES = 256 * 1024;
+    private static final int ATTEMPTS = 2;
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final int hostConcurrency;
+    private final long budgetBytes;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    // A lock rather than a monitor: fetch runs on virtual threads, which must not pin their carrier
+    // while they wait for budget
+    private final ReentrantLock budgetLock = new ReentrantLock();
+    private final Condition budgetFreed = budgetLock.newCondition();
+    private long reservedBytes;
+
+    public ImagePrefetcher(HttpClient flickrHttpClient, AppProperties appProperties) {
+        this.httpClient = flickrHttpClient;
+        this.readTimeout = Duration.ofMillis(appProperties.getFlickr().getReadTimeoutMs());
+        this.hostConcurrency = Math.max(1, appProperties.getSeed().getImageHostConcurrency());
+        this.budgetBytes = Math.max(1, appProperties.getSeed().getImagePrefetchBudgetMb()) * 1024L * 1024L;
+    }
+
+    /** Downloaded image bytes; close it once the bytes have been consumed to return its share of the budget. */
+    public final class Image implements AutoCloseable {
+        private final byte[] bytes;
+        private long reserved;
+
+        private Image(byte[] bytes, long reserved) {
+            this.bytes = bytes;
+            this.reserved = reserved;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            if (reserved > 0) {
+                release(reserved);
+                reserved = 0;
+            }
+        }
+    }
+
+    /** Blocks until budget and a host slot are available, then downloads; null if the image cannot be fetched. */
+    public Image fetch(String url) throws InterruptedException {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        long reserved = reserve(ESTIMATED_IMAGE_BYTES);
+        byte[] body;
+        try {
+            body = download(uri);
+        } catch (InterruptedException e) {
+            release(reserved);
+            throw e;
+        }
+        if (body == null) {
+            release(reserved);
+            return null;
+        }
+        return new Image(body, adjust(reserved, body.length));
+    }
+
+    private byte[] download(URI uri) throws InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(String.valueOf(uri.getHost()), host -> new Semaphore(hostConcurrency));
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(readTimeout).GET().build();
+        permits.acquire();
+        try {
+            for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+                try {
+                    HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() < 400) {
+                        return response.body();
+                    }
+                    if (response.statusCode() < 500) {
+                        return null; // 404 etc. will not get better on retry
+                    }
+                } catch (IOException e) {
+                    // Timeout or dropped connection: retry once
+                }
+            }
+            return null;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private long reserve(long bytes) throws InterruptedException {
+        budgetLock.lock();
+        try {
+            // A lone request always proceeds, so an image larger than the whole budget cannot stall the stage
+            while (reservedBytes > 0 && reservedBytes + bytes > budgetBytes) {
+                budgetFreed.await();
+            }
+            reservedBytes += bytes;
+            return bytes;
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+
+    private long adjust(long reserved, long actual) {
+        budgetLock.lock();
+        try {
+            reservedBytes += actual - reserved;
+            if (actual < reserved) {
+                budgetFreed.signalAll();
+            }
+            return actual;
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+
+    private void release(long bytes) {
+        budgetLock.lock();
+        try {
+            reservedBytes -= bytes;
+            budgetFreed.signalAll();
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.photospots.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classifies a photo's title and tags against fixed keyword classes in one pass. Each class is a bit;
+ * the result is the OR of the bits of every token found. Tokens are what
+ * {@code text.toLowerCase().split("[^a-z0-9]+")} yields, but they are hashed and looked up in an
+ * open-addressing table straight from the source text, so classifying allocates nothing beyond the
+ * first call's cached mask.
+ *
+ * A base matcher holds the run-wide classes; {@link #withTokens} derives one that also sets a bit for a
+ * location's own tokens. The mask is cached on the {@link FlickrPhoto}. A derived matcher reuses it only
+ * if it computed it; the base matcher reuses any cached mask, because every derived matcher agrees on
+ * the base bits. All matchers in a run must therefore come from one base.
+ */
+public final class KeywordMatcher {
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    private final int id;
+    private final long baseBits;
+    private final Map<String, Long> dictionary;
+    private final char[][] keys;
+    private final long[] values;
+    private final int slotMask;
+
+    private KeywordMatcher(Map<String, Long> dictionary, long baseBits, boolean derived) {
+        this.id = derived ? IDS.incrementAndGet() : 0;
+        this.baseBits = baseBits;
+        this.dictionary = dictionary;
+        int capacity = Integer.highestOneBit(Math.max(4, dictionary.size() * 2) - 1) << 1;
+        this.keys = new char[capacity][];
+        this.values = new long[capacity];
+        this.slotMask = capacity - 1;
+        dictionary.forEach((token, bits) -> {
+            char[] key = token.toCharArray();
+            int slot = hash(key, 0, key.length) & slotMask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & slotMask;
+            }
+            keys[slot] = key;
+            values[slot] = bits;
+        });
+    }
+
+    /** Base matcher: {@code tokensByBit} maps each class bit to its (lower-case, alphanumeric) tokens. */
+    public static KeywordMatcher of(Map<Long, Collection<String>> tokensByBit) {
+        Map<String, Long> dictionary = new LinkedHashMap<>();
+        long baseBits = 0;
+        for (Map.Entry<Long, Collection<String>> entry : tokensByBit.entrySet()) {
+            baseBits |= entry.getKey();
+            for (String token : entry.getValue()) {
+                dictionary.merge(token, entry.getKey(), (a, b) -> a | b);
+            }
+        }
+        return new KeywordMatcher(dictionary, baseBits, false);
+    }
+
+    /** A matcher that additionally sets {@code bit} for any of {@code tokens}; compile once per location. */
+    public KeywordMatcher withTokens(Collection<String> tokens, long bit) {
+        Map<String, Long> extended = new LinkedHashMap<>(dictionary);
+        for (String token : tokens) {
+            extended.merge(token, bit, (a, b) -> a | b);
+        }
+        return new KeywordMatcher(extended, baseBits, true);
+    }
+
+    public long classify(FlickrPhoto photo) {
+        Long cached = photo.getKeywordMask();
+        if (cached != null && (id == 0 || photo.getKeywordMatcherId() == id)) {
+            return id == 0 ? cached & baseBits : cached;
+        }
+        long mask = scan(photo.getTitle()) | scan(photo.getTags());
+        photo.setKeywordMask(mask, id);
+        return mask;
+    }
+
+    public boolean matches(FlickrPhoto photo, long bits) {
+        return (classify(photo) & bits) != 0;
+    }
+
+    long scan(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long mask = 0;
+        int length = text.length();
+        int start = -1;
+        int hash = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (start < 0) {
+                    start = i;
+                    hash = 0;
+                }
+                hash = 31 * hash + c;
+                if (text.charAt(i) == '\u0130') {
+                    // String.toLowerCase() turns İ into "i" plus a combining dot, which ends the token
+                    mask |= lookup(text, start, i + 1, hash);
+                    start = -1;
+                }
+            } else if (start >= 0) {
+                mask |= lookup(text, start, i, hash);
+                start = -1;
+            }
+        }
+        return mask;
+    }
+
+    private long lookup(String text, int start, int end, int hash) {
+        int slot = spread(hash) & slotMask;
+        while (keys[slot] != null) {
+            if (regionEquals(keys[slot], text, start, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return 0;
+    }
+
+    private static boolean regionEquals(char[] key, String text, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != Character.toLowerCase(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(char[] key, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + key[i];
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,108 @@
+package com.photospots.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 64-bit difference hash (dHash) of a photo thumbnail: the image is reduced to a 9x8 grayscale grid by
+ * area averaging and each bit records whether a cell is brighter than its right-hand neighbour. Re-encodes,
+ * resizes and small exposure changes leave most bits alone, so burst shots and re-uploads of one scene
+ * land within a few bits of each other.
+ *
+ * Thumbnails are downloaded through {@link ImagePrefetcher} (per-host and memory limits) on virtual threads.
+ */
+@Component
+public class PerceptualHasher {
+
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+
+    private final ImagePrefetcher imagePrefetcher;
+
+    public PerceptualHasher(ImagePrefetcher imagePrefetcher) {
+        this.imagePrefetcher = imagePrefetcher;
+    }
+
+    /** Hashes {@code urlsById} (photo id to thumbnail URL); photos that cannot be fetched or decoded are absent. */
+    public Map<String, Long> hash(Map<String, String> urlsById) {
+        Map<String, Future<Long>> pending = new HashMap<>();
+        try (ExecutorService downloads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, String> entry : urlsById.entrySet()) {
+                pending.put(entry.getKey(), downloads.submit(() -> {
+                    try (ImagePrefetcher.Image image = imagePrefetcher.fetch(entry.getValue())) {
+                        return image == null ? null : hashBytes(image.bytes());
+                    }
+                }));
+            }
+        }
+
+        Map<String, Long> hashes = new HashMap<>();
+        pending.forEach((photoId, future) -> {
+            try {
+                Long hash = future.get();
+                if (hash != null) {
+                    hashes.put(photoId, hash);
+                }
+            } catch (Exception e) {
+                // Unhashable photos are never treated as duplicates
+            }
+        });
+        return hashes;
+    }
+
+    /** dHash of an encoded image, or null if it cannot be decoded. */
+    static Long hashBytes(byte[] encoded) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+            return image == null ? null : dHash(image);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static long dHash(BufferedImage image) {
+        double[] grid = shrinkToGray(image);
+        long hash = 0;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            for (int x = 0; x < HASH_WIDTH - 1; x++) {
+                hash <<= 1;
+                if (grid[y * HASH_WIDTH + x] > grid[y * HASH_WIDTH + x + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /** Mean luma of each cell of a HASH_WIDTH x HASH_HEIGHT grid laid over the image. */
+    private static double[] shrinkToGray(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+        double[] sums = new double[HASH_WIDTH * HASH_HEIGHT];
+        int[] counts = new int[HASH_WIDTH * HASH_HEIGHT];
+        for (int y = 0; y < height; y++) {
+            int cellRow = (int) ((long) y * HASH_HEIGHT / height) * HASH_WIDTH;
+            for (int x = 0; x < width; x++) {
+                int p = rgb[y * width + x];
+                int cell = cellRow + (int) ((long) x * HASH_WIDTH / width);
+                sums[cell] += 0.299 * ((p >> 16) & 0xFF) + 0.587 * ((p >> 8) & 0xFF) + 0.114 * (p & 0xFF);
+                counts[cell]++;
+            }
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = counts[i] == 0 ? 0 : sums[i] / counts[i];
+        }
+        return sums;
+    }
+}
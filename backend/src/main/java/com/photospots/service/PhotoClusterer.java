@@ -0,0 +1,177 @@
+package com.photospots.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Spatial helpers for turning seeded photos into spots.
+ *
+ * {@link #dbscan} is density-based clustering over a uniform grid hash (cell = eps) on the photos' local
+ * projection ({@link PhotoFeatures#x()}/{@link PhotoFeatures#y()}), so a hotspot that straddles a rounding
+ * boundary stays one cluster.
+ * Neighbour lists are built in parallel for large inputs; expansion is sequential in input order, so
+ * the result is deterministic. {@link SeparationGrid} answers "is any accepted centre within d metres"
+ * by probing neighbouring cells instead of scanning every accepted centre.
+ */
+public final class PhotoClusterer {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+    private static final double METERS_PER_DEGREE = EARTH_RADIUS_METERS * Math.PI / 180.0;
+    private static final int PARALLEL_THRESHOLD = 2_000;
+
+    private PhotoClusterer() {
+    }
+
+    /**
+     * DBSCAN: a photo with at least {@code minPoints} photos (itself included) within {@code epsMeters}
+     * is a core point; clusters are core points joined through shared neighbourhoods plus the border
+     * photos they reach. Noise is dropped. Clusters come back ordered by their first photo in the input.
+     */
+    public static List<List<FlickrPhoto>> dbscan(List<PhotoFeatures> photos, double epsMeters, int minPoints) {
+        int n = photos.size();
+        if (n == 0) {
+            return List.of();
+        }
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = photos.get(i).x();
+            y[i] = photos.get(i).y();
+        }
+
+        Map<Long, int[]> grid = buildGrid(x, y, epsMeters);
+        double epsSquared = epsMeters * epsMeters;
+        IntStream indices = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        int[][] neighbours = new int[n][];
+        indices.forEach(i -> neighbours[i] = neighboursOf(i, x, y, grid, epsMeters, epsSquared));
+
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        List<List<FlickrPhoto>> clusters = new ArrayList<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (label[i] != -1 || neighbours[i].length < minPoints) {
+                continue;
+            }
+            int clusterId = clusters.size();
+            List<FlickrPhoto> members = new ArrayList<>();
+            label[i] = clusterId;
+            queue.add(i);
+            while (!queue.isEmpty()) {
+                int p = queue.poll();
+                members.add(photos.get(p).photo());
+                if (neighbours[p].length < minPoints) {
+                    continue; // border point: belongs to the cluster but does not extend it
+                }
+                for (int q : neighbours[p]) {
+                    if (label[q] == -1) {
+                        label[q] = clusterId;
+                        queue.add(q);
+                    }
+                }
+            }
+            clusters.add(members);
+        }
+        return clusters;
+    }
+
+    /** Accepted cluster centres, indexed by a grid hash with cells at least as large as the separation. */
+    public static final class SeparationGrid {
+        private final double minSeparationMeters;
+        private final double cellMeters;
+        private final double referenceCos;
+        private final Map<Long, List<double[]>> cells = new HashMap<>();
+
+        /** {@code referenceLat} fixes the projection; any latitude in the seeded region will do. */
+        public SeparationGrid(double minSeparationMeters, double referenceLat) {
+            this.minSeparationMeters = minSeparationMeters;
+            // Slack for the projection's scale drift across a metro-sized region; distances are still exact
+            this.cellMeters = minSeparationMeters * 1.05;
+            this.referenceCos = Math.cos(Math.toRadians(referenceLat));
+        }
+
+        /** Adds {lat, lng} unless an accepted centre lies closer than the minimum separation. */
+        public boolean tryAccept(double[] center) {
+            long cx = (long) Math.floor(center[1] * METERS_PER_DEGREE * referenceCos / cellMeters);
+            long cy = (long) Math.floor(center[0] * METERS_PER_DEGREE / cellMeters);
+            for (long dx = -1; dx <= 1; dx++) {
+                for (long dy = -1; dy <= 1; dy++) {
+                    List<double[]> nearby = cells.get(cellKey(cx + dx, cy + dy));
+                    if (nearby == null) {
+                        continue;
+                    }
+                    for (double[] other : nearby) {
+                        if (haversineMeters(other[0], other[1], center[0], center[1]) < minSeparationMeters) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            cells.computeIfAbsent(cellKey(cx, cy), k -> new ArrayList<>()).add(center);
+            return true;
+        }
+    }
+
+    private static Map<Long, int[]> buildGrid(double[] x, double[] y, double cellMeters) {
+        Map<Long, List<Integer>> building = new HashMap<>();
+        for (int i = 0; i < x.length; i++) {
+            building.computeIfAbsent(cellKey(cell(x[i], cellMeters), cell(y[i], cellMeters)), k -> new ArrayList<>()).add(i);
+        }
+        Map<Long, int[]> grid = new HashMap<>(building.size() * 2);
+        building.forEach((key, members) -> grid.put(key, members.stream().mapToInt(Integer::intValue).toArray()));
+        return grid;
+    }
+
+    private static int[] neighboursOf(int i, double[] x, double[] y, Map<Long, int[]> grid, double cellMeters, double epsSquared) {
+        long cx = cell(x[i], cellMeters);
+        long cy = cell(y[i], cellMeters);
+        int[] found = new int[16];
+        int count = 0;
+        for (long dx = -1; dx <= 1; dx++) {
+            for (long dy = -1; dy <= 1; dy++) {
+                int[] members = grid.get(cellKey(cx + dx, cy + dy));
+                if (members == null) {
+                    continue;
+                }
+                for (int j : members) {
+                    double ddx = x[i] - x[j];
+                    double ddy = y[i] - y[j];
+                    if (ddx * ddx + ddy * ddy <= epsSquared) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = j;
+                    }
+                }
+            }
+        }
+        // Sorted so expansion order, and therefore cluster membership order, never depends on hashing
+        int[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static long cell(double meters, double cellMeters) {
+        return (long) Math.floor(meters / cellMeters);
+    }
+
+    private static long cellKey(long cx, long cy) {
+        return (cx << 32) ^ (cy & 0xFFFFFFFFL);
+    }
+
+    private static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+}
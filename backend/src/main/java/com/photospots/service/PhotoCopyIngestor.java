@@ -0,0 +1,165 @@
+package com.photospots.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk photo ingestion: rows are streamed with COPY (CSV) into {@code photos_staging} under a fresh
+ * batch id, then merged into {@code photos} with a single
+ * {@code INSERT ... SELECT ... ON CONFLICT (original_key) DO NOTHING RETURNING}. The staged rows are
+ * removed in the same transaction.
+ *
+ * Accounting is exact: the RETURNING rows are the inserted photos and every other staged row is a
+ * conflict, whether it clashed with an existing photo or repeated a key earlier in the batch. If
+ * anything fails the transaction rolls back and the whole batch counts as failed.
+ */
+@Component
+public class PhotoCopyIngestor {
+
+    private static final String COPY_SQL =
+        "COPY photos_staging (batch_id, ord, spot_id, original_key, variants, lat, lng, phash) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL =
+        "INSERT INTO photos (spot_id, original_key, variants, visibility, lat, lng, geom, phash) " +
+        "SELECT DISTINCT ON (s.original_key) s.spot_id, s.original_key, s.variants, 'public', s.lat, s.lng, " +
+        "       CASE WHEN s.lat IS NOT NULL AND s.lng IS NOT NULL THEN ST_SetSRID(ST_MakePoint(s.lng, s.lat), 4326) END, " +
+        "       s.phash " +
+        "FROM photos_staging s WHERE s.batch_id = ? " +
+        "ORDER BY s.original_key, s.ord " +
+        "ON CONFLICT (original_key) DO NOTHING " +
+        "RETURNING original_key";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PhotoCopyIngestor(SeedDatabase seedDatabase) {
+        this.jdbcTemplate = seedDatabase.getJdbcTemplate();
+    }
+
+    /** One photo row; {@code variantsJson} is the complete variants object, {@code phash} may be null. */
+    public record Row(UUID spotId, String originalKey, String variantsJson, Double lat, Double lng, Long phash) {
+    }
+
+    public static final class Outcome {
+        private final int attempted;
+        private final Set<String> insertedKeys;
+        private final int failed;
+
+        private Outcome(int attempted, Set<String> insertedKeys, int failed) {
+            this.attempted = attempted;
+            this.insertedKeys = insertedKeys;
+            this.failed = failed;
+        }
+
+        public int getAttempted() { return attempted; }
+        public int getInserted() { return insertedKeys.size(); }
+        public int getConflicts() { return failed > 0 ? 0 : attempted - insertedKeys.size(); }
+        public int getFailed() { return failed; }
+        public Set<String> getInsertedKeys() { return insertedKeys; }
+    }
+
+    public Outcome ingest(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return new Outcome(0, Set.of(), 0);
+        }
+        UUID batchId = UUID.randomUUID();
+        try {
+            Set<String> inserted = jdbcTemplate.execute((ConnectionCallback<Set<String>>) con -> inTransaction(con, batchId, rows));
+            return new Outcome(rows.size(), inserted, 0);
+        } catch (DataAccessException e) {
+            System.out.println("      ⚠️  Photo ingest failed (" + rows.size() + " rows): " + e.getMessage());
+            return new Outcome(rows.size(), Set.of(), rows.size());
+        }
+    }
+
+    private Set<String> inTransaction(Connection con, UUID batchId, List<Row> rows) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            copyRows(con, batchId, rows);
+            Set<String> inserted = new HashSet<>();
+            try (PreparedStatement merge = con.prepareStatement(MERGE_SQL)) {
+                merge.setObject(1, batchId);
+                try (ResultSet rs = merge.executeQuery()) {
+                    while (rs.next()) {
+                        inserted.add(rs.getString(1));
+                    }
+                }
+            }
+            try (PreparedStatement cleanup = con.prepareStatement("DELETE FROM photos_staging WHERE batch_id = ?")) {
+                cleanup.setObject(1, batchId);
+                cleanup.executeUpdate();
+            }
+            con.commit();
+            return inserted;
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void copyRows(Connection con, UUID batchId, List<Row> rows) throws SQLException {
+        CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder line = new StringBuilder(512);
+            String batch = batchId.toString();
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                line.setLength(0);
+                line.append(batch).append(',').append(i).append(',').append(row.spotId()).append(',');
+                appendQuoted(line, row.originalKey());
+                line.append(',');
+                appendQuoted(line, row.variantsJson());
+                line.append(',');
+                if (row.lat() != null) {
+                    line.append(row.lat().doubleValue());
+                }
+                line.append(',');
+                if (row.lng() != null) {
+                    line.append(row.lng().doubleValue());
+                }
+                line.append(',');
+                if (row.phash() != null) {
+                    line.append(row.phash().longValue());
+                }
+                line.append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    /** CSV field: always quoted (an unquoted empty field would read as NULL), quotes doubled, NULs dropped. */
+    private static void appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append("\"\"");
+            } else if (c != '\0') {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,79 @@
+package com.photospots.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Ranking inputs for one photo, computed once per stage instead of inside comparators: primitive sort
+ * keys, the owner id used for diversity caps, the ~11m coordinate bin (4-decimal rounding, the same cells
+ * as HOTSPOT_PRECISION) and the photo's position in metres in a local projection around the batch centroid.
+ */
+public record PhotoFeatures(FlickrPhoto photo, int views, long pixels, long dateUpload, boolean largeUrl,
+                            boolean crowd, String ownerId, long coordBin, double x, double y) {
+
+    private static final double METERS_PER_DEGREE = 6_371_000.0 * Math.PI / 180.0;
+    private static final int BIN_DECIMALS = 4;
+
+    public static List<PhotoFeatures> of(List<FlickrPhoto> photos, Predicate<FlickrPhoto> crowd) {
+        List<PhotoFeatures> features = new ArrayList<>(photos.size());
+        if (photos.isEmpty()) {
+            return features;
+        }
+        double lat0 = 0;
+        double lng0 = 0;
+        for (FlickrPhoto photo : photos) {
+            lat0 += photo.getLatitude();
+            lng0 += photo.getLongitude();
+        }
+        lat0 /= photos.size();
+        lng0 /= photos.size();
+        double cosLat0 = Math.cos(Math.toRadians(lat0));
+
+        for (FlickrPhoto photo : photos) {
+            features.add(new PhotoFeatures(
+                    photo,
+                    photo.getViews(),
+                    pixelCount(photo),
+                    photo.getDateUpload(),
+                    StringUtils.hasText(photo.getUrlO()) || StringUtils.hasText(photo.getUrlL()),
+                    crowd.test(photo),
+                    StringUtils.hasText(photo.getOwner()) ? photo.getOwner() : (StringUtils.hasText(photo.getOwnerName()) ? photo.getOwnerName() : "unknown"),
+                    coordBin(photo.getLatitude(), photo.getLongitude()),
+                    (photo.getLongitude() - lng0) * METERS_PER_DEGREE * cosLat0,
+                    (photo.getLatitude() - lat0) * METERS_PER_DEGREE));
+        }
+        return features;
+    }
+
+    /** Approximate pixel count for preferred resolution ordering (larger preferred). */
+    public static long pixelCount(FlickrPhoto photo) {
+        if (photo.getWidthO() > 0 && photo.getHeightO() > 0) {
+            return (long) photo.getWidthO() * (long) photo.getHeightO();
+        }
+        if (photo.getWidthL() > 0 && photo.getHeightL() > 0) {
+            return (long) photo.getWidthL() * (long) photo.getHeightL();
+        }
+        return 0;
+    }
+
+    /** Latitude of the bin's rounded corner, as the old formatted "lat,lng" keys had it. */
+    public static double binLat(long coordBin) {
+        return (int) (coordBin >> 32) / 10_000.0;
+    }
+
+    public static double binLng(long coordBin) {
+        return (int) coordBin / 10_000.0;
+    }
+
+    /** Both coordinates rounded HALF_UP to 4 decimals (as roundToPrecision does) and packed into one long. */
+    private static long coordBin(double lat, double lng) {
+        long latE4 = BigDecimal.valueOf(lat).setScale(BIN_DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValue();
+        long lngE4 = BigDecimal.valueOf(lng).setScale(BIN_DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValue();
+        return (latE4 << 32) | (lngE4 & 0xFFFFFFFFL);
+    }
+}
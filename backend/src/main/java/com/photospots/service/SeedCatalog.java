@@ -0,0 +1,50 @@
+package com.photospots.service;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The seed targets bundled with the app: landmarks from {@code seed/locations.json} and areas from
+ * {@code seed/areas.json}. Read on each call, so both the CLI runner and admin jobs see the shipped files.
+ */
+@Component
+public class SeedCatalog {
+
+    /** Checkpoint scope of a landmark run over the whole of locations.json. */
+    public static final String LANDMARK_SCOPE = "locations.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public List<TargetLocation> loadTargetLocations() {
+        try (InputStream is = new ClassPathResource("seed/locations.json").getInputStream()) {
+            return objectMapper.readValue(is, new TypeReference<List<TargetLocation>>() {});
+        } catch (Exception ex) {
+            System.err.println("⚠️  Failed to load locations.json, falling back to empty list: " + ex.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    public List<AreaConfig> loadAreas() {
+        try (InputStream is = new ClassPathResource("seed/areas.json").getInputStream()) {
+            return objectMapper.readValue(is, new TypeReference<List<AreaConfig>>() {});
+        } catch (Exception ex) {
+            System.err.println("⚠️  Failed to load areas.json, falling back to empty list: " + ex.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /** The area with this key (case-insensitive), or null. */
+    public AreaConfig findArea(String areaKey) {
+        return loadAreas().stream()
+                .filter(a -> a.getKey().equalsIgnoreCase(areaKey))
+                .findFirst()
+                .orElse(null);
+    }
+}
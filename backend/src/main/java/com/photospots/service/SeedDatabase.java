@@ -0,0 +1,39 @@
+package com.photospots.service;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.photospots.config.AppProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Connection pool used only by seeding, so a long seed job can never hold the connections request traffic
+ * needs. It is built from the regular {@code spring.datasource} settings with its own size
+ * ({@code app.seed.db-pool-size}). Neither the pool nor its JdbcTemplate is a bean, so the application's
+ * own DataSource and JdbcTemplate are still auto-configured as usual. Connections open on first use.
+ */
+@Component
+public class SeedDatabase {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeedDatabase(DataSourceProperties dataSourceProperties, AppProperties appProperties) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("seed");
+        this.dataSource.setMaximumPoolSize(Math.max(1, appProperties.getSeed().getDbPoolSize()));
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,240 @@
+package com.photospots.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.photospots.dto.SeedJobDto;
+import com.photospots.service.FlickrSeedService.SeedResult;
+
+/**
+ * One admin seed job (see {@link SeedJobService}): what to seed, its lifecycle and progress counters, and
+ * the recent progress events, which are replayed to every new stream subscriber before live ones. Item
+ * progress arrives through the job's {@link SeedRunService.SeedRun} listener, from any seeding thread;
+ * all state changes and event delivery are serialised on the job.
+ */
+public class SeedJob implements SeedRunService.ItemListener {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private static final int MAX_EVENTS = 200;
+
+    private record Event(long id, String name, Object data) {
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final String kind;
+    private final String scope;
+    private final boolean vision;
+    private final boolean incremental;
+    private final String submittedBy;
+    private final Instant submittedAt = Instant.now();
+    private final List<TargetLocation> locations;
+    private final AreaConfig area;
+
+    private Status status = Status.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private UUID runId;
+    private int itemsTotal;
+    private int itemsCompleted;
+    private int itemsFailed;
+    private int photosAttempted;
+    private int photosInserted;
+    private String error;
+    private Future<?> future;
+    private volatile boolean cancelRequested;
+
+    private long nextEventId;
+    private final Deque<Event> events = new ArrayDeque<>();
+    private final List<SseEmitter> subscribers = new ArrayList<>();
+
+    SeedJob(String kind, String scope, boolean vision, boolean incremental, String submittedBy,
+            List<TargetLocation> locations, AreaConfig area) {
+        this.kind = kind;
+        this.scope = scope;
+        this.vision = vision;
+        this.incremental = incremental;
+        this.submittedBy = submittedBy;
+        this.locations = locations;
+        this.area = area;
+    }
+
+    public UUID getId() { return id; }
+    public String getKind() { return kind; }
+    public String getScope() { return scope; }
+    public boolean isVision() { return vision; }
+    public boolean isIncremental() { return incremental; }
+    public List<TargetLocation> getLocations() { return locations; }
+    public AreaConfig getArea() { return area; }
+    public boolean isCancelRequested() { return cancelRequested; }
+
+    public synchronized boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+
+    synchronized void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /** Moves a queued job to running; false if it was cancelled while waiting. */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        emit("status", snapshot());
+        return true;
+    }
+
+    /** Binds the job to its checkpointed run; {@code itemsTotal} is 0 when not known up front (area jobs). */
+    synchronized void attachRun(SeedRunService.SeedRun run, int itemsTotal) {
+        this.runId = run.getId();
+        this.itemsTotal = itemsTotal;
+        run.setListener(this);
+        emit("status", snapshot());
+    }
+
+    /** An item finished by an earlier, interrupted run of the same scope. */
+    synchronized void restored(String itemKey, SeedResult result) {
+        itemsCompleted++;
+        photosAttempted += result.getPhotosAttempted();
+        photosInserted += result.getInsertedPhotos();
+        emit("item", itemEvent(itemKey, "restored", null));
+    }
+
+    @Override
+    public synchronized void completed(String itemKey, SeedResult result) {
+        itemsCompleted++;
+        photosAttempted += result.getPhotosAttempted();
+        photosInserted += result.getInsertedPhotos();
+        emit("item", itemEvent(itemKey, "completed", null));
+    }
+
+    @Override
+    public synchronized void failed(String itemKey, String itemError) {
+        itemsFailed++;
+        emit("item", itemEvent(itemKey, "failed", itemError));
+    }
+
+    synchronized void finish(Status finalStatus, String finalError) {
+        if (!isActive()) {
+            return;
+        }
+        status = finalStatus;
+        error = finalError;
+        finishedAt = Instant.now();
+        emit("status", snapshot());
+        // Copied first: completion callbacks unsubscribe, possibly on this thread
+        List<SseEmitter> open = new ArrayList<>(subscribers);
+        subscribers.clear();
+        open.forEach(SseEmitter::complete);
+    }
+
+    /**
+     * Queued jobs are dropped at once. A running job is interrupted: Flickr calls it has not sent yet are
+     * skipped (including ones waiting for a rate-limit permit), and locations and tiles in progress abort
+     * before storing anything, between strategies or pipeline items. A call already on the wire finishes
+     * first. The run stays resumable, so finished items are not redone by a later job.
+     */
+    synchronized void cancel() {
+        if (!isActive()) {
+            return;
+        }
+        cancelRequested = true;
+        if (status == Status.QUEUED) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            finish(Status.CANCELLED, null);
+        } else if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /** A stream that first replays the retained events; completed at once if the job has already finished. */
+    synchronized SseEmitter subscribe(long timeoutMs) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        try {
+            for (Event event : events) {
+                emitter.send(SseEmitter.event().id(Long.toString(event.id)).name(event.name).data(event.data));
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        if (!isActive()) {
+            emitter.complete();
+            return emitter;
+        }
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+        return emitter;
+    }
+
+    private synchronized void unsubscribe(SseEmitter emitter) {
+        subscribers.remove(emitter);
+    }
+
+    public synchronized SeedJobDto snapshot() {
+        SeedJobDto dto = new SeedJobDto();
+        dto.setId(id);
+        dto.setKind(kind);
+        dto.setScope(scope);
+        dto.setStatus(status.name().toLowerCase(Locale.ROOT));
+        dto.setVision(vision);
+        dto.setIncremental(incremental);
+        dto.setSubmittedBy(submittedBy);
+        dto.setSubmittedAt(submittedAt);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setRunId(runId);
+        dto.setItemsTotal(itemsTotal);
+        dto.setItemsCompleted(itemsCompleted);
+        dto.setItemsFailed(itemsFailed);
+        dto.setPhotosAttempted(photosAttempted);
+        dto.setPhotosInserted(photosInserted);
+        dto.setError(error);
+        return dto;
+    }
+
+    private Map<String, Object> itemEvent(String itemKey, String itemStatus, String itemError) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("item", itemKey);
+        data.put("status", itemStatus);
+        if (itemError != null) {
+            data.put("error", itemError);
+        }
+        data.put("job", snapshot());
+        return data;
+    }
+
+    private void emit(String name, Object data) {
+        Event event = new Event(nextEventId++, name, data);
+        events.addLast(event);
+        if (events.size() > MAX_EVENTS) {
+            events.removeFirst();
+        }
+        // A subscriber that cannot be written to has gone away; drop it now rather than wait for its callbacks
+        for (SseEmitter subscriber : new ArrayList<>(subscribers)) {
+            try {
+                subscriber.send(SseEmitter.event().id(Long.toString(event.id)).name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.photospots.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.photospots.config.AppProperties;
+import com.photospots.dto.SeedJobDto;
+import com.photospots.dto.SeedJobRequest;
+import com.photospots.service.FlickrSeedService.SeedResult;
+import com.photospots.service.SeedRunService.SeedRun;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs seeding inside the long-running service as admin jobs, the in-process counterpart of
+ * SeedPhotosRunner. Jobs go through a bounded executor: {@code app.seed.job-concurrency} run at once and
+ * up to {@code job-queue-capacity} wait, beyond which submissions are refused. Inside a job, locations run
+ * {@code job-location-concurrency} at a time.
+ *
+ * Isolation from request traffic: seeding uses its own connection pool ({@link SeedDatabase}), only seeding
+ * calls Flickr and every job shares the one {@link FlickrRateLimiter}. CPU is not isolated: a job runs on the
+ * same cores as request handling. The job and location caps, plus {@code app.seed.vision-workers} and
+ * {@code app.seed.blur-threads} (a quarter of the cores each by default), bound how much of it a job takes. Jobs checkpoint through seed_runs like CLI runs, so a cancelled or crashed job's
+ * finished items are restored when the same scope is seeded again. Job records are kept in memory only.
+ */
+@Service
+public class SeedJobService {
+
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final long STREAM_TIMEOUT_MS = 30 * 60_000L;
+
+    private final FlickrSeedService flickrSeedService;
+    private final SeedRunService seedRunService;
+    private final SeedCatalog seedCatalog;
+    private final AppProperties appProperties;
+    private final ThreadPoolExecutor executor;
+    // Insertion-ordered so the oldest finished jobs are evicted first
+    private final Map<UUID, SeedJob> jobs = new LinkedHashMap<>();
+
+    public SeedJobService(FlickrSeedService flickrSeedService, SeedRunService seedRunService, SeedCatalog seedCatalog,
+                          AppProperties appProperties) {
+        this.flickrSeedService = flickrSeedService;
+        this.seedRunService = seedRunService;
+        this.seedCatalog = seedCatalog;
+        this.appProperties = appProperties;
+        int workers = Math.max(1, appProperties.getSeed().getJobConcurrency());
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, appProperties.getSeed().getJobQueueCapacity())),
+                Thread.ofPlatform().name("seed-job-", 1).daemon(true).factory());
+    }
+
+    public boolean isAdmin(String subject) {
+        return subject != null && appProperties.getSeed().getAdminSubjects().contains(subject);
+    }
+
+    /**
+     * Queues a job for an area ({@code areaKey}) or for landmarks ({@code locations}, all of locations.json
+     * when empty). Throws IllegalArgumentException for an invalid request, IllegalStateException when a job
+     * for the same scope is still active and RejectedExecutionException when the queue is full.
+     */
+    public SeedJobDto submit(SeedJobRequest request, String submittedBy) {
+        boolean vision = request.getVision() == null || request.getVision();
+        boolean incremental = Boolean.TRUE.equals(request.getIncremental());
+        // Incremental passes checkpoint separately so they never resume (or get resumed by) a full run
+        String scopeSuffix = incremental ? ":incremental" : "";
+        List<String> names = request.getLocations() == null ? List.of() : request.getLocations();
+
+        SeedJob job;
+        if (StringUtils.hasText(request.getAreaKey())) {
+            if (!names.isEmpty()) {
+                throw new IllegalArgumentException("Give either areaKey or locations, not both");
+            }
+            AreaConfig area = seedCatalog.findArea(request.getAreaKey());
+            if (area == null) {
+                throw new IllegalArgumentException("Unknown area key: " + request.getAreaKey());
+            }
+            job = new SeedJob(SeedRunService.MODE_AREA, area.getKey() + scopeSuffix, vision, incremental, submittedBy, List.of(), area);
+        } else {
+            List<TargetLocation> locations = selectLocations(names);
+            String scope = names.isEmpty() ? SeedCatalog.LANDMARK_SCOPE
+                    : SeedCatalog.LANDMARK_SCOPE + ":" + locations.stream().map(TargetLocation::getName).sorted().collect(Collectors.joining("|"));
+            job = new SeedJob(SeedRunService.MODE_LANDMARKS, scope + scopeSuffix, vision, incremental, submittedBy, locations, null);
+        }
+
+        synchronized (jobs) {
+            // Two jobs on one scope would resume the same seed_runs row concurrently
+            for (SeedJob other : jobs.values()) {
+                if (other.isActive() && other.getKind().equals(job.getKind()) && other.getScope().equals(job.getScope())) {
+                    throw new IllegalStateException("Seed job " + other.getId() + " for " + job.getScope() + " is still active");
+                }
+            }
+            job.setFuture(executor.submit(() -> run(job)));
+            jobs.put(job.getId(), job);
+            evictFinished();
+        }
+        System.out.println("🧾 Seed job " + job.getId() + " queued (" + job.getKind() + " " + job.getScope() + ") by " + submittedBy);
+        return job.snapshot();
+    }
+
+    /** Newest first. */
+    public List<SeedJobDto> list() {
+        List<SeedJobDto> snapshots = new ArrayList<>();
+        synchronized (jobs) {
+            for (SeedJob job : jobs.values()) {
+                snapshots.add(job.snapshot());
+            }
+        }
+        Collections.reverse(snapshots);
+        return snapshots;
+    }
+
+    public Optional<SeedJobDto> get(UUID id) {
+        return find(id).map(SeedJob::snapshot);
+    }
+
+    public Optional<SeedJobDto> cancel(UUID id) {
+        Optional<SeedJob> job = find(id);
+        job.ifPresent(SeedJob::cancel);
+        // Frees the slot of a cancelled queued job straight away
+        executor.purge();
+        return job.map(SeedJob::snapshot);
+    }
+
+    public Optional<SseEmitter> subscribe(UUID id) {
+        return find(id).map(job -> job.subscribe(STREAM_TIMEOUT_MS));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(SeedJob::cancel);
+        }
+        executor.shutdownNow();
+    }
+
+    private Optional<SeedJob> find(UUID id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    private void evictFinished() {
+        var iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_RETAINED_JOBS && iterator.hasNext()) {
+            if (!iterator.next().isActive()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private List<TargetLocation> selectLocations(List<String> names) {
+        List<TargetLocation> catalog = seedCatalog.loadTargetLocations();
+        if (names.isEmpty()) {
+            return catalog;
+        }
+        Map<String, TargetLocation> byName = new LinkedHashMap<>();
+        for (TargetLocation location : catalog) {
+            byName.put(location.getName().toLowerCase(Locale.ROOT), location);
+        }
+        List<TargetLocation> selected = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        for (String name : names) {
+            TargetLocation location = name == null ? null : byName.get(name.trim().toLowerCase(Locale.ROOT));
+            if (location == null) {
+                unknown.add(name);
+            } else if (!selected.contains(location)) {
+                selected.add(location);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown locations: " + unknown);
+        }
+        return selected;
+    }
+
+    private void run(SeedJob job) {
+        if (!job.start()) {
+            return;
+        }
+        System.out.println("🚀 Seed job " + job.getId() + " started");
+        try {
+            boolean closed = SeedRunService.MODE_AREA.equals(job.getKind()) ? runArea(job) : runLandmarks(job);
+            if (job.isCancelRequested()) {
+                job.finish(SeedJob.Status.CANCELLED, null);
+            } else if (!closed) {
+                job.finish(SeedJob.Status.FAILED, "Some items failed; submit the same scope again to retry them");
+            } else {
+                job.finish(SeedJob.Status.COMPLETED, null);
+            }
+        } catch (Exception e) {
+            if (job.isCancelRequested()) {
+                job.finish(SeedJob.Status.CANCELLED, null);
+            } else {
+                System.err.println("   ❌ Seed job " + job.getId() + " failed: " + e.getMessage());
+                job.finish(SeedJob.Status.FAILED, String.valueOf(e.getMessage()));
+            }
+        }
+        System.out.println("🏁 Seed job " + job.getId() + " " + job.snapshot().getStatus());
+    }
+
+    /** Returns whether the run was closed, i.e. no item failed. */
+    private boolean runArea(SeedJob job) throws Exception {
+        SeedRun run = seedRunService.startOrResume(SeedRunService.MODE_AREA, job.getScope(), job.isVision(), false);
+        job.attachRun(run, 0);
+        SeedResult result;
+        try {
+            result = flickrSeedService.seedArea(job.getArea(), job.isVision(), run, job.isIncremental());
+        } catch (Exception e) {
+            if (!job.isCancelRequested()) {
+                seedRunService.fail(run, SeedRunService.AREA_FINALIZE_ITEM, e.getMessage());
+            }
+            throw e;
+        }
+        seedRunService.complete(run, SeedRunService.AREA_FINALIZE_ITEM, result, null);
+        return seedRunService.finish(run);
+    }
+
+    private boolean runLandmarks(SeedJob job) throws Exception {
+        List<TargetLocation> locations = job.getLocations();
+        SeedRun run = seedRunService.startOrResume(SeedRunService.MODE_LANDMARKS, job.getScope(), job.isVision(), false);
+        job.attachRun(run, locations.size());
+
+        Semaphore permits = new Semaphore(Math.max(1, appProperties.getSeed().getJobLocationConcurrency()));
+        try (ExecutorService locationExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (TargetLocation location : locations) {
+                if (run.isCompleted(location.getName())) {
+                    job.restored(location.getName(), run.getResult(location.getName()));
+                    continue;
+                }
+                locationExecutor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        if (job.isCancelRequested()) {
+                            return;
+                        }
+                        seedRunService.markRunning(run, location.getName());
+                        SeedResult result = flickrSeedService.seedLocation(location, job.isVision(), job.isIncremental());
+                        seedRunService.complete(run, location.getName(), result, null);
+                    } catch (Exception e) {
+                        // An interrupted location stays 'running' and is simply redone when the scope resumes
+                        if (!job.isCancelRequested()) {
+                            seedRunService.fail(run, location.getName(), String.valueOf(e.getMessage()));
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        return job.isCancelRequested() || seedRunService.finish(run);
+    }
+}
@@ -0,0 +1,319 @@
+package com.photospots.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a list of seed work items through stages connected by bounded queues, so the network, CPU-bound
+ * filtering, vision and DB writes of different items overlap. Each stage has its own number of workers
+ * (virtual threads); a full queue blocks the stage feeding it, so no stage runs more than the queue
+ * capacity ahead of the next one.
+ *
+ * Stages may finish items out of order, but the sink receives them strictly in input order on the calling
+ * thread, so results are deterministic as long as a stage's work on one item does not depend on another
+ * item. The sink can stop the run early; items already in flight are discarded.
+ *
+ * Items finished ahead of a slow one wait in a reorder buffer. An item is only admitted while fewer than
+ * {@code queueCapacity} plus the total stage concurrency are admitted but not yet delivered, so one slow
+ * item stalls the input (and with it every stage) instead of letting that buffer grow with the run. The
+ * sink itself never stops reading, since the worker holding the next item in order may be waiting for room
+ * in the last queue.
+ */
+public final class SeedPipeline<T> {
+
+    @FunctionalInterface
+    public interface Stage<I, O> {
+        O apply(I item) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Sink<I> {
+        /** Consumes the next item in input order; returns false to stop the pipeline. */
+        boolean accept(I item) throws Exception;
+    }
+
+    private static final Envelope END = new Envelope(-1, null);
+    private static final long SINK_POLL_MS = 100;
+
+    private final String name;
+    private final List<?> items;
+    private final int queueCapacity;
+    private final List<StageSpec> stages;
+
+    private SeedPipeline(String name, List<?> items, int queueCapacity, List<StageSpec> stages) {
+        this.name = name;
+        this.items = items;
+        this.queueCapacity = queueCapacity;
+        this.stages = stages;
+    }
+
+    /** A pipeline over {@code items}; every queue between stages holds at most {@code queueCapacity} items. */
+    public static <T> SeedPipeline<T> over(String name, List<T> items, int queueCapacity) {
+        return new SeedPipeline<>(name, items, Math.max(1, queueCapacity), List.of());
+    }
+
+    /** Adds a stage run by {@code concurrency} workers; {@code stage} must be safe to call from all of them. */
+    @SuppressWarnings("unchecked")
+    public <R> SeedPipeline<R> then(String stageName, int concurrency, Stage<? super T, ? extends R> stage) {
+        List<StageSpec> next = new ArrayList<>(stages);
+        next.add(new StageSpec(stageName, Math.max(1, concurrency), (Stage<Object, Object>) (Stage<?, ?>) stage));
+        return new SeedPipeline<>(name, items, queueCapacity, next);
+    }
+
+    /**
+     * Runs the pipeline, handing each result to {@code sink} in input order, and returns per-stage metrics.
+     * The first exception thrown by a stage or the sink stops every stage and is rethrown here.
+     */
+    @SuppressWarnings("unchecked")
+    public Report drain(String sinkName, Sink<? super T> sink) throws Exception {
+        List<BlockingQueue<Envelope>> queues = new ArrayList<>();
+        for (int i = 0; i <= stages.size(); i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        List<StageMetrics> metrics = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean closing = new AtomicBoolean();
+        long startedAt = System.nanoTime();
+        int delivered = 0;
+        boolean stopped = false;
+        // Admitted but not yet delivered: everything in the queues, the workers and the reorder buffer
+        Semaphore window = new Semaphore(reorderCapacity());
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < items.size(); i++) {
+                        window.acquire();
+                        queues.get(0).put(new Envelope(i, items.get(i)));
+                    }
+                    queues.get(0).put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            for (int s = 0; s < stages.size(); s++) {
+                StageSpec spec = stages.get(s);
+                StageMetrics stageMetrics = new StageMetrics(spec.name, spec.concurrency);
+                metrics.add(stageMetrics);
+                BlockingQueue<Envelope> in = queues.get(s);
+                BlockingQueue<Envelope> out = queues.get(s + 1);
+                AtomicInteger running = new AtomicInteger(spec.concurrency);
+                for (int w = 0; w < spec.concurrency; w++) {
+                    executor.submit(() -> {
+                        try {
+                            while (true) {
+                                Envelope envelope = stageMetrics.take(in);
+                                if (envelope == END) {
+                                    // Pass the marker on to sibling workers; the last one to finish forwards it
+                                    in.put(END);
+                                    if (running.decrementAndGet() == 0) {
+                                        out.put(END);
+                                    }
+                                    return;
+                                }
+                                long began = System.nanoTime();
+                                Object result = spec.stage.apply(envelope.item);
+                                stageMetrics.busyNanos.add(System.nanoTime() - began);
+                                stageMetrics.items.increment();
+                                stageMetrics.put(out, new Envelope(envelope.seq, result));
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (Throwable t) {
+                            // Work cut short by the shutdown below is not a failure of the run
+                            if (!closing.get()) {
+                                failure.compareAndSet(null, t);
+                            }
+                        }
+                    });
+                }
+            }
+
+            // Results are released to the sink in input order; the admission window bounds what waits here
+            StageMetrics sinkMetrics = new StageMetrics(sinkName, 1);
+            metrics.add(sinkMetrics);
+            BlockingQueue<Envelope> last = queues.get(stages.size());
+            Map<Integer, Object> waiting = new HashMap<>();
+            boolean ended = false;
+            while (!ended && !stopped) {
+                if (failure.get() != null) {
+                    break;
+                }
+                Envelope envelope = sinkMetrics.poll(last);
+                if (envelope == null) {
+                    continue;
+                }
+                if (envelope == END) {
+                    ended = true;
+                } else {
+                    waiting.put(envelope.seq, envelope.item);
+                }
+                while (!stopped && waiting.containsKey(delivered)) {
+                    long began = System.nanoTime();
+                    boolean proceed = ((Sink<Object>) sink).accept(waiting.remove(delivered));
+                    sinkMetrics.busyNanos.add(System.nanoTime() - began);
+                    sinkMetrics.items.increment();
+                    delivered++;
+                    window.release();
+                    stopped = !proceed;
+                }
+            }
+        } finally {
+            closing.set(true);
+            // Unblocks workers waiting on a queue after a stop or failure; a no-op once they have finished
+            executor.shutdownNow();
+            executor.close();
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof Exception e) {
+            throw e;
+        }
+        if (error != null) {
+            throw new IllegalStateException("Seed pipeline " + name + " failed", error);
+        }
+        return new Report(name, items.size(), delivered, stopped, System.nanoTime() - startedAt, metrics, queueCapacity);
+    }
+
+    /** Most items admitted but not yet delivered: a queue's worth plus one per stage worker. */
+    int reorderCapacity() {
+        int concurrency = 0;
+        for (StageSpec stage : stages) {
+            concurrency += stage.concurrency;
+        }
+        return queueCapacity + concurrency;
+    }
+
+    private static final class Envelope {
+        final int seq;
+        final Object item;
+
+        Envelope(int seq, Object item) {
+            this.seq = seq;
+            this.item = item;
+        }
+    }
+
+    private static final class StageSpec {
+        final String name;
+        final int concurrency;
+        final Stage<Object, Object> stage;
+
+        StageSpec(String name, int concurrency, Stage<Object, Object> stage) {
+            this.name = name;
+            this.concurrency = concurrency;
+            this.stage = stage;
+        }
+    }
+
+    /** Counters for one stage; queue depth is how many items were still waiting each time the stage took one. */
+    public static final class StageMetrics {
+        private final String name;
+        private final int concurrency;
+        private final LongAdder items = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+        private final LongAdder depthSum = new LongAdder();
+        private final LongAdder depthSamples = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+
+        private StageMetrics(String name, int concurrency) {
+            this.name = name;
+            this.concurrency = concurrency;
+        }
+
+        private Envelope take(BlockingQueue<Envelope> in) throws InterruptedException {
+            Envelope envelope = in.take();
+            sampleDepth(in.size());
+            return envelope;
+        }
+
+        private Envelope poll(BlockingQueue<Envelope> in) throws InterruptedException {
+            Envelope envelope = in.poll(SINK_POLL_MS, TimeUnit.MILLISECONDS);
+            if (envelope != null) {
+                sampleDepth(in.size());
+            }
+            return envelope;
+        }
+
+        /** Time spent waiting for room downstream is backpressure, reported separately from work. */
+        private void put(BlockingQueue<Envelope> out, Envelope envelope) throws InterruptedException {
+            if (!out.offer(envelope)) {
+                long began = System.nanoTime();
+                out.put(envelope);
+                blockedNanos.add(System.nanoTime() - began);
+            }
+        }
+
+        private void sampleDepth(int depth) {
+            depthSum.add(depth);
+            depthSamples.increment();
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+
+        public String getName() { return name; }
+        public int getConcurrency() { return concurrency; }
+        public long getItems() { return items.sum(); }
+        public long getBusyMillis() { return TimeUnit.NANOSECONDS.toMillis(busyNanos.sum()); }
+        public long getBlockedMillis() { return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum()); }
+        public int getMaxQueueDepth() { return maxDepth.get(); }
+
+        public double getAverageQueueDepth() {
+            long samples = depthSamples.sum();
+            return samples == 0 ? 0 : (double) depthSum.sum() / samples;
+        }
+    }
+
+    public static final class Report {
+        private final String name;
+        private final int items;
+        private final int delivered;
+        private final boolean stopped;
+        private final long elapsedNanos;
+        private final List<StageMetrics> stages;
+        private final int queueCapacity;
+
+        private Report(String name, int items, int delivered, boolean stopped, long elapsedNanos,
+                       List<StageMetrics> stages, int queueCapacity) {
+            this.name = name;
+            this.items = items;
+            this.delivered = delivered;
+            this.stopped = stopped;
+            this.elapsedNanos = elapsedNanos;
+            this.stages = stages;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getDelivered() { return delivered; }
+        public boolean isStopped() { return stopped; }
+        public List<StageMetrics> getStages() { return stages; }
+
+        /** One summary line plus one line per stage: throughput, busy/blocked time and input queue depth. */
+        public void print(String indent) {
+            double seconds = Math.max(elapsedNanos / 1e9, 1e-3);
+            System.out.println(indent + "🚰 Pipeline " + name + ": " + delivered + "/" + items + " items in "
+                    + String.format("%.1fs", seconds) + (stopped ? " (stopped early)" : ""));
+            for (StageMetrics stage : stages) {
+                System.out.println(indent + "   " + stage.name + " ×" + stage.concurrency + ": " + stage.getItems() + " items, "
+                        + String.format("%.2f/s", stage.getItems() / seconds)
+                        + ", busy " + stage.getBusyMillis() + "ms, blocked " + stage.getBlockedMillis() + "ms"
+                        + ", queue avg " + String.format("%.1f", stage.getAverageQueueDepth())
+                        + " max " + stage.getMaxQueueDepth() + "/" + queueCapacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.photospots.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.photospots.service.FlickrSeedService.SeedResult;
+
+/**
+ * Persists seeding progress in {@code seed_runs}/{@code seed_run_items} so an interrupted run can be
+ * resumed: completed items are skipped (their results and payloads are replayed from the table) and
+ * anything that was still running, or failed, is simply done again.
+ */
+@Service
+public class SeedRunService {
+
+    public static final String MODE_LANDMARKS = "landmarks";
+    public static final String MODE_AREA = "area";
+    /** Item key of an area run's last step, recorded once every tile and spot is done. */
+    public static final String AREA_FINALIZE_ITEM = "finalize";
+    // An area's quadtree tiling, so a resumed run reuses the leaves its quad:<path> items refer to
+    public static final String AREA_PLAN_ITEM = "quadplan";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeedRunService(SeedDatabase seedDatabase) {
+        this.jdbcTemplate = seedDatabase.getJdbcTemplate();
+    }
+
+    /** Notified after an item's outcome is stored, on the thread that stored it. */
+    public interface ItemListener {
+        void completed(String itemKey, SeedResult result);
+
+        void failed(String itemKey, String error);
+    }
+
+    public static class SeedRun {
+        private final UUID id;
+        private final boolean resumed;
+        private final Map<String, SeedResult> completed;
+        private final Map<String, String> payloads;
+        private volatile ItemListener listener;
+
+        private SeedRun(UUID id, boolean resumed, Map<String, SeedResult> completed, Map<String, String> payloads) {
+            this.id = id;
+            this.resumed = resumed;
+            this.completed = completed;
+            this.payloads = payloads;
+        }
+
+        public UUID getId() { return id; }
+        public boolean isResumed() { return resumed; }
+        public int getCompletedCount() { return completed.size(); }
+        public boolean isCompleted(String itemKey) { return completed.containsKey(itemKey); }
+        public SeedResult getResult(String itemKey) { return completed.get(itemKey); }
+        public String getPayload(String itemKey) { return payloads.get(itemKey); }
+        public void setListener(ItemListener listener) { this.listener = listener; }
+    }
+
+    /**
+     * Resumes the in-flight run for this scope, or starts a new one. {@code forceNew} (or a vision setting
+     * that differs from the interrupted run) abandons the old run first.
+     */
+    public SeedRun startOrResume(String mode, String scope, boolean visionEnabled, boolean forceNew) {
+        List<Map<String, Object>> running = jdbcTemplate.queryForList(
+            "SELECT id, vision_enabled FROM seed_runs WHERE mode = ? AND scope = ? AND status = 'running'",
+            mode, scope);
+
+        if (!running.isEmpty()) {
+            UUID runId = (UUID) running.get(0).get("id");
+            boolean runVision = (Boolean) running.get(0).get("vision_enabled");
+            if (!forceNew && runVision == visionEnabled) {
+                return loadRun(runId);
+            }
+            if (!forceNew) {
+                System.out.println("   ⚠️  Interrupted run " + runId + " used vision-filter=" + runVision + "; starting a new run");
+            }
+            jdbcTemplate.update("UPDATE seed_runs SET status = 'abandoned', finished_at = now() WHERE id = ?", runId);
+        }
+
+        UUID runId = jdbcTemplate.queryForObject(
+            "INSERT INTO seed_runs (mode, scope, vision_enabled) VALUES (?, ?, ?) RETURNING id",
+            UUID.class, mode, scope, visionEnabled);
+        return new SeedRun(runId, false, new HashMap<>(), new HashMap<>());
+    }
+
+    public void markRunning(SeedRun run, String itemKey) {
+        jdbcTemplate.update(
+            "INSERT INTO seed_run_items (run_id, item_key, status) VALUES (?, ?, 'running') " +
+            "ON CONFLICT (run_id, item_key) DO UPDATE SET status = 'running', error = NULL, updated_at = now()",
+            run.getId(), itemKey);
+    }
+
+    public void complete(SeedRun run, String itemKey, SeedResult result, String payloadJson) {
+        jdbcTemplate.update(
+            "INSERT INTO seed_run_items (run_id, item_key, status, total_fetched, filtered_photos, inserted_photos, " +
+            "landmark_upserts, hotspot_upserts, missing_geo, missing_url, duplicate_count, conflict_skipped, " +
+            "failed_insert, photos_attempted, payload) " +
+            "VALUES (?, ?, 'completed', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb) " +
+            "ON CONFLICT (run_id, item_key) DO UPDATE SET status = 'completed', " +
+            "total_fetched = EXCLUDED.total_fetched, filtered_photos = EXCLUDED.filtered_photos, " +
+            "inserted_photos = EXCLUDED.inserted_photos, landmark_upserts = EXCLUDED.landmark_upserts, " +
+            "hotspot_upserts = EXCLUDED.hotspot_upserts, missing_geo = EXCLUDED.missing_geo, " +
+            "missing_url = EXCLUDED.missing_url, duplicate_count = EXCLUDED.duplicate_count, " +
+            "conflict_skipped = EXCLUDED.conflict_skipped, failed_insert = EXCLUDED.failed_insert, " +
+            "photos_attempted = EXCLUDED.photos_attempted, payload = EXCLUDED.payload, error = NULL, updated_at = now()",
+            run.getId(), itemKey,
+            result.getTotalFetched(), result.getFilteredPhotos(), result.getInsertedPhotos(),
+            result.getLandmarkUpserts(), result.getHotspotUpserts(), result.getMissingGeo(), result.getMissingUrl(),
+            result.getDuplicateCount(), result.getConflictSkipped(), result.getFailedInsert(), result.getPhotosAttempted(),
+            payloadJson);
+        ItemListener listener = run.listener;
+        if (listener != null) {
+            listener.completed(itemKey, result);
+        }
+    }
+
+    public void fail(SeedRun run, String itemKey, String error) {
+        jdbcTemplate.update(
+            "INSERT INTO seed_run_items (run_id, item_key, status, error) VALUES (?, ?, 'failed', ?) " +
+            "ON CONFLICT (run_id, item_key) DO UPDATE SET status = 'failed', error = EXCLUDED.error, updated_at = now()",
+            run.getId(), itemKey, error);
+        ItemListener listener = run.listener;
+        if (listener != null) {
+            listener.failed(itemKey, error);
+        }
+    }
+
+    /**
+     * Closes the run once every item has completed. A run with failed items stays 'running', so the next
+     * start for its scope resumes it and retries only those items; returns whether the run was closed.
+     */
+    public boolean finish(SeedRun run) {
+        int closed = jdbcTemplate.update(
+            "UPDATE seed_runs SET status = 'completed', finished_at = now() WHERE id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM seed_run_items WHERE run_id = ? AND status = 'failed')",
+            run.getId(), run.getId());
+        if (closed == 0) {
+            Integer failed = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM seed_run_items WHERE run_id = ? AND status = 'failed'", Integer.class, run.getId());
+            System.out.println("   ⚠️  Run " + run.getId() + " has " + failed + " failed item(s); left resumable so the next run retries them");
+        }
+        return closed > 0;
+    }
+
+    /** Used by --seed-reset: checkpoints of wiped data must not be resumed. */
+    public int abandonRunning() {
+        return jdbcTemplate.update("UPDATE seed_runs SET status = 'abandoned', finished_at = now() WHERE status = 'running'");
+    }
+
+    private SeedRun loadRun(UUID runId) {
+        Map<String, SeedResult> completed = new HashMap<>();
+        Map<String, String> payloads = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT item_key, total_fetched, filtered_photos, inserted_photos, landmark_upserts, hotspot_upserts, " +
+            "missing_geo, missing_url, duplicate_count, conflict_skipped, failed_insert, photos_attempted, payload::text AS payload " +
+            "FROM seed_run_items WHERE run_id = ? AND status = 'completed'",
+            rs -> {
+                String itemKey = rs.getString("item_key");
+                completed.put(itemKey, new SeedResult(
+                    itemKey,
+                    rs.getInt("total_fetched"),
+                    rs.getInt("filtered_photos"),
+                    rs.getInt("inserted_photos"),
+                    rs.getInt("landmark_upserts"),
+                    rs.getInt("hotspot_upserts"),
+                    rs.getInt("missing_geo"),
+                    rs.getInt("missing_url"),
+                    rs.getInt("duplicate_count"),
+                    rs.getInt("conflict_skipped"),
+                    rs.getInt("failed_insert"),
+                    rs.getInt("photos_attempted")));
+                String payload = rs.getString("payload");
+                if (payload != null) {
+                    payloads.put(itemKey, payload);
+                }
+            },
+            runId);
+        return new SeedRun(runId, true, completed, payloads);
+    }
+}
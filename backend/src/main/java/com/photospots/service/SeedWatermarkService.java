@@ -0,0 +1,52 @@
+package com.photospots.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads and advances {@code seed_watermarks}: the newest upload timestamp seen per scope and strategy.
+ */
+@Service
+public class SeedWatermarkService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeedWatermarkService(SeedDatabase seedDatabase) {
+        this.jdbcTemplate = seedDatabase.getJdbcTemplate();
+    }
+
+    /**
+     * Opens the watermarks for one scope. Every run records what it sees; only incremental runs load the
+     * stored values and use them as {@code min_upload_date}.
+     */
+    public SeedWatermarks open(String scope, boolean incremental) {
+        Map<String, Long> stored = new HashMap<>();
+        if (incremental) {
+            jdbcTemplate.query(
+                "SELECT strategy, max_upload_date FROM seed_watermarks WHERE scope = ?",
+                rs -> {
+                    stored.put(rs.getString("strategy"), rs.getLong("max_upload_date"));
+                },
+                scope);
+        }
+        return new SeedWatermarks(this, scope, incremental, stored);
+    }
+
+    /** Used by --seed-reset: watermarks of wiped photos would hide them from the next incremental run. */
+    public int clear() {
+        return jdbcTemplate.update("DELETE FROM seed_watermarks");
+    }
+
+    void advance(String scope, Map<String, Long> observed) {
+        for (Map.Entry<String, Long> entry : observed.entrySet()) {
+            jdbcTemplate.update(
+                "INSERT INTO seed_watermarks (scope, strategy, max_upload_date) VALUES (?, ?, ?) " +
+                "ON CONFLICT (scope, strategy) DO UPDATE SET " +
+                "max_upload_date = GREATEST(seed_watermarks.max_upload_date, EXCLUDED.max_upload_date), updated_at = now()",
+                scope, entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.photospots.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Upload-time watermarks for one seeding scope during a run. Strategies report every page they fetch via
+ * {@link #observe}; {@link #flush} persists the maxima once the scope has been seeded successfully, so a
+ * crash never advances a watermark past photos that were not stored.
+ */
+public class SeedWatermarks {
+
+    private final SeedWatermarkService service;
+    private final String scope;
+    private final boolean incremental;
+    private final Map<String, Long> stored;
+    private final Map<String, Long> observed = new ConcurrentHashMap<>();
+
+    SeedWatermarks(SeedWatermarkService service, String scope, boolean incremental, Map<String, Long> stored) {
+        this.service = service;
+        this.scope = scope;
+        this.incremental = incremental;
+        this.stored = stored;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /** True when an incremental run has watermarks to resume from. */
+    public boolean hasHistory() {
+        return incremental && !stored.isEmpty();
+    }
+
+    /** The min_upload_date to send for {@code strategy}, or null to run the full search. */
+    public Long since(String strategy) {
+        if (!incremental) {
+            return null;
+        }
+        Long last = stored.get(strategy);
+        // Flickr's min_upload_date is inclusive; step past the newest photo already seen
+        return last != null ? last + 1 : null;
+    }
+
+    public void observe(String strategy, List<FlickrPhoto> photos) {
+        long newest = 0;
+        for (FlickrPhoto photo : photos) {
+            newest = Math.max(newest, photo.getDateUpload());
+        }
+        if (newest > 0) {
+            observed.merge(strategy, newest, Math::max);
+        }
+    }
+
+    public void flush() {
+        if (!observed.isEmpty()) {
+            service.advance(scope, observed);
+        }
+    }
+}
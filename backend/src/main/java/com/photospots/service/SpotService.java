@@ -28,6 +28,7 @@ import com.photospots.dto.SpotDto;
 import com.photospots.model.Spot;
 import com.photospots.repository.SpotRepository;
 import com.photospots.util.GeoValidator;
+import com.photospots.util.RequestDbTimer;
 
 @Service
 public class SpotService {
@@ -111,7 +112,7 @@ public class SpotService {
             return cached;
         }
 
-        Optional<SpotDto> result = spotRepository.findById(id).map(this::toDto);
+        Optional<SpotDto> result = RequestDbTimer.time(() -> spotRepository.findById(id)).map(this::toDto);
         result.ifPresent(dto -> cacheService.set(cacheKey, dto, Duration.ofSeconds(appProperties.getCache().getSpotSeconds())));
         return result;
     }
@@ -151,7 +152,8 @@ public class SpotService {
         }
 
         String sql = "select * from api_spots_nearby(?, ?, ?, ?)";
-        List<SpotDto> spots = jdbcTemplate.query(sql, new Object[]{lat, lng, radiusMeters, 200}, new SpotRowMapper());
+        List<SpotDto> spots = RequestDbTimer.time(() ->
+            jdbcTemplate.query(sql, new Object[]{lat, lng, radiusMeters, 200}, new SpotRowMapper()));
         cacheService.set(cacheKey, spots, Duration.ofSeconds(appProperties.getCache().getNearbySeconds()));
         return spots;
     }
@@ -175,7 +177,8 @@ public class SpotService {
         }
 
         String sql = "select * from api_spots_search(?, ?, ?, ?)";
-        List<SpotDto> spots = jdbcTemplate.query(sql, new Object[]{query, lat, lng, 50}, new SpotRowMapper());
+        List<SpotDto> spots = RequestDbTimer.time(() ->
+            jdbcTemplate.query(sql, new Object[]{query, lat, lng, 50}, new SpotRowMapper()));
         cacheService.set(cacheKey, spots, Duration.ofSeconds(appProperties.getCache().getSearchSeconds()));
         return spots;
     }
@@ -198,7 +201,8 @@ public class SpotService {
         }
 
         String sql = "select id, spot_id, variants, created_at from photos where spot_id = ? and visibility = 'public' order by created_at desc";
-        List<PhotoDto> photos = jdbcTemplate.query(sql, new Object[]{spotId}, new PhotoRowMapper());
+        List<PhotoDto> photos = RequestDbTimer.time(() ->
+            jdbcTemplate.query(sql, new Object[]{spotId}, new PhotoRowMapper()));
         cacheService.set(cacheKey, photos, Duration.ofSeconds(appProperties.getCache().getPhotosSeconds()));
         return photos;
     }
@@ -0,0 +1,422 @@
+package com.photospots.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+/**
+ * Long-lived {@code filter_photos.py --serve} processes that analyse one photo per request over
+ * newline-delimited JSON, so interpreter start-up, OpenCV import and cascade loading are paid once per
+ * worker instead of once per batch.
+ *
+ * Callers submit photos from many threads and each goes to whichever worker is idle, usually with image
+ * bytes already fetched by {@link ImagePrefetcher} so workers never wait on the network. Each item has
+ * its own timeout: a worker that misses it is killed and replaced and only that item is lost. Workers
+ * idle for a while are pinged before reuse, and dead ones are restarted; a replacement that fails to start
+ * is retried with backoff. If workers cannot start at all (e.g. OpenCV missing) the pool disables itself
+ * and callers fall back to metadata-only filtering. Callers never wait on a pool that has stopped handing
+ * out workers: they give up once none has come back for an item timeout plus a start-up.
+ */
+public class VisionWorkerPool implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_MS = 30_000;
+    private static final long PING_AFTER_IDLE_MS = 30_000;
+    private static final long PING_TIMEOUT_MS = 5_000;
+    private static final int MAX_START_FAILURES = 3;
+    private static final long RESTART_BACKOFF_MS = 1_000;
+    private static final long MAX_RESTART_BACKOFF_MS = 10_000;
+    // Queued once a worker's stdout closes, so waits on an exited worker end at once instead of timing out
+    private static final JsonNode OUTPUT_CLOSED = JsonNodeFactory.instance.objectNode();
+
+    private final List<String> command;
+    private final int size;
+    private final long itemTimeoutMs;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    private final List<Worker> all = new ArrayList<>();
+    private final AtomicInteger startFailures = new AtomicInteger();
+    private final AtomicInteger workerIds = new AtomicInteger();
+    // Workers being replaced or waiting to be retried; acquire() keeps waiting while any are on their way
+    private final AtomicInteger restarting = new AtomicInteger();
+    // Separate from the pool monitor: starting workers register themselves under that one
+    private final Object startLock = new Object();
+
+    private volatile boolean started;
+    private volatile boolean disabled;
+    private volatile boolean closed;
+    private volatile long lastHandoffMs = System.currentTimeMillis();
+
+    public VisionWorkerPool(List<String> command, int size, long itemTimeoutMs) {
+        this.command = List.copyOf(command);
+        this.size = Math.max(1, size);
+        this.itemTimeoutMs = itemTimeoutMs;
+    }
+
+    public boolean isAvailable() {
+        ensureStarted();
+        return !disabled;
+    }
+
+    /**
+     * Analyses one photo on the next idle worker and returns its raw result object, or null if it failed or
+     * timed out. {@code image} carries already-downloaded bytes; when null the worker downloads {@code url}.
+     */
+    public JsonNode analyze(String id, String url, byte[] image) throws InterruptedException {
+        if (!isAvailable()) {
+            return null;
+        }
+        return dispatch(id, url, image == null ? null : Base64.getEncoder().encodeToString(image));
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Worker worker : all) {
+            worker.stop();
+        }
+        all.clear();
+        idle.clear();
+    }
+
+    private JsonNode dispatch(String id, String url, String data) throws InterruptedException {
+        Worker worker = acquire();
+        if (worker == null) {
+            return null;
+        }
+        boolean healthy = true;
+        try {
+            VisionRequest request = new VisionRequest(id, url, data);
+            JsonNode response = worker.call(objectMapper.writeValueAsString(request), id, itemTimeoutMs);
+            if (response == null) {
+                healthy = false;
+                System.out.println("      ⚠️  Vision worker " + worker.id + " timed out on photo " + id + ", restarting it");
+                return null;
+            }
+            if (response.hasNonNull("error")) {
+                return null;
+            }
+            JsonNode result = response.get("result");
+            return result != null && result.isObject() ? result : null;
+        } catch (IOException e) {
+            healthy = false;
+            return null;
+        } finally {
+            release(worker, healthy);
+        }
+    }
+
+    /**
+     * Takes an idle worker, restarting or pinging it first when it is dead or has been idle a while. Returns
+     * null when the pool is disabled, has no worker alive or on its way, or has handed none back for longer
+     * than a healthy pool ever would (an item timing out plus its replacement starting).
+     */
+    private Worker acquire() throws InterruptedException {
+        long stallMs = itemTimeoutMs + STARTUP_TIMEOUT_MS;
+        long waitingSinceMs = System.currentTimeMillis();
+        while (!disabled && !closed) {
+            Worker worker = idle.poll(1, TimeUnit.SECONDS);
+            if (worker == null) {
+                boolean noneComing;
+                synchronized (this) {
+                    noneComing = all.isEmpty() && restarting.get() == 0;
+                }
+                if (noneComing && idle.isEmpty()) {
+                    disabled = true;
+                    System.out.println("      ⚠️  No vision workers left, falling back to metadata-only");
+                    return null;
+                }
+                if (System.currentTimeMillis() - Math.max(waitingSinceMs, lastHandoffMs) > stallMs) {
+                    System.out.println("      ⚠️  No vision worker became free in " + stallMs + "ms, skipping photo");
+                    return null;
+                }
+                continue;
+            }
+            if (worker.isAlive() && (System.currentTimeMillis() - worker.lastUsedMs < PING_AFTER_IDLE_MS || worker.ping())) {
+                return worker;
+            }
+            release(worker, false);
+        }
+        return null;
+    }
+
+    private void release(Worker worker, boolean healthy) {
+        if (healthy) {
+            worker.lastUsedMs = System.currentTimeMillis();
+            handOff(worker);
+            return;
+        }
+        restarting.incrementAndGet();
+        try {
+            worker.stop();
+            synchronized (this) {
+                all.remove(worker);
+                if (closed) {
+                    return;
+                }
+            }
+            Worker replacement = startWorker();
+            if (replacement != null) {
+                handOff(replacement);
+            } else {
+                scheduleRestart();
+            }
+        } finally {
+            restarting.decrementAndGet();
+        }
+    }
+
+    /** Retries a failed replacement after a backoff that doubles with each consecutive start failure. */
+    private void scheduleRestart() {
+        int failures = startFailures.get();
+        if (disabled || closed || failures >= MAX_START_FAILURES) {
+            return;
+        }
+        long backoffMs = Math.min(MAX_RESTART_BACKOFF_MS, RESTART_BACKOFF_MS << Math.max(0, failures - 1));
+        restarting.incrementAndGet();
+        Thread.ofVirtual().name("vision-worker-restart").start(() -> {
+            try {
+                Thread.sleep(backoffMs);
+                Worker replacement = startWorker();
+                if (replacement != null) {
+                    handOff(replacement);
+                } else {
+                    scheduleRestart();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                restarting.decrementAndGet();
+            }
+        });
+    }
+
+    private void handOff(Worker worker) {
+        lastHandoffMs = System.currentTimeMillis();
+        idle.offer(worker);
+    }
+
+    private void ensureStarted() {
+        if (started) {
+            return;
+        }
+        synchronized (startLock) {
+            if (started) {
+                return;
+            }
+            // Workers start in parallel: each one pays the OpenCV import
+            List<Future<Worker>> starting = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < size; i++) {
+                    starting.add(executor.submit(this::startWorker));
+                }
+            }
+            for (Future<Worker> future : starting) {
+                try {
+                    Worker worker = future.get();
+                    if (worker != null) {
+                        idle.offer(worker);
+                    }
+                } catch (Exception ignored) {
+                    // Counted as a start failure by startWorker()
+                }
+            }
+            if (idle.isEmpty()) {
+                disabled = true;
+            } else {
+                System.out.println("      🐍 Vision worker pool: " + idle.size() + " workers ready");
+            }
+            started = true;
+        }
+    }
+
+    private Worker startWorker() {
+        if (disabled || closed) {
+            return null;
+        }
+        Worker worker = null;
+        try {
+            worker = new Worker(workerIds.incrementAndGet(), new ProcessBuilder(command).start());
+            JsonNode ready = worker.await(STARTUP_TIMEOUT_MS, node -> "ready".equals(node.path("op").asText()));
+            if (ready == null || ready.hasNonNull("error")) {
+                System.out.println("      ⚠️  Vision worker failed to start: "
+                        + (ready == null ? "no ready signal" : ready.get("error").asText()));
+                worker.stop();
+                failedStart();
+                return null;
+            }
+            startFailures.set(0);
+            synchronized (this) {
+                if (closed) {
+                    worker.stop();
+                    return null;
+                }
+                all.add(worker);
+            }
+            return worker;
+        } catch (IOException e) {
+            System.out.println("      ⚠️  Vision worker failed to start: " + e.getMessage());
+            if (worker != null) {
+                worker.stop();
+            }
+            failedStart();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (worker != null) {
+                worker.stop();
+            }
+            return null;
+        }
+    }
+
+    private void failedStart() {
+        if (startFailures.incrementAndGet() >= MAX_START_FAILURES) {
+            boolean anyAlive;
+            synchronized (this) {
+                anyAlive = !all.isEmpty();
+            }
+            if (!anyAlive && !disabled) {
+                disabled = true;
+                System.out.println("      ⚠️  Vision workers keep failing to start, falling back to metadata-only");
+            }
+        }
+    }
+
+    private record VisionRequest(String id, String url, String data) {
+    }
+
+    private class Worker {
+        private final int id;
+        private final Process process;
+        private final BufferedWriter stdin;
+        private final BlockingQueue<JsonNode> responses = new LinkedBlockingQueue<>();
+        private volatile long lastUsedMs = System.currentTimeMillis();
+        private volatile boolean outputClosed;
+
+        private Worker(int id, Process process) {
+            this.id = id;
+            this.process = process;
+            this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            Thread.ofVirtual().name("vision-worker-" + id + "-out").start(this::readResponses);
+            Thread.ofVirtual().name("vision-worker-" + id + "-err").start(this::drainStderr);
+        }
+
+        boolean isAlive() {
+            return process.isAlive();
+        }
+
+        boolean ping() {
+            try {
+                send("{\"op\":\"ping\"}");
+                return await(PING_TIMEOUT_MS, node -> "pong".equals(node.path("op").asText())) != null;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /** Sends one request and waits for the response with the same id; null on timeout. */
+        JsonNode call(String requestJson, String photoId, long timeoutMs) throws IOException, InterruptedException {
+            send(requestJson);
+            return await(timeoutMs, node -> photoId.equals(node.path("id").asText(null)));
+        }
+
+        private void send(String line) throws IOException {
+            responses.clear();
+            if (outputClosed) {
+                responses.offer(OUTPUT_CLOSED);
+            }
+            stdin.write(line);
+            stdin.newLine();
+            stdin.flush();
+        }
+
+        private JsonNode await(long timeoutMs, Predicate<JsonNode> matches) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+                JsonNode node = responses.poll(remaining, TimeUnit.MILLISECONDS);
+                if (node == null) {
+                    return null;
+                }
+                if (node == OUTPUT_CLOSED) {
+                    responses.offer(OUTPUT_CLOSED);
+                    return null;
+                }
+                if (matches.test(node)) {
+                    return node;
+                }
+            }
+        }
+
+        private void readResponses() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("{")) {
+                        try {
+                            responses.offer(objectMapper.readTree(line));
+                        } catch (IOException ignored) {
+                            // Not a protocol line
+                        }
+                    }
+                }
+            } catch (IOException ignored) {
+                // Process went away
+            } finally {
+                outputClosed = true;
+                responses.offer(OUTPUT_CLOSED);
+            }
+        }
+
+        private void drainStderr() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    System.err.println("      🐍 vision worker " + id + ": " + line);
+                }
+            } catch (IOException ignored) {
+                // Process went away
+            }
+        }
+
+        void stop() {
+            try {
+                stdin.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+            try {
+                if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
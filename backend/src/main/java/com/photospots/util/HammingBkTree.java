@@ -0,0 +1,79 @@
+package com.photospots.util;
+
+/**
+ * BK-tree over 64-bit hashes under Hamming distance. A radius query only descends into children whose
+ * edge distance lies within [d - r, d + r] of the query's distance to the node (triangle inequality), so
+ * near-duplicate checks against a spot's accepted photos stay well below a linear scan. Not thread-safe.
+ */
+public class HammingBkTree {
+
+    private Node root;
+    private int size;
+
+    private static final class Node {
+        private final long hash;
+        // Indexed by Hamming distance to this node (0..64); allocated on first child
+        private Node[] children;
+
+        private Node(long hash) {
+            this.hash = hash;
+        }
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /** Adds {@code hash}; an identical hash already in the tree is not stored twice. */
+    public void add(long hash) {
+        if (root == null) {
+            root = new Node(hash);
+            size = 1;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(node.hash, hash);
+            if (d == 0) {
+                return;
+            }
+            if (node.children == null) {
+                node.children = new Node[65];
+            }
+            if (node.children[d] == null) {
+                node.children[d] = new Node(hash);
+                size++;
+                return;
+            }
+            node = node.children[d];
+        }
+    }
+
+    /** True if some stored hash is within {@code maxDistance} bits of {@code hash}. */
+    public boolean containsWithin(long hash, int maxDistance) {
+        return root != null && search(root, hash, maxDistance);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean search(Node node, long hash, int maxDistance) {
+        int d = distance(node.hash, hash);
+        if (d <= maxDistance) {
+            return true;
+        }
+        if (node.children == null) {
+            return false;
+        }
+        int from = Math.max(0, d - maxDistance);
+        int to = Math.min(64, d + maxDistance);
+        for (int i = from; i <= to; i++) {
+            Node child = node.children[i];
+            if (child != null && search(child, hash, maxDistance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
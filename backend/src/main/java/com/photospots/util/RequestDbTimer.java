@@ -0,0 +1,36 @@
+package com.photospots.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Accumulates database time spent by the current request thread so the rate limiter can charge
+ * expensive queries after the fact.
+ */
+public final class RequestDbTimer {
+
+    private static final ThreadLocal<long[]> ELAPSED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private RequestDbTimer() {
+    }
+
+    public static <T> T time(Supplier<T> query) {
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            ELAPSED_NANOS.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    public static void reset() {
+        ELAPSED_NANOS.get()[0] = 0;
+    }
+
+    /** Returns the DB time recorded since the last reset and clears it. */
+    public static long drainMillis() {
+        long[] elapsed = ELAPSED_NANOS.get();
+        long millis = elapsed[0] / 1_000_000;
+        elapsed[0] = 0;
+        return millis;
+    }
+}
@@ -0,0 +1,45 @@
+package com.photospots.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Heap-based top-k selection: O(n log k) instead of sorting the whole input when only the first k items
+ * of an ordering are used. Stable like {@link List#sort}: ties keep their input order.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /** The first {@code k} items of {@code items} under {@code order}, in that order. */
+    public static <T> List<T> select(List<T> items, int k, Comparator<? super T> order) {
+        if (k <= 0 || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Ties broken by input position so the result matches a stable sort
+        Comparator<Integer> byRank = (a, b) -> {
+            int cmp = order.compare(items.get(a), items.get(b));
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        };
+        // Worst kept item at the head, evicted when something better arrives
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(k, items.size()) + 1, byRank.reversed());
+        for (int i = 0; i < items.size(); i++) {
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (byRank.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<Integer> kept = new ArrayList<>(heap);
+        kept.sort(byRank);
+        List<T> result = new ArrayList<>(kept.size());
+        for (int index : kept) {
+            result.add(items.get(index));
+        }
+        return result;
+    }
+}
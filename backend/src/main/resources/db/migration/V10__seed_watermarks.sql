@@ -0,0 +1,9 @@
+-- Newest Flickr dateupload seen per seeding scope (location or area tile) and search strategy.
+-- --seed-incremental passes it back as min_upload_date so refresh runs only fetch new photos.
+CREATE TABLE IF NOT EXISTS seed_watermarks (
+    scope text NOT NULL,
+    strategy text NOT NULL,
+    max_upload_date bigint NOT NULL,
+    updated_at timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (scope, strategy)
+);
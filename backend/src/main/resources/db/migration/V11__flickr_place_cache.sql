@@ -0,0 +1,7 @@
+-- flickr.places.findByLatLon results per ~1 km cell (lat/lng rounded to 2 decimals), shared by every
+-- seeding node. place_id NULL records a lookup that found no usable place (negative entry, shorter TTL).
+CREATE TABLE IF NOT EXISTS flickr_place_cache (
+    cell text PRIMARY KEY,
+    place_id text,
+    resolved_at timestamptz NOT NULL DEFAULT now()
+);
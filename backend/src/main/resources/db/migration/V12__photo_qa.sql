@@ -0,0 +1,25 @@
+-- Vision QA verdicts (face/blur checks) per Flickr original, independent of whether the photo was kept.
+-- Rows are only reused when model_version matches the seeder's current detector/threshold.
+CREATE TABLE IF NOT EXISTS photo_qa (
+    original_key text PRIMARY KEY,
+    face_max_frac double precision NOT NULL,
+    face_count integer NOT NULL,
+    blur_score double precision NOT NULL,
+    is_portrait boolean NOT NULL,
+    is_blurry boolean NOT NULL,
+    model_version text NOT NULL,
+    evaluated_at timestamptz NOT NULL DEFAULT now()
+);
+
+-- Carry over verdicts previously stored only inside photos.variants->'qa'
+INSERT INTO photo_qa (original_key, face_max_frac, face_count, blur_score, is_portrait, is_blurry, model_version)
+SELECT original_key,
+       COALESCE((variants->'qa'->>'faceMaxFrac')::double precision, 0),
+       COALESCE((variants->'qa'->>'faceCount')::integer, 0),
+       COALESCE((variants->'qa'->>'blurScore')::double precision, 0),
+       COALESCE((variants->'qa'->>'isPortrait')::boolean, false),
+       COALESCE((variants->'qa'->>'isBlurry')::boolean, false),
+       'haar-laplacian@60'
+FROM photos
+WHERE jsonb_typeof(variants->'qa') = 'object'
+ON CONFLICT (original_key) DO NOTHING;
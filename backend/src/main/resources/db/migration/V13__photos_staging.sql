@@ -0,0 +1,14 @@
+-- Landing table for COPY-based photo ingestion. Each ingest streams its rows under a fresh batch_id,
+-- merges them into photos with one INSERT ... SELECT and deletes them again in the same transaction.
+-- UNLOGGED: the contents never outlive a transaction, so WAL for them would be wasted.
+CREATE UNLOGGED TABLE IF NOT EXISTS photos_staging (
+    batch_id uuid NOT NULL,
+    ord integer NOT NULL,
+    spot_id uuid NOT NULL,
+    original_key text NOT NULL,
+    variants jsonb NOT NULL,
+    lat double precision,
+    lng double precision
+);
+
+CREATE INDEX IF NOT EXISTS idx_photos_staging_batch ON photos_staging (batch_id);
@@ -0,0 +1,4 @@
+-- 64-bit dHash of each seeded photo's thumbnail, used to suppress near-duplicates within a spot.
+-- NULL when the thumbnail could not be hashed; such photos are never treated as duplicates.
+ALTER TABLE photos ADD COLUMN IF NOT EXISTS phash bigint;
+ALTER TABLE photos_staging ADD COLUMN IF NOT EXISTS phash bigint;
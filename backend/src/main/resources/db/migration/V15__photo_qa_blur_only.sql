@@ -0,0 +1,5 @@
+-- Blur-only verdicts (model_version 'java-laplacian@<threshold>') come from the in-process blur check, which
+-- rejects a photo before any face detection runs, so they have no face measurements to store.
+ALTER TABLE photo_qa
+    ALTER COLUMN face_max_frac DROP NOT NULL,
+    ALTER COLUMN face_count DROP NOT NULL;
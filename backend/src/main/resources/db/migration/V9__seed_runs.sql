@@ -0,0 +1,37 @@
+-- Checkpoints for resumable seeding runs (SeedPhotosRunner --seed / --seed-area)
+CREATE TABLE IF NOT EXISTS seed_runs (
+    id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+    mode text NOT NULL CHECK (mode IN ('landmarks', 'area')),
+    scope text NOT NULL,
+    vision_enabled boolean NOT NULL,
+    status text NOT NULL DEFAULT 'running' CHECK (status IN ('running', 'completed', 'abandoned')),
+    started_at timestamptz NOT NULL DEFAULT now(),
+    finished_at timestamptz
+);
+
+-- At most one in-flight run per scope; a restart resumes it
+CREATE UNIQUE INDEX IF NOT EXISTS seed_runs_one_running_idx
+    ON seed_runs (mode, scope) WHERE status = 'running';
+
+-- One row per location (landmark runs) or per tile / finalize step (area runs), carrying the SeedResult counts.
+-- payload holds data needed to resume without refetching (e.g. a tile's filtered candidates).
+CREATE TABLE IF NOT EXISTS seed_run_items (
+    run_id uuid NOT NULL REFERENCES seed_runs(id) ON DELETE CASCADE,
+    item_key text NOT NULL,
+    status text NOT NULL CHECK (status IN ('running', 'completed', 'failed')),
+    total_fetched integer NOT NULL DEFAULT 0,
+    filtered_photos integer NOT NULL DEFAULT 0,
+    inserted_photos integer NOT NULL DEFAULT 0,
+    landmark_upserts integer NOT NULL DEFAULT 0,
+    hotspot_upserts integer NOT NULL DEFAULT 0,
+    missing_geo integer NOT NULL DEFAULT 0,
+    missing_url integer NOT NULL DEFAULT 0,
+    duplicate_count integer NOT NULL DEFAULT 0,
+    conflict_skipped integer NOT NULL DEFAULT 0,
+    failed_insert integer NOT NULL DEFAULT 0,
+    photos_attempted integer NOT NULL DEFAULT 0,
+    payload jsonb,
+    error text,
+    updated_at timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (run_id, item_key)
+);
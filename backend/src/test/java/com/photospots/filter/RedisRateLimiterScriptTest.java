@@ -0,0 +1,131 @@
+package com.photospots.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs the real token bucket script against a Redis Testcontainer. Skipped when Docker is not available;
+ * {@link RedisRateLimiterTest} covers the limiter itself without it.
+ */
+class RedisRateLimiterScriptTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    private static GenericContainer<?> redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate template;
+
+    @BeforeAll
+    static void startRedis() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for the Redis script test");
+        redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @BeforeEach
+    void flush() {
+        template.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void scriptGrantsTakesDebtsAndReturnsTokens() {
+        // A fresh bucket starts full
+        assertEquals(4, bucket("client", "4", "4", "0", "0"));
+        // Six left: below the minimum nothing is granted, otherwise as much as is there
+        assertEquals(0, bucket("client", "10", "7", "0", "0"));
+        assertEquals(6, bucket("client", "10", "1", "0", "0"));
+        assertEquals(0, tokens("client"), 0.01);
+
+        // Debts are always granted, but never below -capacity
+        assertEquals(15, bucket("client", "15", "0", "1", "0"));
+        assertEquals(-10, tokens("client"), 0.01);
+
+        // Returned tokens are added before anything is taken, capped at capacity
+        assertEquals(0, bucket("client", "0", "0", "0", "5"));
+        assertEquals(-5, tokens("client"), 0.01);
+        assertEquals(10, bucket("client", "10", "10", "0", "30"));
+
+        // The key lives until the bucket would be full again, plus a second
+        long ttl = template.getExpire("ratelimit:client", TimeUnit.MILLISECONDS);
+        assertTrue(ttl > HOUR_MS - 1_000 && ttl <= HOUR_MS + 1_000, "PTTL " + ttl);
+    }
+
+    @Test
+    void sparseClientGetsItsFullQuota() throws Exception {
+        RedisRateLimiter limiter = new RedisRateLimiter(template, new LocalRateLimiter(HOUR_MS, 10), HOUR_MS, 10, 5, 20, 5_000);
+
+        int allowed = 0;
+        for (int i = 0; i < 15; i++) {
+            if (limiter.tryAcquire("sparse", 1)) {
+                allowed++;
+            }
+            Thread.sleep(40);
+        }
+
+        assertEquals(10, allowed);
+    }
+
+    @Test
+    void expiredLeasesReturnTheirTokensToOtherNodes() throws Exception {
+        RedisRateLimiter nodeA = new RedisRateLimiter(template, new LocalRateLimiter(HOUR_MS, 10), HOUR_MS, 10, 10, 20, 5_000);
+        RedisRateLimiter nodeB = new RedisRateLimiter(template, new LocalRateLimiter(HOUR_MS, 10), HOUR_MS, 10, 10, 20, 5_000);
+
+        assertTrue(nodeA.tryAcquire("client", 1));
+        assertTrue(nodeA.tryAcquire("client", 1));
+        assertEquals(0, tokens("client"), 0.01);
+
+        Thread.sleep(250);
+        assertTrue(nodeA.tryAcquire("other", 1));
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (nodeB.tryAcquire("client", 1)) {
+                allowed++;
+            }
+        }
+        assertEquals(8, allowed);
+    }
+
+    /** Calls the script on a capacity-10, 10-per-hour bucket. */
+    private long bucket(String client, String wanted, String minimum, String debt, String returned) {
+        Long granted = template.execute(RedisRateLimiter.TOKEN_BUCKET, List.of("ratelimit:" + client),
+                "10", String.valueOf(10.0 / HOUR_MS), wanted, minimum, debt, returned);
+        return granted != null ? granted : 0;
+    }
+
+    private double tokens(String client) {
+        Object tokens = template.opsForHash().get("ratelimit:" + client, "tokens");
+        return Double.parseDouble(String.valueOf(tokens));
+    }
+}
@@ -0,0 +1,175 @@
+package com.photospots.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Limiter behaviour against {@link FakeRedis}. The fake mirrors the token bucket script, so
+ * {@link #scriptKeepsTheKeysAndArgvContract()} pins the script to the arguments the fake reads;
+ * {@link RedisRateLimiterScriptTest} runs the real script.
+ */
+class RedisRateLimiterTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    @Test
+    void sparseClientGetsItsFullQuota() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, new LocalRateLimiter(HOUR_MS, 10), HOUR_MS, 10, 5, 20, 5_000);
+
+        int allowed = 0;
+        for (int i = 0; i < 15; i++) {
+            if (limiter.tryAcquire("sparse", 1)) {
+                allowed++;
+            }
+            // Every lease expires before the next request
+            Thread.sleep(40);
+        }
+
+        assertEquals(10, allowed);
+    }
+
+    @Test
+    void busyClientLeasesInBatches() {
+        FakeRedis redis = new FakeRedis();
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, new LocalRateLimiter(HOUR_MS, 100), HOUR_MS, 100, 10, 60_000, 5_000);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire("busy", 1));
+        }
+
+        // One exact lease for the first request, then batches of 10
+        assertTrue(redis.calls.get() <= 6, "Redis calls: " + redis.calls.get());
+    }
+
+    @Test
+    void expiredLeasesAreEvictedAndTheirTokensReturned() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        RedisRateLimiter nodeA = new RedisRateLimiter(redis, new LocalRateLimiter(HOUR_MS, 10), HOUR_MS, 10, 10, 20, 5_000);
+        RedisRateLimiter nodeB = new RedisRateLimiter(redis, new LocalRateLimiter(HOUR_MS, 10), HOUR_MS, 10, 10, 20, 5_000);
+
+        // A burst on node A leases the client's whole bucket but only uses two tokens
+        assertTrue(nodeA.tryAcquire("client", 1));
+        assertTrue(nodeA.tryAcquire("client", 1));
+        assertEquals(0, redis.tokens("client"), 0.01);
+
+        // Past the sweep interval, any request on node A evicts the expired lease and returns the rest
+        Thread.sleep(250);
+        assertTrue(nodeA.tryAcquire("other", 1));
+        assertEquals(1, nodeA.leaseCount());
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (nodeB.tryAcquire("client", 1)) {
+                allowed++;
+            }
+        }
+        assertEquals(8, allowed);
+    }
+
+    @Test
+    void failOpenKeepsTheLease() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, new LocalRateLimiter(HOUR_MS, 100), HOUR_MS, 100, 10, 60_000, 50);
+
+        // An exact lease, then a batch of 10 leaves nine tokens on this node
+        assertTrue(limiter.tryAcquire("client", 1));
+        assertTrue(limiter.tryAcquire("client", 1));
+        assertEquals(89, redis.tokens("client"), 0.01);
+
+        // Too big for the lease, so it goes to Redis, which is down; the fallback answers
+        redis.failing = true;
+        assertTrue(limiter.tryAcquire("client", 12));
+        int calls = redis.calls.get();
+
+        // Once Redis is due a retry, the nine leased tokens are still served locally
+        Thread.sleep(100);
+        for (int i = 0; i < 9; i++) {
+            assertTrue(limiter.tryAcquire("client", 1));
+        }
+        assertEquals(calls, redis.calls.get());
+    }
+
+    @Test
+    void scriptKeepsTheKeysAndArgvContract() {
+        String script = RedisRateLimiter.TOKEN_BUCKET.getScriptAsString();
+        List<String> argv = List.of(
+                "local capacity = tonumber(ARGV[1])",
+                "local refill_per_ms = tonumber(ARGV[2])",
+                "local wanted = tonumber(ARGV[3])",
+                "local minimum = tonumber(ARGV[4])",
+                "local debt = ARGV[5] == '1'",
+                "local returned = tonumber(ARGV[6])");
+        for (String line : argv) {
+            assertTrue(script.contains(line), line);
+        }
+        assertEquals(-1, script.indexOf("ARGV[7]"));
+        assertEquals(-1, script.indexOf("KEYS[2]"));
+        // Server time, the same hash fields and an expiry once the bucket would be full again
+        assertTrue(script.contains("redis.call('TIME')"));
+        assertTrue(script.contains("redis.call('HMGET', KEYS[1], 'tokens', 'ts')"));
+        assertTrue(script.contains("redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)"));
+        assertTrue(script.contains("redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / refill_per_ms) + 1000)"));
+        assertEquals(Long.class, RedisRateLimiter.TOKEN_BUCKET.getResultType());
+    }
+
+    /** Runs the token bucket script's arithmetic in memory, with this JVM's clock standing in for Redis TIME. */
+    private static class FakeRedis extends StringRedisTemplate {
+
+        private final Map<String, double[]> buckets = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+            // Only the token bucket script, called the way scriptKeepsTheKeysAndArgvContract expects
+            assertSame(RedisRateLimiter.TOKEN_BUCKET, script);
+            assertEquals(1, keys.size());
+            assertTrue(keys.get(0).startsWith("ratelimit:"), keys.get(0));
+            assertEquals(6, args.length);
+            double capacity = Double.parseDouble((String) args[0]);
+            double refillPerMs = Double.parseDouble((String) args[1]);
+            double wanted = Double.parseDouble((String) args[2]);
+            double minimum = Double.parseDouble((String) args[3]);
+            boolean debt = "1".equals(args[4]);
+            double returned = Double.parseDouble((String) args[5]);
+            long now = System.currentTimeMillis();
+
+            double[] state = buckets.computeIfAbsent(keys.get(0), k -> new double[] {capacity, now});
+            double tokens = Math.min(capacity, state[0] + Math.max(0, now - state[1]) * refillPerMs + returned);
+            long granted = 0;
+            if (debt) {
+                granted = (long) wanted;
+                tokens = Math.max(-capacity, tokens - wanted);
+            } else {
+                if (tokens >= minimum) {
+                    granted = (long) Math.min(wanted, Math.floor(tokens));
+                }
+                tokens -= granted;
+            }
+            state[0] = tokens;
+            state[1] = now;
+            return (T) Long.valueOf(granted);
+        }
+
+        synchronized double tokens(String key) {
+            return buckets.get("ratelimit:" + key)[0];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.photospots.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Measures JwtAuthenticationFilter overhead per authenticated request.
+ *
+ * Compares the old path (three independent parses with a freshly built parser each time) against the
+ * current filter with a shared parser, verified-claims cache and Bloom-filter revocation check.
+ * Not a unit test; run the main method from the IDE or with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.photospots.security.JwtAuthenticationFilterBenchmark
+ * </pre>
+ */
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+    private static final int DISTINCT_TOKENS = 500;
+
+    public static void main(String[] args) throws Exception {
+        String[] tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "user" + i + "@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        }
+
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(provider, "claimsCacheSize", 10_000);
+        ReflectionTestUtils.setField(provider, "claimsCacheSeconds", 300L);
+        provider.init();
+        // Nothing is revoked, so the Bloom filter answers every check without touching Redis
+        TokenRevocationService revocations = new TokenRevocationService(new StringRedisTemplate());
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(provider, revocations);
+
+        run("legacy (3 parses/request)", tokens, token -> legacyParse(token));
+        run("filter (cached claims)", tokens, token -> {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/auth/me");
+            request.addHeader("Authorization", "Bearer " + token);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            SecurityContextHolder.clearContext();
+        });
+    }
+
+    private interface PerRequest {
+        void apply(String token) throws Exception;
+    }
+
+    private static void run(String label, String[] tokens, PerRequest perRequest) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            perRequest.apply(tokens[i % tokens.length]);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            perRequest.apply(tokens[i % tokens.length]);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-28s %8.2f us/request%n", label, elapsed / 1_000.0 / ITERATIONS);
+    }
+
+    private static void legacyParse(String token) {
+        for (int i = 0; i < 3; i++) {
+            Jwts.parserBuilder()
+                .setSigningKey(SECRET.getBytes())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        }
+    }
+}
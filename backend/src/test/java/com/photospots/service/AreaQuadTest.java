@@ -0,0 +1,49 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AreaQuadTest {
+
+    @Test
+    void pathRebuildsTheSameQuad() throws Exception {
+        AreaConfig area = new ObjectMapper().readValue(
+                "{\"key\":\"downtown\",\"name\":\"Downtown\",\"lat\":43.65,\"lng\":-79.38,\"radiusKm\":3,"
+                        + "\"tileSpacingMeters\":400,\"tileRadiusKm\":0.3}", AreaConfig.class);
+
+        // Every quad down to depth 4, as a planned (and checkpointed) tree would name them
+        Deque<AreaQuad> pending = new ArrayDeque<>();
+        pending.add(AreaQuad.root(area));
+        int checked = 0;
+        while (!pending.isEmpty()) {
+            AreaQuad quad = pending.poll();
+            AreaQuad rebuilt = AreaQuad.at(area, quad.getPath());
+            assertEquals(quad.getPath(), rebuilt.getPath());
+            assertEquals(quad.toBboxParam(), rebuilt.toBboxParam());
+            assertEquals(quad.getRadiusKm(), rebuilt.getRadiusKm());
+            checked++;
+            if (quad.getDepth() < 4) {
+                pending.addAll(quad.children());
+            }
+        }
+        assertEquals(1 + 4 + 16 + 64 + 256, checked);
+    }
+
+    @Test
+    void rejectsPathsOutsideTheTree() throws Exception {
+        AreaConfig area = new ObjectMapper().readValue(
+                "{\"key\":\"a\",\"name\":\"A\",\"lat\":43.65,\"lng\":-79.38,\"radiusKm\":1,"
+                        + "\"tileSpacingMeters\":400,\"tileRadiusKm\":0.3}", AreaConfig.class);
+
+        assertThrows(IllegalArgumentException.class, () -> AreaQuad.at(area, "x01"));
+        assertThrows(IllegalArgumentException.class, () -> AreaQuad.at(area, "r04"));
+        assertThrows(IllegalArgumentException.class, () -> AreaQuad.at(area, null));
+    }
+}
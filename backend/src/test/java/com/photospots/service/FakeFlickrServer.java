@@ -0,0 +1,219 @@
+package com.photospots.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded stand-in for the Flickr REST API, for load and regression tests of the seeder.
+ *
+ * Implements {@code flickr.photos.search} (lat/lon/radius or bbox, paging, text, tags) and
+ * {@code flickr.places.findByLatLon}. Photos are synthesised deterministically from the query location,
+ * so repeated runs see identical data and overlapping strategies see the same photo ids. Density,
+ * latency and error rate are configurable.
+ */
+public class FakeFlickrServer implements AutoCloseable {
+
+    private static final String[] TAG_POOL = {
+        "toronto", "architecture", "streetart", "graffiti", "mural", "cityscape", "skyline", "night",
+        "lights", "park", "trail", "sunset", "waterfront", "bridge", "autumn", "longexposure"
+    };
+
+    private final double photosPerSqKm;
+    private final long latencyMs;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final SplittableRandom errorRandom = new SplittableRandom(42);
+
+    /**
+     * @param photosPerSqKm synthetic photo density around any queried point
+     * @param latencyMs     delay added to every response
+     * @param errorRate     fraction of requests answered with HTTP 500 (0..1)
+     */
+    public FakeFlickrServer(double photosPerSqKm, long latencyMs, double errorRate) throws IOException {
+        this.photosPerSqKm = photosPerSqKm;
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/services/rest/", this::handle);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/services/rest/";
+    }
+
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    public long errorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (shouldFail()) {
+                errorCount.incrementAndGet();
+                respond(exchange, 500, "{\"stat\":\"fail\",\"code\":105,\"message\":\"Service currently unavailable\"}");
+                return;
+            }
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = params.getOrDefault("method", "");
+            Object body = switch (method) {
+                case "flickr.photos.search" -> search(params);
+                case "flickr.places.findByLatLon" -> findByLatLon(params);
+                default -> Map.of("stat", "fail", "code", 112, "message", "Method \"" + method + "\" not found");
+            };
+            respond(exchange, 200, objectMapper.writeValueAsString(body));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "{\"stat\":\"fail\"}");
+        }
+    }
+
+    private boolean shouldFail() {
+        if (errorRate <= 0) {
+            return false;
+        }
+        synchronized (errorRandom) {
+            return errorRandom.nextDouble() < errorRate;
+        }
+    }
+
+    private Map<String, Object> search(Map<String, String> params) {
+        double lat;
+        double lon;
+        double radiusKm;
+        if (params.containsKey("lat") && params.containsKey("lon")) {
+            lat = Double.parseDouble(params.get("lat"));
+            lon = Double.parseDouble(params.get("lon"));
+            radiusKm = Double.parseDouble(params.getOrDefault("radius", "1"));
+        } else {
+            String[] bbox = params.getOrDefault("bbox", "-79.5,43.6,-79.3,43.8").split(",");
+            lon = (Double.parseDouble(bbox[0]) + Double.parseDouble(bbox[2])) / 2;
+            lat = (Double.parseDouble(bbox[1]) + Double.parseDouble(bbox[3])) / 2;
+            radiusKm = 5;
+        }
+        int perPage = Integer.parseInt(params.getOrDefault("per_page", "100"));
+        int page = Integer.parseInt(params.getOrDefault("page", "1"));
+        String text = params.getOrDefault("text", "");
+        String tags = params.getOrDefault("tags", "");
+
+        int total = (int) Math.round(photosPerSqKm * Math.PI * radiusKm * radiusKm);
+        int pages = Math.max(1, (total + perPage - 1) / perPage);
+        List<Map<String, Object>> photos = new ArrayList<>();
+        for (int i = (page - 1) * perPage; i < Math.min(total, page * perPage); i++) {
+            photos.add(photo(lat, lon, radiusKm, i, text, tags));
+        }
+
+        Map<String, Object> envelope = new HashMap<>();
+        envelope.put("page", page);
+        envelope.put("pages", pages);
+        envelope.put("perpage", perPage);
+        envelope.put("total", total);
+        envelope.put("photo", photos);
+        return Map.of("photos", envelope, "stat", "ok");
+    }
+
+    private Map<String, Object> photo(double lat, double lon, double radiusKm, int index, String text, String tags) {
+        // Seeded by the rounded query centre and index: the same spot yields the same photos for every strategy
+        long seed = Math.round(lat * 1000) * 31_000_003L + Math.round(lon * 1000) * 1_000_003L + index;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        double distanceKm = radiusKm * Math.sqrt(random.nextDouble());
+        double bearing = random.nextDouble() * 2 * Math.PI;
+        double photoLat = lat + (distanceKm / 111.32) * Math.cos(bearing);
+        double photoLon = lon + (distanceKm / (111.32 * Math.cos(Math.toRadians(lat)))) * Math.sin(bearing);
+
+        String id = Long.toString(Math.abs(seed * 0x9E3779B97F4A7C15L) % 90_000_000_000L + 10_000_000_000L);
+        String server = Integer.toString(1000 + random.nextInt(9000));
+        String secret = Long.toHexString(random.nextLong() & 0xFFFFFFFFFFL);
+        String owner = (10_000 + random.nextInt(400)) + "@N0" + random.nextInt(9);
+        String photoTags = (tags.isEmpty() ? "" : tags.replace(',', ' ') + " ")
+                + TAG_POOL[random.nextInt(TAG_POOL.length)] + " " + TAG_POOL[random.nextInt(TAG_POOL.length)] + " toronto";
+        String base = "https://live.staticflickr.com/" + server + "/" + id + "_" + secret;
+
+        Map<String, Object> photo = new HashMap<>();
+        photo.put("id", id);
+        photo.put("owner", owner);
+        photo.put("ownername", "user" + owner.hashCode());
+        photo.put("secret", secret);
+        photo.put("server", server);
+        photo.put("farm", 66);
+        photo.put("title", (text.isEmpty() ? "Toronto" : text) + " #" + index);
+        photo.put("latitude", String.format("%.6f", photoLat));
+        photo.put("longitude", String.format("%.6f", photoLon));
+        photo.put("accuracy", "16");
+        photo.put("tags", photoTags);
+        photo.put("views", String.valueOf(random.nextInt(20_000)));
+        photo.put("dateupload", String.valueOf(1_600_000_000L + random.nextInt(120_000_000)));
+        photo.put("url_s", base + "_m.jpg");
+        photo.put("url_m", base + ".jpg");
+        photo.put("url_l", base + "_b.jpg");
+        photo.put("width_l", "1024");
+        photo.put("height_l", "768");
+        return photo;
+    }
+
+    private Map<String, Object> findByLatLon(Map<String, String> params) {
+        String lat = params.getOrDefault("lat", "0");
+        String lon = params.getOrDefault("lon", "0");
+        Map<String, Object> place = Map.of(
+                "place_id", "fake." + lat + "," + lon,
+                "latitude", lat,
+                "longitude", lon,
+                "place_type", "neighbourhood");
+        return Map.of("places", Map.of("place", List.of(place), "total", 1), "stat", "ok");
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.photospots.config.AppProperties;
+
+/**
+ * A seeding thread interrupted while its searches wait for rate-limit permits must not send them, and
+ * must stop waiting straight away.
+ */
+class FlickrClientCancellationTest {
+
+    private FakeFlickrServer flickr;
+    private FlickrClient client;
+
+    @BeforeEach
+    void start() throws Exception {
+        flickr = new FakeFlickrServer(400, 0, 0);
+        AppProperties properties = new AppProperties();
+        properties.getFlickr().setBaseUrl(flickr.baseUrl());
+        // One call now, then one every two seconds
+        properties.getSeed().setFlickrQps(0.5);
+        properties.getSeed().setFlickrBurst(1);
+        client = new FlickrClient(HttpClient.newHttpClient(), new FlickrRateLimiter(properties),
+                new FlickrResponseCache(properties), properties);
+    }
+
+    @AfterEach
+    void stop() {
+        flickr.close();
+    }
+
+    @Test
+    void interruptedCallerSkipsQueuedCalls() throws Exception {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        CountDownLatch firstDone = new CountDownLatch(1);
+        Thread seeding = Thread.ofVirtual().start(() -> {
+            try {
+                client.get(searchUrl(1));
+                firstDone.countDown();
+                // Issued on the caller's behalf, like a strategy search; both wait for permits
+                CompletableFuture<String> second = client.supplyAsync(() -> client.get(searchUrl(2)));
+                CompletableFuture<String> third = client.supplyAsync(() -> client.get(searchUrl(3)));
+                client.await(second);
+                client.await(third);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+
+        assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        long started = System.nanoTime();
+        seeding.interrupt();
+        seeding.join(5_000);
+
+        assertFalse(seeding.isAlive());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 2_000);
+        assertTrue(thrown.get() instanceof CancellationException, String.valueOf(thrown.get()));
+        // Let the abandoned permit waits run out; they must still not send
+        Thread.sleep(4_500);
+        assertEquals(1, flickr.requestCount());
+    }
+
+    private String searchUrl(int page) {
+        return flickr.baseUrl() + "?method=flickr.photos.search&api_key=test&lat=43.6426&lon=-79.3871&radius=1"
+                + "&per_page=250&page=" + page + "&extras=geo&format=json&nojsoncallback=1";
+    }
+}
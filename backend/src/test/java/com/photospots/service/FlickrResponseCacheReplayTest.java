@@ -0,0 +1,107 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.photospots.config.AppProperties;
+
+/**
+ * Records an area tile's time-windowed searches against {@link FakeFlickrServer} and fetches the tile again
+ * once the wall clock has moved on, checking every windowed request is found in the recording.
+ */
+class FlickrResponseCacheReplayTest {
+
+    private static final TargetLocation TILE = new TargetLocation("CN Tower", 43.6426, -79.3871, 1.0);
+
+    @TempDir
+    Path cacheDir;
+
+    private FakeFlickrServer flickr;
+
+    @BeforeEach
+    void startFlickr() throws Exception {
+        flickr = new FakeFlickrServer(400, 0, 0);
+    }
+
+    @AfterEach
+    void stopFlickr() {
+        flickr.close();
+    }
+
+    @Test
+    void recordedRunReplaysAfterTheClockMoves() throws Exception {
+        long recordedRequests = record();
+
+        FlickrResponseCache replay = cache("replay");
+        try {
+            service(replay).fetchTile("test-key", TILE, 1, noWatermarks());
+            assertEquals(0, replay.misses());
+            assertEquals(recordedRequests, replay.hits());
+            assertEquals(recordedRequests, flickr.requestCount());
+        } finally {
+            replay.close();
+        }
+    }
+
+    @Test
+    void readWriteRerunIsServedFromTheCache() throws Exception {
+        long recordedRequests = record();
+
+        FlickrResponseCache rerun = cache("read-write");
+        try {
+            service(rerun).fetchTile("test-key", TILE, 1, noWatermarks());
+            assertEquals(0, rerun.misses());
+            assertEquals(recordedRequests, flickr.requestCount());
+        } finally {
+            rerun.close();
+        }
+    }
+
+    /** Seeds the tile once with recording on, then lets a second pass so any wall-clock window would move. */
+    private long record() throws Exception {
+        FlickrResponseCache recording = cache("read-write");
+        try {
+            service(recording).fetchTile("test-key", TILE, 1, noWatermarks());
+        } finally {
+            recording.close();
+        }
+        long requests = flickr.requestCount();
+        assertTrue(requests > 0);
+        Thread.sleep(1_100);
+        return requests;
+    }
+
+    private FlickrResponseCache cache(String mode) {
+        return new FlickrResponseCache(properties(mode));
+    }
+
+    private FlickrSeedService service(FlickrResponseCache cache) {
+        AppProperties properties = properties(cache.getMode().name());
+        FlickrClient client = new FlickrClient(HttpClient.newHttpClient(), new FlickrRateLimiter(properties), cache, properties);
+        return new FlickrSeedService(client, mock(SeedDatabase.class), properties, null, null, null, null, null, null, null);
+    }
+
+    private AppProperties properties(String mode) {
+        AppProperties properties = new AppProperties();
+        properties.getFlickr().setBaseUrl(flickr.baseUrl());
+        properties.getFlickr().getCache().setMode(mode);
+        properties.getFlickr().getCache().setDir(cacheDir.toString());
+        properties.getSeed().setFlickrQps(1_000);
+        properties.getSeed().setFlickrBurst(100);
+        return properties;
+    }
+
+    private static SeedWatermarks noWatermarks() {
+        return new SeedWatermarks(null, "test", false, Map.of());
+    }
+}
@@ -0,0 +1,156 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.photospots.service.FlickrSeedService.SeedResult;
+
+/**
+ * End-to-end seeding throughput against {@link FakeFlickrServer} and a PostGIS Testcontainer.
+ *
+ * Opt-in (needs Docker and takes a while):
+ * <pre>
+ * mvn test -Dtest=FlickrSeedServiceLoadTest -Dseed.harness=true \
+ *     [-Dseed.harness.locations=10] [-Dseed.harness.density=400] [-Dseed.harness.latency-ms=80] \
+ *     [-Dseed.harness.error-rate=0.02] [-Dseed.harness.min-photos-per-sec=5]
+ * </pre>
+ * Vision filtering is disabled so the numbers measure the Flickr/DB pipeline only.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "seed.harness", matches = "true")
+class FlickrSeedServiceLoadTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static FakeFlickrServer flickr;
+
+    @Autowired
+    private FlickrSeedService flickrSeedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startInfrastructure() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for the seed harness");
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+        postgres.start();
+        flickr = new FakeFlickrServer(
+                Double.parseDouble(System.getProperty("seed.harness.density", "400")),
+                Long.getLong("seed.harness.latency-ms", 80),
+                Double.parseDouble(System.getProperty("seed.harness.error-rate", "0")));
+    }
+
+    @AfterAll
+    static void stopInfrastructure() {
+        if (flickr != null) {
+            flickr.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl());
+        registry.add("spring.datasource.username", () -> postgres.getUsername());
+        registry.add("spring.datasource.password", () -> postgres.getPassword());
+        registry.add("app.flickr.base-url", () -> flickr.baseUrl());
+        registry.add("app.flickr.cache.mode", () -> "off");
+        registry.add("flickr.api-key", () -> "load-test");
+        // The stand-in has no quota; let latency and the pipeline set the pace
+        registry.add("app.seed.flickr-qps", () -> "500");
+        registry.add("app.seed.flickr-burst", () -> "50");
+    }
+
+    @BeforeEach
+    void resetData() {
+        jdbcTemplate.execute("TRUNCATE photos RESTART IDENTITY");
+        jdbcTemplate.execute("TRUNCATE spots RESTART IDENTITY CASCADE");
+    }
+
+    @Test
+    void seedLocationThroughput() throws Exception {
+        List<TargetLocation> locations = loadLocations().subList(0, Integer.getInteger("seed.harness.locations", 5));
+
+        long requestsBefore = flickr.requestCount();
+        long start = System.nanoTime();
+        int inserted = 0;
+        for (TargetLocation location : locations) {
+            inserted += flickrSeedService.seedLocation(location, false).getInsertedPhotos();
+        }
+        report("seedLocation x" + locations.size(), inserted, System.nanoTime() - start, flickr.requestCount() - requestsBefore);
+
+        assertTrue(inserted > 0, "expected the stand-in to yield insertable photos");
+    }
+
+    @Test
+    void seedAreaThroughput() throws Exception {
+        AreaConfig area = loadAreas().get(0);
+
+        long requestsBefore = flickr.requestCount();
+        long start = System.nanoTime();
+        SeedResult result = flickrSeedService.seedArea(area, false);
+        report("seedArea " + area.getKey(), result.getInsertedPhotos(), System.nanoTime() - start, flickr.requestCount() - requestsBefore);
+
+        assertTrue(result.getPhotosAttempted() > 0, "expected area clusters to produce insert attempts");
+    }
+
+    @Test
+    void seedingIsDeterministic() throws Exception {
+        assumeTrue(flickr.errorCount() == 0 && Double.parseDouble(System.getProperty("seed.harness.error-rate", "0")) == 0,
+                "determinism only holds without injected errors");
+        TargetLocation location = loadLocations().get(0);
+
+        SeedResult first = flickrSeedService.seedLocation(location, false);
+        resetData();
+        SeedResult second = flickrSeedService.seedLocation(location, false);
+
+        assertEquals(first.getTotalFetched(), second.getTotalFetched());
+        assertEquals(first.getFilteredPhotos(), second.getFilteredPhotos());
+        assertEquals(first.getInsertedPhotos(), second.getInsertedPhotos());
+    }
+
+    private static void report(String label, int inserted, long elapsedNanos, long requests) {
+        double seconds = elapsedNanos / 1e9;
+        double photosPerSecond = inserted / seconds;
+        System.out.printf("📈 %s: %d photos inserted in %.1fs (%.1f photos/s, %d Flickr requests)%n",
+                label, inserted, seconds, photosPerSecond, requests);
+        double minimum = Double.parseDouble(System.getProperty("seed.harness.min-photos-per-sec", "0"));
+        assertTrue(photosPerSecond >= minimum,
+                String.format("throughput %.1f photos/s fell below %.1f", photosPerSecond, minimum));
+    }
+
+    private static List<TargetLocation> loadLocations() throws Exception {
+        try (InputStream is = new ClassPathResource("seed/locations.json").getInputStream()) {
+            return new ObjectMapper().readValue(is, new TypeReference<List<TargetLocation>>() {});
+        }
+    }
+
+    private static List<AreaConfig> loadAreas() throws Exception {
+        try (InputStream is = new ClassPathResource("seed/areas.json").getInputStream()) {
+            return new ObjectMapper().readValue(is, new TypeReference<List<AreaConfig>>() {});
+        }
+    }
+}
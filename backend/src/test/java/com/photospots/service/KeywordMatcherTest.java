@@ -0,0 +1,173 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link KeywordMatcher} against the tokenize-and-intersect logic it replaced: lower-case the
+ * title and tags, split on {@code [^a-z0-9]+} and OR the bits of every token found in a class.
+ */
+class KeywordMatcherTest {
+
+    private static final long NIGHT = 1;
+    private static final long EVENT = 1 << 1;
+    private static final long SUSPECT = 1 << 2;
+    private static final long LOCATION = 1 << 3;
+    private static final long OTHER_LOCATION = 1 << 4;
+
+    private static final Map<Long, Collection<String>> CLASSES = Map.of(
+            NIGHT, List.of("night", "neon", "i"),
+            EVENT, List.of("concert", "festival", "night"),
+            SUSPECT, List.of("selfie", "portrait", "cat", "stanbul"));
+    private static final List<String> LOCATION_TOKENS = List.of("cn", "tower", "istanbul", "2024");
+    private static final List<String> OTHER_LOCATION_TOKENS = List.of("harbour", "front", "tower");
+
+    // Keywords, near misses and characters whose lower-casing is unusual: İ (U+0130) becomes "i" plus a
+    // combining dot, ı (U+0131) and ß stay outside [a-z], and the Kelvin sign (U+212A) becomes "k"
+    private static final List<String> PIECES = List.of(
+            "night", "Night", "NIGHT", "nights", "nightlife", "neon", "NeOn", "concert", "Festival", "selfie",
+            "portrait", "cat", "cats", "CN", "cn", "Tower", "tower", "towers", "istanbul", "İstanbul", "İSTANBUL",
+            "stanbul", "İ", "i", "I", "ı", "harbour", "Front", "2024", "20", "24", "x", "ß", "K", "é", "ü",
+            "🌃", " ", "  ", ",", "-", "_", ".", "#", "\t", "");
+
+    private final KeywordMatcher base = KeywordMatcher.of(CLASSES);
+
+    @Test
+    void baseMatcherAgreesWithTokenizeOnRandomText() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            FlickrPhoto photo = photo(randomText(random), randomText(random));
+            assertEquals(reference(photo, baseDictionary()), base.classify(photo), describe(photo));
+        }
+    }
+
+    @Test
+    void derivedMatcherAgreesWithTokenizeOnRandomText() {
+        KeywordMatcher derived = base.withTokens(LOCATION_TOKENS, LOCATION);
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            FlickrPhoto photo = photo(randomText(random), randomText(random));
+            assertEquals(reference(photo, derivedDictionary(LOCATION_TOKENS, LOCATION)), derived.classify(photo),
+                    describe(photo));
+        }
+    }
+
+    @Test
+    void edgeCases() {
+        KeywordMatcher derived = base.withTokens(LOCATION_TOKENS, LOCATION);
+        List<String[]> cases = List.of(
+                new String[] {null, null},
+                new String[] {"", ""},
+                new String[] {null, "night"},
+                new String[] {"NIGHT", null},
+                new String[] {"   ", "---"},
+                new String[] {"İstanbul at Night", "İSTANBUL,neon"},
+                new String[] {"İ", "ı"},
+                new String[] {"CN Tower 2024", "cn_tower"},
+                new String[] {"SelfieCat", "selfie cat"},
+                new String[] {"Kat", "CAT"},
+                new String[] {"nightß", "ßnight"});
+        for (String[] fields : cases) {
+            FlickrPhoto photo = photo(fields[0], fields[1]);
+            assertEquals(reference(photo, baseDictionary()), base.classify(photo), describe(photo));
+            FlickrPhoto fresh = photo(fields[0], fields[1]);
+            assertEquals(reference(fresh, derivedDictionary(LOCATION_TOKENS, LOCATION)), derived.classify(fresh),
+                    describe(fresh));
+        }
+    }
+
+    @Test
+    void cachedMasksNeverLeakBetweenBaseAndDerivedMatchers() {
+        KeywordMatcher location = base.withTokens(LOCATION_TOKENS, LOCATION);
+        KeywordMatcher otherLocation = base.withTokens(OTHER_LOCATION_TOKENS, OTHER_LOCATION);
+        Random random = new Random(13);
+        for (int i = 0; i < 5_000; i++) {
+            FlickrPhoto photo = photo(randomText(random), randomText(random));
+            long baseMask = reference(photo, baseDictionary());
+            long locationMask = reference(photo, derivedDictionary(LOCATION_TOKENS, LOCATION));
+            long otherMask = reference(photo, derivedDictionary(OTHER_LOCATION_TOKENS, OTHER_LOCATION));
+
+            // Whichever matcher classifies first, the others must still see their own bits only
+            switch (random.nextInt(3)) {
+                case 0 -> base.classify(photo);
+                case 1 -> location.classify(photo);
+                default -> otherLocation.classify(photo);
+            }
+            assertEquals(locationMask, location.classify(photo), describe(photo));
+            assertEquals(baseMask, base.classify(photo), describe(photo));
+            assertEquals(otherMask, otherLocation.classify(photo), describe(photo));
+            assertEquals(locationMask, location.classify(photo), describe(photo));
+            assertEquals(locationMask & LOCATION, location.matches(photo, LOCATION) ? LOCATION : 0);
+        }
+    }
+
+    /** The pre-matcher logic: union of the title and tag tokens, OR of each token's class bits. */
+    private static long reference(FlickrPhoto photo, Map<String, Long> dictionary) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(photo.getTitle()));
+        tokens.addAll(tokenize(photo.getTags()));
+        long mask = 0;
+        for (String token : tokens) {
+            mask |= dictionary.getOrDefault(token, 0L);
+        }
+        return mask;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String part : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Long> baseDictionary() {
+        Map<String, Long> dictionary = new LinkedHashMap<>();
+        CLASSES.forEach((bit, tokens) -> tokens.forEach(token -> dictionary.merge(token, bit, (a, b) -> a | b)));
+        return dictionary;
+    }
+
+    private static Map<String, Long> derivedDictionary(List<String> tokens, long bit) {
+        Map<String, Long> dictionary = baseDictionary();
+        tokens.forEach(token -> dictionary.merge(token, bit, (a, b) -> a | b));
+        return dictionary;
+    }
+
+    private static String randomText(Random random) {
+        if (random.nextInt(10) == 0) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        int pieces = random.nextInt(8);
+        for (int i = 0; i < pieces; i++) {
+            text.append(PIECES.get(random.nextInt(PIECES.size())));
+        }
+        return text.toString();
+    }
+
+    private static FlickrPhoto photo(String title, String tags) {
+        FlickrPhoto photo = new FlickrPhoto();
+        photo.setTitle(title);
+        photo.setTags(tags);
+        return photo;
+    }
+
+    private static String describe(FlickrPhoto photo) {
+        return "title=" + photo.getTitle() + " tags=" + photo.getTags();
+    }
+}
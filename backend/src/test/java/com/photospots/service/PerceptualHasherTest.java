@@ -0,0 +1,112 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.photospots.util.HammingBkTree;
+
+/**
+ * Hashes synthetic scenes: a burst frame (the camera nudged a few pixels, slightly brighter, re-encoded at
+ * a different size) must land within a few bits of the original, and an unrelated scene far outside the
+ * near-duplicate radius.
+ */
+class PerceptualHasherTest {
+
+    // app.seed.phash-max-distance default
+    private static final int MAX_DISTANCE = 6;
+
+    @Test
+    void burstFrameStaysWithinAFewBits() throws Exception {
+        long original = PerceptualHasher.hashBytes(jpeg(scene(7, 640, 480, 0, 0, 1.0f)));
+        long burst = PerceptualHasher.hashBytes(jpeg(scene(7, 320, 240, 3, 2, 1.06f)));
+
+        int distance = HammingBkTree.distance(original, burst);
+        assertTrue(distance <= MAX_DISTANCE / 2, "burst frame distance " + distance);
+
+        HammingBkTree accepted = new HammingBkTree();
+        accepted.add(original);
+        assertTrue(accepted.containsWithin(burst, MAX_DISTANCE));
+    }
+
+    @Test
+    void unrelatedScenesAreFarApart() throws Exception {
+        long first = PerceptualHasher.hashBytes(jpeg(scene(7, 640, 480, 0, 0, 1.0f)));
+        for (int seed = 100; seed < 110; seed++) {
+            long other = PerceptualHasher.hashBytes(jpeg(scene(seed, 640, 480, 0, 0, 1.0f)));
+            int distance = HammingBkTree.distance(first, other);
+            assertTrue(distance > MAX_DISTANCE, "unrelated scene distance " + distance);
+        }
+    }
+
+    @Test
+    void undecodableBytesHaveNoHash() {
+        assertNull(PerceptualHasher.hashBytes(new byte[] {1, 2, 3}));
+        assertNotNull(PerceptualHasher.hashBytes(png(scene(7, 32, 32, 0, 0, 1.0f))));
+    }
+
+    /**
+     * A gradient sky with a few blocks and discs placed by {@code seed}, drawn at {@code width x height},
+     * shifted by ({@code dx}, {@code dy}) pixels of a 640-wide frame and scaled in brightness by {@code gain}.
+     */
+    private static BufferedImage scene(long seed, int width, int height, int dx, int dy, float gain) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        double scale = width / 640.0;
+        g.scale(scale, scale);
+        g.translate(dx, dy);
+        Random random = new Random(seed);
+        g.setPaint(new GradientPaint(0, 0, shade(random.nextInt(256), gain), 640, 480, shade(random.nextInt(256), gain)));
+        g.fillRect(-20, -20, 680, 520);
+        for (int i = 0; i < 12; i++) {
+            g.setColor(shade(random.nextInt(256), gain));
+            int x = random.nextInt(600) - 40;
+            int y = random.nextInt(440) - 40;
+            int w = 40 + random.nextInt(200);
+            int h = 40 + random.nextInt(200);
+            if (random.nextBoolean()) {
+                g.fillRect(x, y, w, h);
+            } else {
+                g.fillOval(x, y, w, h);
+            }
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static Color shade(int level, float gain) {
+        int value = Math.min(255, Math.round(level * gain));
+        return new Color(value, value, Math.min(255, value + 20));
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws Exception {
+        return encode(image, "jpg");
+    }
+
+    private static byte[] png(BufferedImage image) {
+        try {
+            return encode(image, "png");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
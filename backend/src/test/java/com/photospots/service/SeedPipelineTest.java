@@ -0,0 +1,142 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class SeedPipelineTest {
+
+    private static final Duration LIMIT = Duration.ofSeconds(20);
+
+    @Test
+    void sinkReceivesItemsInInputOrder() throws Exception {
+        List<Integer> items = IntStream.range(0, 300).boxed().toList();
+        List<String> received = new ArrayList<>();
+
+        SeedPipeline.Report report = assertTimeoutPreemptively(LIMIT, () -> SeedPipeline.over("order", items, 4)
+                .then("jitter", 8, item -> {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                    return item * 2;
+                })
+                .then("format", 3, item -> "#" + item)
+                .drain("collect", received::add));
+
+        assertEquals(items.stream().map(item -> "#" + item * 2).toList(), received);
+        assertEquals(300, report.getDelivered());
+        assertFalse(report.isStopped());
+    }
+
+    @Test
+    void sinkCanStopTheRunEarly() throws Exception {
+        List<Integer> items = IntStream.range(0, 10_000).boxed().toList();
+        List<Integer> received = new ArrayList<>();
+        AtomicInteger processed = new AtomicInteger();
+
+        SeedPipeline.Report report = assertTimeoutPreemptively(LIMIT, () -> SeedPipeline.over("stop", items, 4)
+                .then("count", 4, item -> {
+                    processed.incrementAndGet();
+                    return item;
+                })
+                .drain("collect", item -> {
+                    received.add(item);
+                    return item < 10;
+                }));
+
+        assertEquals(IntStream.rangeClosed(0, 10).boxed().toList(), received);
+        assertEquals(11, report.getDelivered());
+        assertTrue(report.isStopped());
+        assertTrue(processed.get() < items.size(), "processed " + processed.get());
+    }
+
+    @Test
+    void stageFailureStopsTheRunAndIsRethrown() {
+        List<Integer> items = IntStream.range(0, 10_000).boxed().toList();
+        IOException boom = new IOException("boom");
+        List<Integer> received = new ArrayList<>();
+
+        IOException thrown = assertThrows(IOException.class, () -> assertTimeoutPreemptively(LIMIT,
+                () -> SeedPipeline.over("fail", items, 4)
+                        .then("explode", 4, item -> {
+                            if (item == 50) {
+                                throw boom;
+                            }
+                            return item;
+                        })
+                        .drain("collect", received::add)));
+
+        assertSame(boom, thrown);
+        assertTrue(received.size() <= 50, "delivered " + received.size());
+    }
+
+    @Test
+    void sinkFailureIsRethrown() {
+        List<Integer> items = IntStream.range(0, 100).boxed().toList();
+        IllegalArgumentException boom = new IllegalArgumentException("bad row");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> assertTimeoutPreemptively(LIMIT,
+                () -> SeedPipeline.over("sink-fail", items, 4)
+                        .then("identity", 2, item -> item)
+                        .drain("reject", item -> {
+                            throw boom;
+                        })));
+
+        assertSame(boom, thrown);
+    }
+
+    @Test
+    void errorsAreWrapped() {
+        List<Integer> items = IntStream.range(0, 10).boxed().toList();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> SeedPipeline.over("error", items, 4)
+                .then("overflow", 1, item -> {
+                    throw new StackOverflowError();
+                })
+                .drain("collect", item -> true));
+
+        assertTrue(thrown.getCause() instanceof StackOverflowError);
+    }
+
+    @Test
+    void slowItemHoldsBackTheInputInsteadOfGrowingTheReorderBuffer() throws Exception {
+        List<Integer> items = IntStream.range(0, 2_000).boxed().toList();
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+
+        SeedPipeline<Integer> pipeline = SeedPipeline.over("backpressure", items, 2)
+                .then("slow-head", 4, item -> {
+                    // How far this item runs ahead of the sink
+                    maxAhead.accumulateAndGet(item - delivered.get(), Math::max);
+                    if (item % 500 == 0) {
+                        Thread.sleep(200);
+                    }
+                    return item;
+                })
+                .then("identity", 2, item -> item);
+        int window = pipeline.reorderCapacity();
+        List<Integer> received = new ArrayList<>();
+
+        assertTimeoutPreemptively(LIMIT, () -> pipeline.drain("collect", item -> {
+            received.add(item);
+            delivered.incrementAndGet();
+            return true;
+        }));
+
+        assertEquals(2 + 4 + 2, window);
+        assertEquals(items, received);
+        // Every item that overtook a slow one was admitted within the window of the next undelivered item
+        assertTrue(maxAhead.get() < window, "ran " + maxAhead.get() + " items ahead of the sink");
+    }
+}
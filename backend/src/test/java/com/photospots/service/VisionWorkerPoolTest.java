@@ -0,0 +1,80 @@
+package com.photospots.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Drives the pool with small shell workers that speak the {@code --serve} protocol. Each start bumps a
+ * counter file, so a test can script which starts hang on their first photo, fail, or answer normally.
+ */
+class VisionWorkerPoolTest {
+
+    private static final long ITEM_TIMEOUT_MS = 300;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void singleWorkerPoolWhoseRestartsFailGivesUpInsteadOfHanging() throws Exception {
+        // Start 1 never answers; every restart fails
+        try (VisionWorkerPool pool = pool("hang", "fail", "fail", "fail", "fail")) {
+            assertNull(pool.analyze("a", "http://example.com/a.jpg", null));
+            JsonNode second = assertTimeoutPreemptively(Duration.ofSeconds(20),
+                    () -> pool.analyze("b", "http://example.com/b.jpg", null));
+            assertNull(second);
+            assertFalse(pool.isAvailable());
+        }
+    }
+
+    @Test
+    void failedReplacementIsRetriedWithBackoff() throws Exception {
+        try (VisionWorkerPool pool = pool("hang", "fail", "answer")) {
+            assertNull(pool.analyze("a", "http://example.com/a.jpg", null));
+            JsonNode result = assertTimeoutPreemptively(Duration.ofSeconds(20),
+                    () -> pool.analyze("b", "http://example.com/b.jpg", null));
+            assertNotNull(result);
+            assertEquals("b", result.path("photo").asText());
+        }
+    }
+
+    /** A one-worker pool whose n-th start behaves as {@code behaviours[n - 1]} (the last one repeats). */
+    private VisionWorkerPool pool(String... behaviours) throws Exception {
+        Path counter = dir.resolve("starts");
+        StringBuilder script = new StringBuilder()
+                .append("n=$(cat '").append(counter).append("' 2>/dev/null || echo 0)\n")
+                .append("n=$((n + 1))\n")
+                .append("echo $n > '").append(counter).append("'\n")
+                .append("case $n in\n");
+        for (int i = 0; i < behaviours.length; i++) {
+            script.append(i == behaviours.length - 1 ? "*" : String.valueOf(i + 1)).append(") mode=")
+                    .append(behaviours[i]).append(" ;;\n");
+        }
+        script.append("esac\n")
+                .append("[ \"$mode\" = fail ] && exit 1\n")
+                .append("echo '{\"op\":\"ready\"}'\n")
+                .append("while read -r line; do\n")
+                .append("  case \"$line\" in\n")
+                .append("    *'\"op\":\"ping\"'*) echo '{\"op\":\"pong\"}' ;;\n")
+                .append("    *) [ \"$mode\" = hang ] && sleep 30\n")
+                .append("       id=$(echo \"$line\" | sed 's/.*\"id\":\"\\([^\"]*\\)\".*/\\1/')\n")
+                .append("       echo \"{\\\"id\\\":\\\"$id\\\",\\\"result\\\":{\\\"photo\\\":\\\"$id\\\"}}\" ;;\n")
+                .append("  esac\n")
+                .append("done\n");
+        Path worker = dir.resolve("worker.sh");
+        Files.writeString(worker, script);
+        return new VisionWorkerPool(List.of("sh", worker.toString()), 1, ITEM_TIMEOUT_MS);
+    }
+}
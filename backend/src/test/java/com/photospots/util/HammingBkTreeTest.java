@@ -0,0 +1,69 @@
+package com.photospots.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HammingBkTreeTest {
+
+    @Test
+    void radiusQueriesMatchALinearScan() {
+        Random random = new Random(42);
+        List<Long> stored = new ArrayList<>();
+        HammingBkTree tree = new HammingBkTree();
+        for (int i = 0; i < 2_000; i++) {
+            // Half the hashes are near variants of earlier ones, so there are real neighbours to find
+            long hash = i > 0 && random.nextBoolean()
+                    ? flipBits(stored.get(random.nextInt(stored.size())), random.nextInt(8), random)
+                    : random.nextLong();
+            stored.add(hash);
+            tree.add(hash);
+        }
+        assertEquals(stored.stream().distinct().count(), tree.size());
+
+        for (int i = 0; i < 5_000; i++) {
+            long query = random.nextBoolean()
+                    ? flipBits(stored.get(random.nextInt(stored.size())), random.nextInt(12), random)
+                    : random.nextLong();
+            int radius = random.nextInt(11);
+            assertEquals(linearScan(stored, query, radius), tree.containsWithin(query, radius),
+                    "query " + Long.toHexString(query) + " radius " + radius);
+        }
+    }
+
+    @Test
+    void emptyTreeAndExactMatches() {
+        HammingBkTree tree = new HammingBkTree();
+        assertFalse(tree.containsWithin(0L, 64));
+
+        tree.add(0b1011L);
+        tree.add(0b1011L);
+        assertEquals(1, tree.size());
+        assertTrue(tree.containsWithin(0b1011L, 0));
+        assertFalse(tree.containsWithin(0b1000L, 1));
+        assertTrue(tree.containsWithin(0b1000L, 2));
+        assertTrue(tree.containsWithin(~0b1011L, 64));
+    }
+
+    private static boolean linearScan(List<Long> stored, long query, int radius) {
+        for (long hash : stored) {
+            if (HammingBkTree.distance(hash, query) <= radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long flipBits(long hash, int bits, Random random) {
+        for (int i = 0; i < bits; i++) {
+            hash ^= 1L << random.nextInt(64);
+        }
+        return hash;
+    }
+}
@@ -1,4 +1,6 @@
 import argparse
+import base64
+import functools
 import json
 import sys
 import urllib.request
@@ -8,10 +10,16 @@ try:
     import cv2
     import numpy as np
     CV_AVAILABLE = True
+    CV_IMPORT_ERROR = None
 except ImportError as e:
-    sys.stderr.write(f"opencv or numpy not available: {e}\n")
-    print("{}")
-    sys.exit(0)
+    CV_AVAILABLE = False
+    CV_IMPORT_ERROR = f"opencv or numpy not available: {e}"
+
+
+@functools.lru_cache(maxsize=None)
+def cascade(name: str):
+    """Loads a Haar cascade once per process; --serve workers reuse them for every image."""
+    return cv2.CascadeClassifier(cv2.data.haarcascades + name)
 
 
 def download_image(url: str, timeout: float = 4.0, retries: int = 1):
@@ -35,7 +43,7 @@ def detect_animals(img, gray, image_area):
     
     # Try eye detection (works for many animals)
     try:
-        eye_cascade = cv2.CascadeClassifier(cv2.data.haarcascades + "haarcascade_eye.xml")
+        eye_cascade = cascade("haarcascade_eye.xml")
         if not eye_cascade.empty():
             eyes = eye_cascade.detectMultiScale(gray, scaleFactor=1.1, minNeighbors=3, minSize=(10, 10))
             
@@ -120,10 +128,10 @@ def analyze_image(data, blur_threshold: float):
         image_area = float(height * width)
 
         # Load multiple cascades for better human detection
-        face_cascade = cv2.CascadeClassifier(cv2.data.haarcascades + "haarcascade_frontalface_default.xml")
-        profile_cascade = cv2.CascadeClassifier(cv2.data.haarcascades + "haarcascade_profileface.xml")
-        upper_body_cascade = cv2.CascadeClassifier(cv2.data.haarcascades + "haarcascade_upperbody.xml")
-        full_body_cascade = cv2.CascadeClassifier(cv2.data.haarcascades + "haarcascade_fullbody.xml")
+        face_cascade = cascade("haarcascade_frontalface_default.xml")
+        profile_cascade = cascade("haarcascade_profileface.xml")
+        upper_body_cascade = cascade("haarcascade_upperbody.xml")
+        full_body_cascade = cascade("haarcascade_fullbody.xml")
 
         # Detect frontal faces (very sensitive)
         faces = face_cascade.detectMultiScale(gray, scaleFactor=1.05, minNeighbors=2, minSize=(20, 20)) if not face_cascade.empty() else []
@@ -216,11 +224,78 @@ def analyze_image(data, blur_threshold: float):
         return None
 
 
+def emit(message):
+    sys.stdout.write(json.dumps(message) + "\n")
+    sys.stdout.flush()
+
+
+def serve(blur_threshold: float):
+    """
+    Long-lived worker mode: one JSON request per stdin line, one JSON response per stdout line.
+      {"id": "...", "url": "...", "data": <base64 image, optional>}
+                                  -> {"id": "...", "result": {...}} or {"id": "...", "error": "..."}
+    With "data" the image is analysed as sent (the Java side prefetches); otherwise "url" is downloaded.
+      {"op": "ping"}              -> {"op": "pong"}
+    A {"op": "ready"} line is written once the cascades are loaded (with "error" if OpenCV is missing).
+    Diagnostics go to stderr only.
+    """
+    if not CV_AVAILABLE:
+        emit({"op": "ready", "error": CV_IMPORT_ERROR})
+        return
+    for name in ("haarcascade_frontalface_default.xml", "haarcascade_profileface.xml",
+                 "haarcascade_upperbody.xml", "haarcascade_fullbody.xml", "haarcascade_eye.xml"):
+        cascade(name)
+    emit({"op": "ready"})
+
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+        try:
+            request = json.loads(line)
+        except Exception as e:
+            sys.stderr.write(f"Bad request line: {e}\n")
+            continue
+        if request.get("op") == "ping":
+            emit({"op": "pong"})
+            continue
+
+        photo_id = request.get("id")
+        url = request.get("url")
+        encoded = request.get("data")
+        if not photo_id or not (url or encoded):
+            emit({"id": photo_id, "error": "missing id or image"})
+            continue
+        try:
+            data = base64.b64decode(encoded) if encoded else download_image(url, timeout=4.0, retries=1)
+        except Exception as e:
+            sys.stderr.write(f"Bad image data for {photo_id}: {e}\n")
+            data = None
+        if data is None:
+            emit({"id": photo_id, "error": "download failed"})
+            continue
+        analysis = analyze_image(data, blur_threshold)
+        if analysis is None:
+            emit({"id": photo_id, "error": "analysis failed"})
+            continue
+        emit({"id": photo_id, "result": analysis})
+
+
 def main():
     parser = argparse.ArgumentParser(description="Filter photos by face/animal prominence and blur")
     parser.add_argument("--blur-threshold", type=float, default=60.0)
+    parser.add_argument("--serve", action="store_true", help="persistent NDJSON worker mode (see serve())")
     args = parser.parse_args()
 
+    if args.serve:
+        serve(args.blur_threshold)
+        return
+
+    if not CV_AVAILABLE:
+        sys.stderr.write(CV_IMPORT_ERROR + "\n")
+        print("{}")
+        return
+
     try:
         payload = sys.stdin.read()
         items = json.loads(payload or "[]")